@@ -0,0 +1,10 @@
+-- 游标分页（/user/projects?cursor=、/user/markdown?cursor=）所需的联合索引
+-- 对已有库执行一次：mysql -u <user> -p bamdow_web < sql/001_cursor_indexes.sql
+USE `bamdow_web`;
+
+ALTER TABLE `projects`
+  ADD INDEX `idx_category_created_id` (`category`, `created_at`, `id`),
+  ADD INDEX `idx_created_id` (`created_at`, `id`);
+
+ALTER TABLE `markdown_files`
+  ADD INDEX `idx_created_id` (`created_at`, `id`);
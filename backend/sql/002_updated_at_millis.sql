@@ -0,0 +1,9 @@
+-- updated_at 改为毫秒精度：ETag 由 updated_at 生成，秒级精度下同一秒内的两次修改会得到相同的ETag
+-- Last-Modified 响应头仍只有秒级，由框架在写出时截断
+USE `bamdow_web`;
+
+ALTER TABLE `projects`
+  MODIFY `updated_at` TIMESTAMP(3) DEFAULT CURRENT_TIMESTAMP(3) ON UPDATE CURRENT_TIMESTAMP(3) COMMENT '更新时间';
+
+ALTER TABLE `markdown_files`
+  MODIFY `updated_at` DATETIME(3) NOT NULL DEFAULT CURRENT_TIMESTAMP(3) ON UPDATE CURRENT_TIMESTAMP(3) COMMENT '更新时间';
@@ -0,0 +1,282 @@
+package com.bamdow.benchmark;
+
+import com.bamdow.mapper.DevelopmentProjectMapper;
+import com.bamdow.mapper.OtherProjectMapper;
+import com.bamdow.mapper.PhotographyProjectMapper;
+import com.bamdow.mapper.ProjectImageMapper;
+import com.bamdow.mapper.ProjectMapper;
+import com.bamdow.pojo.entity.DevelopmentProject;
+import com.bamdow.pojo.entity.OtherProject;
+import com.bamdow.pojo.entity.PhotographyProject;
+import com.bamdow.pojo.entity.Project;
+import com.bamdow.pojo.entity.ProjectImage;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import org.apache.ibatis.builder.xml.XMLMapperBuilder;
+import org.apache.ibatis.io.Resources;
+import org.apache.ibatis.mapping.Environment;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.SqlSessionFactoryBuilder;
+import org.apache.ibatis.session.SqlSessionManager;
+import org.apache.ibatis.transaction.TransactionFactory;
+import org.apache.ibatis.transaction.jdbc.JdbcTransactionFactory;
+import org.mybatis.spring.SqlSessionTemplate;
+import org.mybatis.spring.transaction.SpringManagedTransactionFactory;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jdbc.datasource.init.ScriptUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.mysql.MySQLContainer;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * 基准测试用的MySQL：用Testcontainers启动临时容器，执行 benchmark/schema.sql 建表并写入样例作品；
+ * 设置环境变量 BENCHMARK_JDBC_URL（及 BENCHMARK_JDBC_USER、BENCHMARK_JDBC_PASSWORD）时改用已有的库，
+ * 每次启动先删除并重建 schema.sql 中的表，因此只能指向专用于基准测试的空库
+ * mapper直接由MyBatis加载 mapper/*.xml，不启动Spring容器，因此不需要Redis、MinIO等其他服务
+ * 本机容器的网络往返几乎为0，可以给每条语句注入固定延迟来模拟应用与数据库不在同一台机器的情况
+ */
+class BenchmarkDatabase implements AutoCloseable {
+
+    static final String[] CATEGORIES = {"Photography", "Development", "Other"};
+
+    // schema.sql中的表，按外键依赖倒序删除
+    private static final String[] TABLES = {
+            "project_images", "other_projects", "development_projects", "photography_projects", "projects"
+    };
+
+    private static final String[] MAPPERS = {
+            "mapper/ProjectMapper.xml",
+            "mapper/PhotographyProjectMapper.xml",
+            "mapper/DevelopmentProjectMapper.xml",
+            "mapper/OtherProjectMapper.xml",
+            "mapper/ProjectImageMapper.xml"
+    };
+
+    // 使用已有的库时为null
+    private final MySQLContainer mysql;
+
+    private final HikariDataSource dataSource;
+
+    private final List<String> projectIds = new ArrayList<>();
+
+    private BenchmarkDatabase(MySQLContainer mysql, HikariDataSource dataSource) {
+        this.mysql = mysql;
+        this.dataSource = dataSource;
+    }
+
+    /**
+     * 启动容器并写入样例数据，三种分类的作品轮流出现
+     * @param projects 作品数，0表示只建表
+     * @param imagesPerProject 每个作品的图片数
+     */
+    static BenchmarkDatabase start(int projects, int imagesPerProject) throws IOException, SQLException {
+        HikariConfig config = new HikariConfig();
+        config.setMaximumPoolSize(16);
+        String jdbcUrl = System.getenv("BENCHMARK_JDBC_URL");
+        MySQLContainer mysql = null;
+        if (jdbcUrl == null) {
+            mysql = new MySQLContainer("mysql:8.0")
+                    .withDatabaseName("bamdow_web")
+                    .withInitScript("benchmark/schema.sql");
+            mysql.start();
+            config.setJdbcUrl(mysql.getJdbcUrl());
+            config.setUsername(mysql.getUsername());
+            config.setPassword(mysql.getPassword());
+        } else {
+            config.setJdbcUrl(jdbcUrl);
+            config.setUsername(System.getenv().getOrDefault("BENCHMARK_JDBC_USER", "root"));
+            config.setPassword(System.getenv().getOrDefault("BENCHMARK_JDBC_PASSWORD", ""));
+        }
+        BenchmarkDatabase database = new BenchmarkDatabase(mysql, new HikariDataSource(config));
+        if (mysql == null) {
+            database.recreateSchema();
+        }
+        database.seed(projects, imagesPerProject);
+        return database;
+    }
+
+    /**
+     * @param latencyMs 每条语句执行前的额外延迟，0表示不注入
+     * @return 线程安全的mapper来源，每次调用使用独立的会话和连接
+     */
+    SqlSessionManager sessions(long latencyMs) throws IOException {
+        Configuration configuration = configuration(new JdbcTransactionFactory(), withLatency(dataSource, latencyMs));
+        return SqlSessionManager.newInstance(new SqlSessionFactoryBuilder().build(configuration));
+    }
+
+    /**
+     * 与应用相同的mybatis-spring接入方式：TransactionTemplate内的mapper调用共用一个事务，事务外每条语句自动提交
+     * @param latencyMs 每条语句执行前的额外延迟，0表示不注入
+     */
+    TransactionalSessions transactionalSessions(long latencyMs) throws IOException {
+        DataSource target = withLatency(dataSource, latencyMs);
+        Configuration configuration = configuration(new SpringManagedTransactionFactory(), target);
+        return new TransactionalSessions(new SqlSessionTemplate(new SqlSessionFactoryBuilder().build(configuration)),
+                new TransactionTemplate(new DataSourceTransactionManager(target)));
+    }
+
+    record TransactionalSessions(SqlSessionTemplate sessions, TransactionTemplate transactions) {
+    }
+
+    private static Configuration configuration(TransactionFactory transactionFactory, DataSource target)
+            throws IOException {
+        Configuration configuration = new Configuration(new Environment("benchmark", transactionFactory, target));
+        // 与application.properties中的mybatis配置一致
+        configuration.setMapUnderscoreToCamelCase(true);
+        configuration.getTypeAliasRegistry().registerAliases("com.bamdow.pojo.entity");
+        for (String resource : MAPPERS) {
+            try (InputStream in = Resources.getResourceAsStream(resource)) {
+                new XMLMapperBuilder(in, configuration, resource, configuration.getSqlFragments()).parse();
+            }
+        }
+        return configuration;
+    }
+
+    List<String> getProjectIds() {
+        return projectIds;
+    }
+
+    @Override
+    public void close() {
+        dataSource.close();
+        if (mysql != null) {
+            mysql.stop();
+        }
+    }
+
+    private void recreateSchema() throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            for (String table : TABLES) {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("DROP TABLE IF EXISTS `" + table + "`");
+                }
+            }
+            ScriptUtils.executeSqlScript(connection, new ClassPathResource("benchmark/schema.sql"));
+        }
+    }
+
+    private void seed(int projects, int imagesPerProject) throws IOException {
+        SqlSessionManager sessions = sessions(0);
+        List<Project> rows = new ArrayList<>();
+        List<PhotographyProject> photography = new ArrayList<>();
+        List<DevelopmentProject> development = new ArrayList<>();
+        List<OtherProject> other = new ArrayList<>();
+        List<ProjectImage> images = new ArrayList<>();
+        for (int i = 0; i < projects; i++) {
+            String id = UUID.randomUUID().toString();
+            projectIds.add(id);
+            Project project = new Project();
+            project.setId(id);
+            project.setTitle("作品" + i);
+            project.setDescription("基准测试样例作品，描述长度接近真实数据。".repeat(5));
+            project.setCategory(CATEGORIES[i % CATEGORIES.length]);
+            project.setTags("摄影,夜景,城市");
+            rows.add(project);
+            switch (project.getCategory()) {
+                case "Photography" -> {
+                    PhotographyProject sub = new PhotographyProject();
+                    sub.setId(id);
+                    sub.setThoughts("拍摄时的思路与感受。".repeat(10));
+                    sub.setAdditionalInfo("补充信息");
+                    photography.add(sub);
+                }
+                case "Development" -> {
+                    DevelopmentProject sub = new DevelopmentProject();
+                    sub.setId(id);
+                    sub.setGithubUrl("https://github.com/Bamdow/Bamdow_website");
+                    sub.setReadme("# README\n\n项目说明。\n".repeat(100));
+                    development.add(sub);
+                }
+                default -> {
+                    OtherProject sub = new OtherProject();
+                    sub.setId(id);
+                    sub.setExternalLink("https://example.com");
+                    sub.setIntroduction("项目介绍。".repeat(20));
+                    other.add(sub);
+                }
+            }
+            for (int j = 0; j < imagesPerProject; j++) {
+                ProjectImage image = new ProjectImage();
+                image.setId(UUID.randomUUID().toString());
+                image.setProjectId(id);
+                image.setImageUrl("http://localhost:9000/webminio/images/" + id + "/" + j + ".jpg");
+                image.setSortOrder(j);
+                images.add(image);
+            }
+        }
+        if (rows.isEmpty()) {
+            return;
+        }
+        sessions.getMapper(ProjectMapper.class).insertBatch(rows);
+        if (!photography.isEmpty()) {
+            sessions.getMapper(PhotographyProjectMapper.class).insertBatch(photography);
+        }
+        if (!development.isEmpty()) {
+            sessions.getMapper(DevelopmentProjectMapper.class).insertBatch(development);
+        }
+        if (!other.isEmpty()) {
+            sessions.getMapper(OtherProjectMapper.class).insertBatch(other);
+        }
+        if (!images.isEmpty()) {
+            sessions.getMapper(ProjectImageMapper.class).insertBatch(images);
+        }
+    }
+
+    private static DataSource withLatency(DataSource target, long latencyMs) {
+        if (latencyMs <= 0) {
+            return target;
+        }
+        return new DelegatingDataSource(target) {
+            @Override
+            public Connection getConnection() throws SQLException {
+                Connection connection = super.getConnection();
+                return proxy(Connection.class, connection, (method, args) -> {
+                    Object result = invoke(connection, method, args);
+                    return result instanceof PreparedStatement statement ? delayed(statement, latencyMs) : result;
+                });
+            }
+        };
+    }
+
+    // 每次执行前休眠，模拟一次网络往返
+    private static PreparedStatement delayed(PreparedStatement statement, long latencyMs) {
+        return proxy(PreparedStatement.class, statement, (method, args) -> {
+            if (method.getName().startsWith("execute")) {
+                Thread.sleep(latencyMs);
+            }
+            return invoke(statement, method, args);
+        });
+    }
+
+    private static <T> T proxy(Class<T> type, T target, Handler handler) {
+        return type.cast(Proxy.newProxyInstance(BenchmarkDatabase.class.getClassLoader(), new Class<?>[]{type},
+                (proxy, method, args) -> handler.handle(method, args)));
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    private interface Handler {
+        Object handle(Method method, Object[] args) throws Throwable;
+    }
+}
@@ -0,0 +1,107 @@
+package com.bamdow.benchmark;
+
+import com.bamdow.pojo.vo.ImageUploadResultVO;
+import com.bamdow.service.impl.ImageUploadServiceImpl;
+import com.bamdow.storage.ContentStore;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 多图片上传总耗时：逐张上传（改造前的写法）与 ImageUploadServiceImpl 并发上传对比
+ * MinIO用每次上传固定延迟的假ContentStore代替，结果只反映调度方式，不依赖网络和存储服务
+ * 运行：mvn -Pbenchmark test-compile exec:exec -Dbenchmark=ImageUploadBenchmark
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ImageUploadBenchmark {
+
+    // 一次请求上传的图片数
+    @Param({"8"})
+    public int files;
+
+    // 单张图片上传到MinIO的延迟
+    @Param({"20"})
+    public long latencyMs;
+
+    // bamdow.upload.parallelism
+    @Param({"1", "4", "8"})
+    public int parallelism;
+
+    private ContentStore contentStore;
+    private ImageUploadServiceImpl imageUploadService;
+    private MultipartFile[] images;
+
+    @Setup
+    public void setUp() {
+        contentStore = new SleepingContentStore(latencyMs);
+        imageUploadService = new ImageUploadServiceImpl();
+        ReflectionTestUtils.setField(imageUploadService, "parallelism", parallelism);
+        ReflectionTestUtils.setField(imageUploadService, "queueCapacity", 200);
+        ReflectionTestUtils.setField(imageUploadService, "timeout", Duration.ofMinutes(2));
+        ReflectionTestUtils.setField(imageUploadService, "contentStore", contentStore);
+        imageUploadService.init();
+
+        images = new MultipartFile[files];
+        for (int i = 0; i < files; i++) {
+            images[i] = new MockMultipartFile("files", i + ".jpg", "image/jpeg", new byte[]{(byte) i});
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        imageUploadService.destroy();
+    }
+
+    @Benchmark
+    public List<String> serial() throws Exception {
+        List<String> urls = new ArrayList<>(images.length);
+        for (MultipartFile image : images) {
+            urls.add(contentStore.putMinio(image));
+        }
+        return urls;
+    }
+
+    @Benchmark
+    public List<ImageUploadResultVO> concurrent() {
+        return imageUploadService.uploadAll(images);
+    }
+
+    /**
+     * 每次上传固定休眠latencyMs，模拟MinIO往返和写入耗时
+     */
+    private static class SleepingContentStore extends ContentStore {
+        private final long latencyMs;
+
+        SleepingContentStore(long latencyMs) {
+            this.latencyMs = latencyMs;
+        }
+
+        @Override
+        public String putMinio(MultipartFile file) throws Exception {
+            Thread.sleep(latencyMs);
+            return "http://localhost:9000/webminio/images/" + file.getOriginalFilename();
+        }
+    }
+}
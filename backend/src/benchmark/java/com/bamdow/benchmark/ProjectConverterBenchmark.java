@@ -0,0 +1,163 @@
+package com.bamdow.benchmark;
+
+import com.bamdow.converter.ProjectConverter;
+import com.bamdow.pojo.dto.FieldSelection;
+import com.bamdow.pojo.dto.ProjectUpdateDTO;
+import com.bamdow.pojo.entity.DevelopmentProject;
+import com.bamdow.pojo.entity.Project;
+import com.bamdow.pojo.entity.ProjectImage;
+import com.bamdow.pojo.vo.ProjectDetailVO;
+import com.bamdow.pojo.vo.ProjectListVO;
+import com.bamdow.pojo.vo.ProjectQueryVO;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.beans.BeanUtils;
+
+import java.sql.Timestamp;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 单行对象转换耗时：BeanUtils.copyProperties（改造前的写法）与 ProjectConverter 显式赋值对比
+ * 运行：mvn -Pbenchmark test-compile exec:exec -Dbenchmark=ProjectConverterBenchmark
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ProjectConverterBenchmark {
+
+    private ProjectQueryVO queryVO;
+    private List<String> imageUrls;
+    private Project project;
+    private List<ProjectImage> images;
+    private DevelopmentProject developmentProject;
+    private ProjectUpdateDTO updateDTO;
+
+    @Setup
+    public void setUp() {
+        Timestamp now = new Timestamp(System.currentTimeMillis());
+        queryVO = new ProjectQueryVO();
+        queryVO.setId("5f1c2d7e-8a9b-4c3d-9e0f-112233445566");
+        queryVO.setTitle("城市夜景摄影");
+        queryVO.setDescription("一组拍摄于城市夜晚的照片");
+        queryVO.setCategory("Development");
+        queryVO.setTags("摄影,夜景,城市");
+        queryVO.setCreatedAt(now);
+        imageUrls = List.of("http://localhost:9000/webminio/images/aa/1.jpg", "http://localhost:9000/webminio/images/bb/2.jpg");
+
+        project = new Project();
+        project.setId(queryVO.getId());
+        project.setTitle(queryVO.getTitle());
+        project.setDescription(queryVO.getDescription());
+        project.setCategory(queryVO.getCategory());
+        project.setTags(queryVO.getTags());
+        project.setCreatedAt(now);
+        project.setUpdatedAt(now);
+        images = imageUrls.stream().map(url -> {
+            ProjectImage image = new ProjectImage();
+            image.setImageUrl(url);
+            return image;
+        }).toList();
+        developmentProject = new DevelopmentProject();
+        developmentProject.setId(project.getId());
+        developmentProject.setGithubUrl("https://github.com/Bamdow/Bamdow_website");
+        developmentProject.setReadme("# README\n".repeat(20));
+
+        updateDTO = new ProjectUpdateDTO();
+        updateDTO.setId(project.getId());
+        updateDTO.setTitle("新标题");
+        updateDTO.setDescription("新描述");
+        updateDTO.setTags(List.of("a", "b"));
+        updateDTO.setReadme("# new");
+    }
+
+    @Benchmark
+    public ProjectListVO listRowBeanUtils() {
+        ProjectListVO vo = new ProjectListVO();
+        BeanUtils.copyProperties(queryVO, vo);
+        ProjectListVO.BilingualTitle bilingualTitle = new ProjectListVO.BilingualTitle();
+        bilingualTitle.setZh(queryVO.getTitle());
+        bilingualTitle.setEn(queryVO.getTitle());
+        vo.setBilingualTitle(bilingualTitle);
+        if (queryVO.getTags() != null && !queryVO.getTags().isEmpty()) {
+            vo.setTags(Arrays.asList(queryVO.getTags().split(",")));
+        }
+        vo.setImages(imageUrls);
+        return vo;
+    }
+
+    @Benchmark
+    public ProjectListVO listRowConverter() {
+        return ProjectConverter.toListVO(queryVO, imageUrls, FieldSelection.ALL);
+    }
+
+    @Benchmark
+    public ProjectDetailVO detailBeanUtils() {
+        ProjectDetailVO vo = new ProjectDetailVO();
+        BeanUtils.copyProperties(project, vo);
+        ProjectDetailVO.BilingualTitle bilingualTitle = new ProjectDetailVO.BilingualTitle();
+        bilingualTitle.setZh(project.getTitle());
+        bilingualTitle.setEn(project.getTitle());
+        vo.setBilingualTitle(bilingualTitle);
+        if (project.getTags() != null && !project.getTags().isEmpty()) {
+            vo.setTags(Arrays.asList(project.getTags().split(",")));
+        }
+        vo.setImages(images.stream().map(ProjectImage::getImageUrl).toList());
+        BeanUtils.copyProperties(developmentProject, vo);
+        return vo;
+    }
+
+    @Benchmark
+    public ProjectDetailVO detailConverter() {
+        return ProjectConverter.toDetailVO(
+                ProjectConverter.toDetailQueryVO(project, images, null, developmentProject, null), FieldSelection.ALL);
+    }
+
+    @Benchmark
+    public DevelopmentProject updateBeanUtils() {
+        Project target = loadedProject();
+        BeanUtils.copyProperties(updateDTO, target);
+        target.setTags(String.join(",", updateDTO.getTags()));
+        DevelopmentProject sub = loadedDevelopmentProject();
+        BeanUtils.copyProperties(updateDTO, sub);
+        return sub;
+    }
+
+    @Benchmark
+    public DevelopmentProject updateConverter() {
+        Project target = loadedProject();
+        ProjectConverter.updateProject(updateDTO, target);
+        return ProjectConverter.updateDevelopmentProject(updateDTO, loadedDevelopmentProject());
+    }
+
+    // 模拟修改前从数据库读出的记录，两种写法共用
+    private Project loadedProject() {
+        Project target = new Project();
+        target.setId(project.getId());
+        target.setTitle(project.getTitle());
+        target.setDescription(project.getDescription());
+        target.setCategory(project.getCategory());
+        target.setTags(project.getTags());
+        return target;
+    }
+
+    private DevelopmentProject loadedDevelopmentProject() {
+        DevelopmentProject sub = new DevelopmentProject();
+        sub.setId(developmentProject.getId());
+        sub.setGithubUrl(developmentProject.getGithubUrl());
+        sub.setReadme(developmentProject.getReadme());
+        return sub;
+    }
+}
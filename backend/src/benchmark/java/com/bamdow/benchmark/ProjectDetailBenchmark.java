@@ -0,0 +1,96 @@
+package com.bamdow.benchmark;
+
+import com.bamdow.mapper.DevelopmentProjectMapper;
+import com.bamdow.mapper.OtherProjectMapper;
+import com.bamdow.mapper.PhotographyProjectMapper;
+import com.bamdow.mapper.ProjectImageMapper;
+import com.bamdow.mapper.ProjectMapper;
+import com.bamdow.pojo.entity.Project;
+import com.bamdow.pojo.entity.ProjectImage;
+import com.bamdow.pojo.vo.ProjectDetailQueryVO;
+import org.apache.ibatis.session.SqlSessionManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 作品详情查询耗时：主表、图片、子表分三次查询（改造前的写法）与 getDetailById 一次JOIN查询对比
+ * 数据库为Testcontainers启动的MySQL（需要本机Docker），latencyMs为每条语句额外注入的网络往返延迟
+ * 运行：mvn -Pbenchmark test-compile exec:exec -Dbenchmark=ProjectDetailBenchmark
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ProjectDetailBenchmark {
+
+    @Param({"0", "1"})
+    public long latencyMs;
+
+    private BenchmarkDatabase database;
+    private ProjectMapper projectMapper;
+    private PhotographyProjectMapper photographyProjectMapper;
+    private DevelopmentProjectMapper developmentProjectMapper;
+    private OtherProjectMapper otherProjectMapper;
+    private ProjectImageMapper projectImageMapper;
+    private List<String> ids;
+    private int next;
+
+    @Setup
+    public void setUp() throws Exception {
+        database = BenchmarkDatabase.start(300, 6);
+        SqlSessionManager sessions = database.sessions(latencyMs);
+        projectMapper = sessions.getMapper(ProjectMapper.class);
+        photographyProjectMapper = sessions.getMapper(PhotographyProjectMapper.class);
+        developmentProjectMapper = sessions.getMapper(DevelopmentProjectMapper.class);
+        otherProjectMapper = sessions.getMapper(OtherProjectMapper.class);
+        projectImageMapper = sessions.getMapper(ProjectImageMapper.class);
+        ids = database.getProjectIds();
+    }
+
+    @TearDown
+    public void tearDown() {
+        database.close();
+    }
+
+    @Benchmark
+    public void threeQueries(Blackhole blackhole) {
+        String id = nextId();
+        Project project = projectMapper.getById(id);
+        List<ProjectImage> images = projectImageMapper.getByProjectId(id);
+        blackhole.consume(project);
+        blackhole.consume(images);
+        switch (project.getCategory()) {
+            case "Photography" -> blackhole.consume(photographyProjectMapper.getById(id));
+            case "Development" -> blackhole.consume(developmentProjectMapper.getById(id));
+            default -> blackhole.consume(otherProjectMapper.getById(id));
+        }
+    }
+
+    @Benchmark
+    public ProjectDetailQueryVO joined() {
+        return projectMapper.getDetailById(nextId());
+    }
+
+    // 依次轮换作品，三种分类都会被查到
+    private String nextId() {
+        String id = ids.get(next);
+        next = (next + 1) % ids.size();
+        return id;
+    }
+}
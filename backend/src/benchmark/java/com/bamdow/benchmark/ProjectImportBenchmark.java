@@ -0,0 +1,172 @@
+package com.bamdow.benchmark;
+
+import com.bamdow.cache.CountCache;
+import com.bamdow.cache.ProjectCache;
+import com.bamdow.mapper.DevelopmentProjectMapper;
+import com.bamdow.mapper.OtherProjectMapper;
+import com.bamdow.mapper.PhotographyProjectMapper;
+import com.bamdow.mapper.ProjectImageMapper;
+import com.bamdow.mapper.ProjectMapper;
+import com.bamdow.pojo.dto.ProjectCreateDTO;
+import com.bamdow.pojo.vo.ProjectImportResultVO;
+import com.bamdow.service.impl.ProjectImportServiceImpl;
+import com.bamdow.storage.ContentStore;
+import jakarta.validation.Validation;
+import jakarta.validation.ValidatorFactory;
+import org.mybatis.spring.SqlSessionTemplate;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * NDJSON作品导入吞吐量（条/秒）：importChunkSize=1 相当于逐条创建，每个作品一个事务、每张表一条INSERT；
+ * 更大的批次在一个事务内用多行INSERT写入，对应 bamdow.project.import-chunk-size
+ * 数据库为Testcontainers启动的MySQL（需要本机Docker）或 BENCHMARK_JDBC_URL 指向的库，latencyMs为每条语句额外注入的网络往返延迟
+ * 运行：mvn -Pbenchmark test-compile exec:exec -Dbenchmark=ProjectImportBenchmark
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@OperationsPerInvocation(ProjectImportBenchmark.ROWS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ProjectImportBenchmark {
+
+    // 一次导入请求的行数
+    static final int ROWS = 1000;
+
+    // bamdow.project.import-chunk-size
+    @Param({"1", "100", "500"})
+    public int importChunkSize;
+
+    @Param({"0", "1"})
+    public long latencyMs;
+
+    private BenchmarkDatabase database;
+    private ValidatorFactory validatorFactory;
+    private ProjectImportServiceImpl importService;
+    private byte[] body;
+
+    @Setup
+    public void setUp() throws Exception {
+        database = BenchmarkDatabase.start(0, 0);
+        BenchmarkDatabase.TransactionalSessions transactional = database.transactionalSessions(latencyMs);
+        SqlSessionTemplate sessions = transactional.sessions();
+        JsonMapper jsonMapper = JsonMapper.builder().build();
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+
+        ProjectCache projectCache = new ProjectCache();
+        ReflectionTestUtils.setField(projectCache, "detailMaxSize", 1000L);
+        ReflectionTestUtils.setField(projectCache, "pageMaxSize", 200L);
+        ReflectionTestUtils.setField(projectCache, "expireAfterWrite", Duration.ofMinutes(30));
+        projectCache.init();
+
+        importService = new ProjectImportServiceImpl();
+        ReflectionTestUtils.setField(importService, "projectMapper", sessions.getMapper(ProjectMapper.class));
+        ReflectionTestUtils.setField(importService, "photographyProjectMapper",
+                sessions.getMapper(PhotographyProjectMapper.class));
+        ReflectionTestUtils.setField(importService, "developmentProjectMapper",
+                sessions.getMapper(DevelopmentProjectMapper.class));
+        ReflectionTestUtils.setField(importService, "otherProjectMapper", sessions.getMapper(OtherProjectMapper.class));
+        ReflectionTestUtils.setField(importService, "projectImageMapper", sessions.getMapper(ProjectImageMapper.class));
+        ReflectionTestUtils.setField(importService, "projectCache", projectCache);
+        ReflectionTestUtils.setField(importService, "countCache", new CountCache());
+        ApplicationEventPublisher eventPublisher = event -> {
+        };
+        ReflectionTestUtils.setField(importService, "eventPublisher", eventPublisher);
+        ReflectionTestUtils.setField(importService, "contentStore", new NoopContentStore());
+        ReflectionTestUtils.setField(importService, "transactionTemplate", transactional.transactions());
+        ReflectionTestUtils.setField(importService, "validator", validatorFactory.getValidator());
+        ReflectionTestUtils.setField(importService, "jsonMapper", jsonMapper);
+        ReflectionTestUtils.setField(importService, "importChunkSize", importChunkSize);
+        ReflectionTestUtils.setField(importService, "importMaxErrors", 1000);
+        ReflectionTestUtils.setField(importService, "insertChunkSize", 200);
+
+        body = ndjson(jsonMapper);
+    }
+
+    @TearDown
+    public void tearDown() {
+        validatorFactory.close();
+        database.close();
+    }
+
+    @Benchmark
+    public ProjectImportResultVO importProjects() {
+        try {
+            ProjectImportResultVO result = importService.importProjects(new ByteArrayInputStream(body));
+            if (result.getImported() != ROWS) {
+                throw new IllegalStateException("导入失败的行数: " + result.getFailed());
+            }
+            return result;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * 三种分类轮流出现，每个作品3张图片，正文长度与BenchmarkDatabase的样例数据一致
+     */
+    private static byte[] ndjson(JsonMapper jsonMapper) {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < ROWS; i++) {
+            ProjectCreateDTO dto = new ProjectCreateDTO();
+            dto.setTitle("导入作品" + i);
+            dto.setDescription("基准测试样例作品，描述长度接近真实数据。".repeat(5));
+            dto.setCategory(BenchmarkDatabase.CATEGORIES[i % BenchmarkDatabase.CATEGORIES.length]);
+            dto.setTags(List.of("摄影", "夜景", "城市"));
+            dto.setImages(List.of(
+                    "http://localhost:9000/webminio/images/import/" + i + "-0.jpg",
+                    "http://localhost:9000/webminio/images/import/" + i + "-1.jpg",
+                    "http://localhost:9000/webminio/images/import/" + i + "-2.jpg"));
+            switch (dto.getCategory()) {
+                case "Photography" -> {
+                    dto.setThoughts("拍摄时的思路与感受。".repeat(10));
+                    dto.setAdditionalInfo("补充信息");
+                }
+                case "Development" -> {
+                    dto.setGithubUrl("https://github.com/Bamdow/Bamdow_website");
+                    dto.setReadme("# README\n\n项目说明。\n".repeat(100));
+                }
+                default -> {
+                    dto.setExternalLink("https://example.com");
+                    dto.setIntroduction("项目介绍。".repeat(20));
+                }
+            }
+            builder.append(jsonMapper.writeValueAsString(dto)).append('\n');
+        }
+        return builder.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * 引用计数表不在基准的表结构中，导入时不记录
+     */
+    private static class NoopContentStore extends ContentStore {
+        @Override
+        public void retain(Collection<String> urls) {
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package com.bamdow.benchmark;
+
+import com.bamdow.mapper.DevelopmentProjectMapper;
+import com.bamdow.mapper.OtherProjectMapper;
+import com.bamdow.mapper.PhotographyProjectMapper;
+import com.bamdow.mapper.ProjectImageMapper;
+import com.bamdow.mapper.ProjectMapper;
+import com.bamdow.pojo.entity.DevelopmentProject;
+import com.bamdow.pojo.entity.OtherProject;
+import com.bamdow.pojo.entity.PhotographyProject;
+import com.bamdow.pojo.entity.Project;
+import com.bamdow.pojo.entity.ProjectImage;
+import com.bamdow.utils.QueryFanOut;
+import org.apache.ibatis.session.SqlSessionManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * 批量详情（/user/projects/batch）中主表之后的四个子查询：逐个执行（改造前的写法）与 QueryFanOut 并发执行对比
+ * 数据库为Testcontainers启动的MySQL（需要本机Docker），latencyMs为每条语句额外注入的网络往返延迟
+ * 运行：mvn -Pbenchmark test-compile exec:exec -Dbenchmark=QueryFanOutBenchmark
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class QueryFanOutBenchmark {
+
+    @Param({"0", "5"})
+    public long latencyMs;
+
+    // 一次批量请求的作品数，bamdow.project.batch-max-size的默认值
+    @Param({"50"})
+    public int batchSize;
+
+    private BenchmarkDatabase database;
+    private QueryFanOut queryFanOut;
+    private PhotographyProjectMapper photographyProjectMapper;
+    private DevelopmentProjectMapper developmentProjectMapper;
+    private OtherProjectMapper otherProjectMapper;
+    private ProjectImageMapper projectImageMapper;
+    private List<String> ids;
+    private Map<String, List<String>> idsByCategory;
+
+    @Setup
+    public void setUp() throws Exception {
+        database = BenchmarkDatabase.start(300, 6);
+        SqlSessionManager sessions = database.sessions(latencyMs);
+        photographyProjectMapper = sessions.getMapper(PhotographyProjectMapper.class);
+        developmentProjectMapper = sessions.getMapper(DevelopmentProjectMapper.class);
+        otherProjectMapper = sessions.getMapper(OtherProjectMapper.class);
+        projectImageMapper = sessions.getMapper(ProjectImageMapper.class);
+
+        ids = database.getProjectIds().subList(0, batchSize);
+        // 主表查询两种写法相同，只在准备阶段执行一次
+        idsByCategory = database.sessions(0).getMapper(ProjectMapper.class).getProjectsByIds(ids).stream()
+                .collect(Collectors.groupingBy(Project::getCategory,
+                        Collectors.mapping(Project::getId, Collectors.toList())));
+
+        // 与application.properties中的默认值一致
+        queryFanOut = new QueryFanOut();
+        ReflectionTestUtils.setField(queryFanOut, "concurrency", 8);
+        ReflectionTestUtils.setField(queryFanOut, "queueCapacity", 64);
+        ReflectionTestUtils.setField(queryFanOut, "timeout", Duration.ofSeconds(3));
+        queryFanOut.init();
+    }
+
+    @TearDown
+    public void tearDown() {
+        queryFanOut.destroy();
+        database.close();
+    }
+
+    @Benchmark
+    public void serial(Blackhole blackhole) {
+        blackhole.consume(photographyProjectMapper.getByIds(idsByCategory.get("Photography")));
+        blackhole.consume(developmentProjectMapper.getByIds(idsByCategory.get("Development")));
+        blackhole.consume(otherProjectMapper.getByIds(idsByCategory.get("Other")));
+        blackhole.consume(projectImageMapper.getByProjectIds(ids));
+    }
+
+    @Benchmark
+    public void fanOut(Blackhole blackhole) {
+        try (QueryFanOut.Scope scope = queryFanOut.open()) {
+            Future<List<PhotographyProject>> photography =
+                    scope.fork(() -> photographyProjectMapper.getByIds(idsByCategory.get("Photography")));
+            Future<List<DevelopmentProject>> development =
+                    scope.fork(() -> developmentProjectMapper.getByIds(idsByCategory.get("Development")));
+            Future<List<OtherProject>> other =
+                    scope.fork(() -> otherProjectMapper.getByIds(idsByCategory.get("Other")));
+            Future<List<ProjectImage>> images = scope.fork(() -> projectImageMapper.getByProjectIds(ids));
+            scope.join();
+            blackhole.consume(photography.resultNow());
+            blackhole.consume(development.resultNow());
+            blackhole.consume(other.resultNow());
+            blackhole.consume(images.resultNow());
+        }
+    }
+}
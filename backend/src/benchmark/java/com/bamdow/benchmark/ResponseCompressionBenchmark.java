@@ -0,0 +1,129 @@
+package com.bamdow.benchmark;
+
+import com.bamdow.cache.CompressedBody;
+import com.bamdow.pojo.result.Result;
+import com.bamdow.pojo.vo.ProjectDetailVO;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.lang.reflect.Proxy;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 作品详情响应的服务端耗时：每次请求序列化并由容器gzip压缩（改造前）与命中 DetailBodyCache 后直接写出预压缩字节对比
+ * 压缩前后的响应体大小在准备阶段打印，readme由固定随机种子生成，结果可复现
+ * 运行：mvn -Pbenchmark test-compile exec:exec -Dbenchmark=ResponseCompressionBenchmark
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ResponseCompressionBenchmark {
+
+    // readme的字符数
+    @Param({"2000", "20000"})
+    public int readmeLength;
+
+    private final JsonMapper jsonMapper = JsonMapper.builder().build();
+    private ProjectDetailVO detail;
+    private CompressedBody cached;
+    private MockHttpServletRequest request;
+    private HttpServletResponse response;
+
+    @Setup
+    public void setUp() throws IOException {
+        detail = sampleDetail(readmeLength);
+        cached = CompressedBody.of(jsonMapper.writeValueAsBytes(Result.success(detail)), 1024);
+        request = new MockHttpServletRequest();
+        request.addHeader(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate, br");
+        response = discardingResponse();
+        System.out.printf("%n响应体: json=%d字节, gzip=%d字节%n", cached.getJson().length, cached.getGzip().length);
+    }
+
+    @Benchmark
+    public byte[] perRequest() throws IOException {
+        byte[] json = jsonMapper.writeValueAsBytes(Result.success(detail));
+        ByteArrayOutputStream out = new ByteArrayOutputStream(json.length / 4 + 64);
+        try (GZIPOutputStream gzipOut = new GZIPOutputStream(out)) {
+            gzipOut.write(json);
+        }
+        return out.toByteArray();
+    }
+
+    @Benchmark
+    public void precompressed() throws IOException {
+        cached.write(request, response);
+    }
+
+    // 只丢弃写出的字节，不记录头部，避免把模拟响应对象的开销算进去
+    private static HttpServletResponse discardingResponse() {
+        ServletOutputStream out = new ServletOutputStream() {
+            @Override
+            public void write(int b) {
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) {
+            }
+
+            @Override
+            public boolean isReady() {
+                return true;
+            }
+
+            @Override
+            public void setWriteListener(WriteListener writeListener) {
+            }
+        };
+        return (HttpServletResponse) Proxy.newProxyInstance(ResponseCompressionBenchmark.class.getClassLoader(),
+                new Class<?>[]{HttpServletResponse.class},
+                (proxy, method, args) -> method.getName().equals("getOutputStream") ? out : null);
+    }
+
+    private static ProjectDetailVO sampleDetail(int readmeLength) {
+        String[] words = {"项目", "使用", "Spring", "Boot", "MyBatis", "MinIO", "缓存", "接口", "部署", "配置",
+                "the", "service", "returns", "image", "upload", "query", "数据库", "前端", "组件", "测试",
+                "README", "docker", "compose", "install", "run", "build", "页面", "性能", "索引", "分页"};
+        Random random = new Random(42);
+        StringBuilder readme = new StringBuilder();
+        while (readme.length() < readmeLength) {
+            if (random.nextInt(12) == 0) {
+                readme.append("\n## ").append(words[random.nextInt(words.length)]).append(random.nextInt(100)).append("\n");
+            }
+            readme.append(words[random.nextInt(words.length)]).append(random.nextBoolean() ? " " : "，");
+        }
+        ProjectDetailVO detail = new ProjectDetailVO();
+        detail.setId("5f1c2d7e-8a9b-4c3d-9e0f-112233445566");
+        detail.setTitle("个人网站");
+        detail.setDescription("基于Spring Boot和Vue的个人作品展示网站");
+        detail.setCategory("Development");
+        detail.setTags(List.of("Java", "Spring", "Vue"));
+        detail.setImages(List.of("http://localhost:9000/webminio/images/aa/aa11.jpg",
+                "http://localhost:9000/webminio/images/bb/bb22.jpg"));
+        detail.setGithubUrl("https://github.com/Bamdow/Bamdow_website");
+        detail.setReadme(readme.toString());
+        return detail;
+    }
+}
@@ -0,0 +1,172 @@
+package com.bamdow.benchmark;
+
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.apache.catalina.Context;
+import org.apache.catalina.LifecycleException;
+import org.apache.catalina.connector.Connector;
+import org.apache.catalina.startup.Tomcat;
+import org.apache.coyote.AbstractProtocol;
+import org.apache.tomcat.util.threads.VirtualThreadExecutor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 两种请求执行模式的并发承载能力：同时发起concurrency个请求，测全部返回的耗时，
+ * 并在结束时打印服务端同时处理中的请求数峰值
+ * 服务端是与生产配置一致的内嵌Tomcat连接器（platform为server.tomcat.threads.max=200的线程池，
+ * virtual与spring.threads.virtual.enabled=true时相同，使用Tomcat的VirtualThreadExecutor），
+ * 每个请求阻塞latencyMs，模拟等待JDBC、MinIO的时间；
+ * workload=pinned时阻塞发生在synchronized块内，模拟驱动或本地模型封装持有监视器时的载体线程钉住
+ * 运行：mvn -Pbenchmark test-compile exec:exec -Dbenchmark=VirtualThreadLoadBenchmark
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class VirtualThreadLoadBenchmark {
+
+    @Param({"platform", "virtual"})
+    public String mode;
+
+    @Param({"blocking", "pinned"})
+    public String workload;
+
+    // 同时在途的请求数
+    @Param({"200", "1000"})
+    public int concurrency;
+
+    @Param({"100"})
+    public long latencyMs;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger peakInFlight = new AtomicInteger();
+
+    private Tomcat tomcat;
+    private ExecutorService clientExecutor;
+    private HttpClient client;
+    private HttpRequest request;
+
+    @Setup
+    public void setUp() throws LifecycleException, IOException {
+        tomcat = new Tomcat();
+        tomcat.setBaseDir(Files.createTempDirectory("tomcat-benchmark").toString());
+        Connector connector = new Connector();
+        connector.setPort(0);
+        // 连接数和等待队列都放宽，让瓶颈只落在请求线程上
+        connector.setProperty("maxConnections", "10000");
+        connector.setProperty("acceptCount", "10000");
+        if ("virtual".equals(mode)) {
+            connector.getProtocolHandler().setExecutor(new VirtualThreadExecutor("tomcat-handler-"));
+        } else {
+            ((AbstractProtocol<?>) connector.getProtocolHandler()).setMaxThreads(200);
+        }
+        tomcat.setConnector(connector);
+
+        Context context = tomcat.addContext("", null);
+        Tomcat.addServlet(context, "blocking", new BlockingServlet(latencyMs, "pinned".equals(workload),
+                inFlight, peakInFlight));
+        context.addServletMappingDecoded("/work", "blocking");
+        tomcat.start();
+
+        clientExecutor = Executors.newVirtualThreadPerTaskExecutor();
+        client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .executor(clientExecutor)
+                .connectTimeout(Duration.ofSeconds(30))
+                .build();
+        request = HttpRequest.newBuilder(URI.create("http://127.0.0.1:" + connector.getLocalPort() + "/work"))
+                .timeout(Duration.ofMinutes(2))
+                .build();
+    }
+
+    @TearDown
+    public void tearDown() throws LifecycleException {
+        System.out.printf("%n同时处理中的请求数峰值: %d%n", peakInFlight.get());
+        client.close();
+        clientExecutor.shutdownNow();
+        tomcat.stop();
+        tomcat.destroy();
+    }
+
+    @Benchmark
+    public int burst() {
+        List<CompletableFuture<HttpResponse<String>>> responses = new ArrayList<>(concurrency);
+        for (int i = 0; i < concurrency; i++) {
+            responses.add(client.sendAsync(request, HttpResponse.BodyHandlers.ofString()));
+        }
+        int ok = 0;
+        for (CompletableFuture<HttpResponse<String>> response : responses) {
+            if (response.join().statusCode() == 200) {
+                ok++;
+            }
+        }
+        if (ok != concurrency) {
+            throw new IllegalStateException("失败的请求数: " + (concurrency - ok));
+        }
+        return ok;
+    }
+
+    private static class BlockingServlet extends HttpServlet {
+        private final long latencyMs;
+        private final boolean pinned;
+        private final AtomicInteger inFlight;
+        private final AtomicInteger peakInFlight;
+
+        BlockingServlet(long latencyMs, boolean pinned, AtomicInteger inFlight, AtomicInteger peakInFlight) {
+            this.latencyMs = latencyMs;
+            this.pinned = pinned;
+            this.inFlight = inFlight;
+            this.peakInFlight = peakInFlight;
+        }
+
+        @Override
+        protected void doGet(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+            peakInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            try {
+                if (pinned) {
+                    // 每个请求独立的监视器，没有锁竞争，只有钉住载体线程的效果
+                    synchronized (new Object()) {
+                        Thread.sleep(latencyMs);
+                    }
+                } else {
+                    Thread.sleep(latencyMs);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                inFlight.decrementAndGet();
+            }
+            resp.setContentType("text/plain");
+            resp.getWriter().write("ok");
+        }
+    }
+}
@@ -0,0 +1,43 @@
+-- 基准测试用的最小表结构：只包含作品详情和批量查询涉及的表，列与mapper中使用的保持一致
+
+CREATE TABLE `projects` (
+  `id` VARCHAR(36) NOT NULL PRIMARY KEY COMMENT '项目ID',
+  `title` VARCHAR(255) NOT NULL COMMENT '项目标题',
+  `description` TEXT NOT NULL COMMENT '项目描述',
+  `category` VARCHAR(50) NOT NULL COMMENT '项目分类：Photography, Development, Other',
+  `tags` TEXT COMMENT '项目标签，用逗号分隔',
+  `created_at` TIMESTAMP DEFAULT CURRENT_TIMESTAMP COMMENT '创建时间',
+  `updated_at` TIMESTAMP(3) DEFAULT CURRENT_TIMESTAMP(3) ON UPDATE CURRENT_TIMESTAMP(3) COMMENT '更新时间',
+  INDEX `idx_category_created_id` (`category`, `created_at`, `id`),
+  INDEX `idx_created_id` (`created_at`, `id`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+CREATE TABLE `photography_projects` (
+  `id` VARCHAR(36) NOT NULL PRIMARY KEY COMMENT '摄影项目ID，与projects表id关联',
+  `thoughts` TEXT COMMENT '思路&感受',
+  `additional_info` TEXT COMMENT '补充信息',
+  FOREIGN KEY (`id`) REFERENCES `projects`(`id`) ON DELETE CASCADE ON UPDATE CASCADE
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+CREATE TABLE `development_projects` (
+  `id` VARCHAR(36) NOT NULL PRIMARY KEY COMMENT '开发项目ID，与projects表id关联',
+  `github_url` VARCHAR(500) COMMENT 'GitHub链接',
+  `readme` MEDIUMTEXT COMMENT 'README',
+  FOREIGN KEY (`id`) REFERENCES `projects`(`id`) ON DELETE CASCADE ON UPDATE CASCADE
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+CREATE TABLE `other_projects` (
+  `id` VARCHAR(36) NOT NULL PRIMARY KEY COMMENT '其他项目ID，与projects表id关联',
+  `external_link` VARCHAR(500) COMMENT '外部链接',
+  `introduction` TEXT COMMENT '介绍',
+  FOREIGN KEY (`id`) REFERENCES `projects`(`id`) ON DELETE CASCADE ON UPDATE CASCADE
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+CREATE TABLE `project_images` (
+  `id` VARCHAR(36) NOT NULL PRIMARY KEY COMMENT '图片记录ID',
+  `project_id` VARCHAR(36) NOT NULL COMMENT '所属项目ID',
+  `image_url` VARCHAR(500) NOT NULL COMMENT '图片URL',
+  `sort_order` INT NOT NULL DEFAULT 0 COMMENT '展示顺序',
+  INDEX `idx_project_sort` (`project_id`, `sort_order`),
+  FOREIGN KEY (`project_id`) REFERENCES `projects`(`id`) ON DELETE CASCADE ON UPDATE CASCADE
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
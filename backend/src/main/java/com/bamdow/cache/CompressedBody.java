@@ -0,0 +1,106 @@
+package com.bamdow.cache;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.Getter;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.util.DigestUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 预序列化、预压缩的JSON响应体
+ * 压缩只在生成时做一次，之后每次命中按Accept-Encoding直接写出对应字节；
+ * 已设置Content-Encoding的响应Tomcat不会再次压缩
+ */
+@Getter
+public class CompressedBody {
+
+    private final byte[] json;
+    // 小于压缩阈值或未开启预压缩时为null
+    private final byte[] gzip;
+    private final String etag;
+
+    private CompressedBody(byte[] json, byte[] gzip) {
+        this.json = json;
+        this.gzip = gzip;
+        this.etag = "W/\"" + DigestUtils.md5DigestAsHex(json) + "\"";
+    }
+
+    /**
+     * @param json 序列化后的响应体
+     * @param gzipMinSize 不小于该字节数时生成gzip副本，负数表示不压缩
+     */
+    public static CompressedBody of(byte[] json, int gzipMinSize) throws IOException {
+        boolean compress = gzipMinSize >= 0 && json.length >= gzipMinSize;
+        return new CompressedBody(json, compress ? gzip(json) : null);
+    }
+
+    /**
+     * 将字节直接写入响应，客户端支持gzip时写出预压缩字节
+     */
+    public void write(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        byte[] body = json;
+        if (gzip != null && acceptsGzip(request.getHeader(HttpHeaders.ACCEPT_ENCODING))) {
+            body = gzip;
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
+    }
+
+    /**
+     * 按RFC 9110解析Accept-Encoding：gzip（或x-gzip）的q值大于0时接受，
+     * 未列出gzip时看通配符*；q=0表示明确拒绝，无法解析的q值按拒绝处理
+     */
+    static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        double gzipQ = -1;
+        double wildcardQ = -1;
+        for (String element : acceptEncoding.split(",")) {
+            String[] parts = element.split(";");
+            String coding = parts[0].trim();
+            double q = 1;
+            for (int i = 1; i < parts.length; i++) {
+                String param = parts[i].trim();
+                if (param.regionMatches(true, 0, "q=", 0, 2)) {
+                    q = parseQuality(param.substring(2).trim());
+                }
+            }
+            if (coding.equalsIgnoreCase("gzip") || coding.equalsIgnoreCase("x-gzip")) {
+                gzipQ = Math.max(gzipQ, q);
+            } else if (coding.equals("*")) {
+                wildcardQ = Math.max(wildcardQ, q);
+            }
+        }
+        return gzipQ >= 0 ? gzipQ > 0 : wildcardQ > 0;
+    }
+
+    private static double parseQuality(String value) {
+        try {
+            double q = Double.parseDouble(value);
+            return q >= 0 && q <= 1 ? q : 0;
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    public long size() {
+        return json.length + (gzip == null ? 0 : gzip.length);
+    }
+
+    private static byte[] gzip(byte[] bytes) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(bytes.length / 4 + 64);
+        try (GZIPOutputStream gzipOut = new GZIPOutputStream(out)) {
+            gzipOut.write(bytes);
+        }
+        return out.toByteArray();
+    }
+}
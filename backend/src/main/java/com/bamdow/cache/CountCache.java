@@ -0,0 +1,115 @@
+package com.bamdow.cache;
+
+import com.bamdow.pojo.vo.CacheStatsVO;
+import com.bamdow.pojo.vo.ContentVersionVO;
+import com.bamdow.utils.TransactionUtil;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * 分页查询总数缓存
+ * 按查询及筛选条件缓存 COUNT(*) 和 MAX(updated_at)，总数供PageHelper跳过count查询，
+ * 整体作为列表版本供条件GET使用；总数只在后台写操作时变化，由写操作提交后失效
+ */
+@Component
+public class CountCache {
+
+    private static final String PROJECT_PREFIX = "project:";
+
+    private static final String MARKDOWN_KEY = "markdown";
+
+    private static final String ALL_CATEGORY = "All";
+
+    // 分类来自公开请求参数，只缓存已知分类，避免任意取值让缓存无限增长
+    private static final Set<String> CATEGORIES = Set.of("Photography", "Development", "Other", ALL_CATEGORY);
+
+    private final Map<String, ContentVersionVO> versions = new ConcurrentHashMap<>();
+
+    // 每次失效递增，用于丢弃与写操作并发加载出的旧总数
+    private final AtomicLong stamp = new AtomicLong();
+
+    private final AtomicLong hitCount = new AtomicLong();
+
+    private final AtomicLong missCount = new AtomicLong();
+
+    private final AtomicLong invalidationCount = new AtomicLong();
+
+    /**
+     * 作品列表版本，未命中时调用loader查询
+     */
+    public ContentVersionVO getProjectVersion(String category, Supplier<ContentVersionVO> loader) {
+        if (category != null && !CATEGORIES.contains(category)) {
+            missCount.incrementAndGet();
+            return loader.get();
+        }
+        return get(projectKey(category), loader);
+    }
+
+    /**
+     * md文件列表版本，未命中时调用loader查询
+     */
+    public ContentVersionVO getMarkdownVersion(Supplier<ContentVersionVO> loader) {
+        return get(MARKDOWN_KEY, loader);
+    }
+
+    /**
+     * 某分类下作品发生变化：失效该分类及All
+     */
+    public void evictProject(String category) {
+        TransactionUtil.afterCommit(() -> evict(projectKey(category), projectKey(ALL_CATEGORY)));
+    }
+
+    /**
+     * md文件发生变化
+     */
+    public void evictMarkdown() {
+        TransactionUtil.afterCommit(() -> evict(MARKDOWN_KEY));
+    }
+
+    public CacheStatsVO stats() {
+        CacheStatsVO vo = new CacheStatsVO();
+        vo.setName("pageCount");
+        vo.setSize(versions.size());
+        vo.setHitCount(hitCount.get());
+        vo.setMissCount(missCount.get());
+        long total = hitCount.get() + missCount.get();
+        vo.setHitRate(total == 0 ? 1.0 : (double) hitCount.get() / total);
+        vo.setInvalidationCount(invalidationCount.get());
+        return vo;
+    }
+
+    private ContentVersionVO get(String key, Supplier<ContentVersionVO> loader) {
+        ContentVersionVO cached = versions.get(key);
+        if (cached != null) {
+            hitCount.incrementAndGet();
+            return cached;
+        }
+        missCount.incrementAndGet();
+        long current = stamp.get();
+        ContentVersionVO loaded = loader.get();
+        // 先写入再复查，与失效流程（先递增再删除）配合，避免旧总数残留
+        versions.put(key, loaded);
+        if (stamp.get() != current) {
+            versions.remove(key, loaded);
+        }
+        return loaded;
+    }
+
+    private void evict(String... keys) {
+        stamp.incrementAndGet();
+        for (String key : keys) {
+            if (versions.remove(key) != null) {
+                invalidationCount.incrementAndGet();
+            }
+        }
+    }
+
+    private String projectKey(String category) {
+        return PROJECT_PREFIX + (category == null ? ALL_CATEGORY : category);
+    }
+}
@@ -0,0 +1,104 @@
+package com.bamdow.cache;
+
+import com.bamdow.event.ProjectChangedEvent;
+import com.bamdow.pojo.result.Result;
+import com.bamdow.pojo.vo.CacheStatsVO;
+import com.bamdow.service.ProjectService;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.util.unit.DataSize;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 作品详情响应体缓存
+ * 详情中的readme/introduction较大，序列化和gzip压缩只在首次请求时做一次；
+ * 键包含updated_at，作品更新后旧条目自然不会再命中，事件监听只负责尽早释放内存；
+ * 按响应体字节数限制总大小，并与ProjectCache使用相同的过期时间，漏掉的失效事件不会让旧版本一直占用内存
+ */
+@Component
+public class DetailBodyCache {
+
+    @Value("${bamdow.compression.detail-cache-max-bytes:64MB}")
+    private DataSize maxBytes;
+
+    @Value("${bamdow.cache.project.expire-after-write:30m}")
+    private Duration expireAfterWrite;
+
+    @Value("${bamdow.compression.precompress-min-size:1024}")
+    private int gzipMinSize;
+
+    @Autowired
+    private ProjectService projectService;
+
+    @Autowired
+    private JsonMapper jsonMapper;
+
+    private Cache<String, CompressedBody> cache;
+
+    private final AtomicLong invalidationCount = new AtomicLong();
+
+    @PostConstruct
+    public void init() {
+        cache = Caffeine.newBuilder()
+                .maximumWeight(maxBytes.toBytes())
+                .weigher((String key, CompressedBody body) -> (int) Math.min(body.size(), Integer.MAX_VALUE))
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * 获取作品详情响应体，未命中时查询、序列化并压缩
+     * @param id
+     * @param lastModified 作品当前的updated_at
+     */
+    public CompressedBody get(String id, Timestamp lastModified) {
+        return cache.get(id + ":" + lastModified.getTime(), key -> {
+            try {
+                byte[] json = jsonMapper.writeValueAsBytes(Result.success(projectService.getById(id)));
+                return CompressedBody.of(json, gzipMinSize);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProjectChanged(ProjectChangedEvent event) {
+        for (String id : event.getIds()) {
+            String prefix = id + ":";
+            cache.asMap().keySet().removeIf(key -> {
+                boolean matched = key.startsWith(prefix);
+                if (matched) {
+                    invalidationCount.incrementAndGet();
+                }
+                return matched;
+            });
+        }
+    }
+
+    public CacheStatsVO stats() {
+        CacheStats stats = cache.stats();
+        CacheStatsVO vo = new CacheStatsVO();
+        vo.setName("projectDetailBody");
+        vo.setSize(cache.estimatedSize());
+        vo.setHitCount(stats.hitCount());
+        vo.setMissCount(stats.missCount());
+        vo.setHitRate(stats.hitRate());
+        vo.setEvictionCount(stats.evictionCount());
+        vo.setInvalidationCount(invalidationCount.get());
+        return vo;
+    }
+}
@@ -0,0 +1,187 @@
+package com.bamdow.cache;
+
+import com.bamdow.event.ProjectChangedEvent;
+import com.bamdow.pojo.dto.PageQuery;
+import com.bamdow.pojo.result.Result;
+import com.bamdow.pojo.vo.CacheStatsVO;
+import com.bamdow.service.ProjectService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 作品列表前几页的预序列化快照
+ * 快照为完整响应体的JSON字节（可选预压缩的gzip字节），作品写操作提交后先失效再在后台重建，
+ * 命中时直接写出字节，不再组装VO和经过Jackson序列化
+ */
+@Slf4j
+@Component
+public class ListingSnapshotCache {
+
+    private static final String ALL_CATEGORY = "All";
+
+    @Value("${bamdow.snapshot.enabled:true}")
+    private boolean enabled;
+
+    // 需要生成快照的分类
+    @Value("${bamdow.snapshot.categories:All,Photography,Development,Other}")
+    private List<String> categories;
+
+    // 每个分类生成快照的页数（从第1页开始）
+    @Value("${bamdow.snapshot.pages:3}")
+    private int pages;
+
+    // 快照对应的每页大小，与前端默认分页大小一致
+    @Value("${bamdow.snapshot.size:16}")
+    private int size;
+
+    @Value("${bamdow.snapshot.gzip:true}")
+    private boolean gzip;
+
+    // 小于该字节数的快照不生成gzip副本
+    @Value("${bamdow.compression.precompress-min-size:1024}")
+    private int gzipMinSize;
+
+    @Autowired
+    private ProjectService projectService;
+
+    @Autowired
+    private JsonMapper jsonMapper;
+
+    @Autowired
+    @Qualifier("applicationTaskExecutor")
+    private TaskExecutor taskExecutor;
+
+    private final Map<String, CompressedBody> snapshots = new ConcurrentHashMap<>();
+
+    // 每个分类的版本号，写操作时递增，用于丢弃重建过程中已过期的快照
+    private final Map<String, AtomicLong> versions = new ConcurrentHashMap<>();
+
+    private final AtomicLong hitCount = new AtomicLong();
+
+    private final AtomicLong missCount = new AtomicLong();
+
+    private final AtomicLong invalidationCount = new AtomicLong();
+
+    /**
+     * 启动完成后在后台生成全部快照
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        if (!enabled) {
+            return;
+        }
+        taskExecutor.execute(() -> rebuild(new HashSet<>(categories)));
+    }
+
+    /**
+     * 作品变化后立即失效受影响分类的快照，再在后台重建
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProjectChanged(ProjectChangedEvent event) {
+        if (!enabled) {
+            return;
+        }
+        Set<String> affected = new HashSet<>(event.getCategories());
+        affected.add(ALL_CATEGORY);
+        affected.retainAll(categories);
+        for (String category : affected) {
+            version(category).incrementAndGet();
+            String prefix = category + ":";
+            snapshots.keySet().removeIf(key -> {
+                boolean matched = key.startsWith(prefix);
+                if (matched) {
+                    invalidationCount.incrementAndGet();
+                }
+                return matched;
+            });
+        }
+        taskExecutor.execute(() -> rebuild(affected));
+    }
+
+    /**
+     * 获取分页请求对应的快照，非快照范围内或尚未生成时返回null
+     */
+    public CompressedBody get(PageQuery pageQuery) {
+        if (!enabled || pageQuery.getCursor() != null || !pageQuery.tagFilter().isEmpty()
+                || pageQuery.getFields() != null || pageQuery.getInclude() != null
+                || !Objects.equals(pageQuery.getSize(), size)
+                || pageQuery.getPage() == null || pageQuery.getPage() > pages) {
+            return null;
+        }
+        CompressedBody snapshot = snapshots.get(key(pageQuery.getCategory(), pageQuery.getPage()));
+        if (snapshot == null) {
+            missCount.incrementAndGet();
+        } else {
+            hitCount.incrementAndGet();
+        }
+        return snapshot;
+    }
+
+    public CacheStatsVO stats() {
+        CacheStatsVO vo = new CacheStatsVO();
+        vo.setName("projectListingSnapshot");
+        vo.setSize(snapshots.size());
+        vo.setHitCount(hitCount.get());
+        vo.setMissCount(missCount.get());
+        long total = hitCount.get() + missCount.get();
+        vo.setHitRate(total == 0 ? 1.0 : (double) hitCount.get() / total);
+        vo.setInvalidationCount(invalidationCount.get());
+        return vo;
+    }
+
+    private void rebuild(Set<String> affected) {
+        for (String category : affected) {
+            for (int page = 1; page <= pages; page++) {
+                try {
+                    build(category, page);
+                } catch (Exception e) {
+                    log.warn("作品列表快照生成失败，分类:{}，页码:{}", category, page, e);
+                }
+            }
+        }
+    }
+
+    private void build(String category, int page) throws IOException {
+        long version = version(category).get();
+
+        PageQuery pageQuery = new PageQuery();
+        pageQuery.setCategory(category);
+        pageQuery.setPage(page);
+        pageQuery.setSize(size);
+        byte[] json = jsonMapper.writeValueAsBytes(Result.success(projectService.pageQuery(pageQuery)));
+        CompressedBody snapshot = CompressedBody.of(json, gzip ? gzipMinSize : -1);
+
+        // 生成期间该分类又发生了写操作，丢弃本次结果，由新的重建任务负责
+        // 先写入再复查版本，与失效流程（先递增版本再删除）配合，避免过期快照残留
+        String key = key(category, page);
+        snapshots.put(key, snapshot);
+        if (version(category).get() != version) {
+            snapshots.remove(key, snapshot);
+        }
+    }
+
+    private AtomicLong version(String category) {
+        return versions.computeIfAbsent(category, key -> new AtomicLong());
+    }
+
+    private String key(String category, int page) {
+        return (category == null ? ALL_CATEGORY : category) + ":" + page;
+    }
+}
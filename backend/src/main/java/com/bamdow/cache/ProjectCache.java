@@ -0,0 +1,134 @@
+package com.bamdow.cache;
+
+import com.bamdow.pojo.dto.PageQuery;
+import com.bamdow.pojo.result.PageResult;
+import com.bamdow.pojo.vo.CacheStatsVO;
+import com.bamdow.pojo.vo.ProjectDetailVO;
+import com.bamdow.utils.TransactionUtil;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * 作品详情及列表分页的本地读缓存
+ * 详情按id缓存，列表按 分类:页码:每页大小 缓存，写操作提交后精确失效
+ */
+@Slf4j
+@Component
+public class ProjectCache {
+
+    private static final String ALL_CATEGORY = "All";
+
+    @Value("${bamdow.cache.project.detail-max-size:1000}")
+    private long detailMaxSize;
+
+    @Value("${bamdow.cache.project.page-max-size:200}")
+    private long pageMaxSize;
+
+    @Value("${bamdow.cache.project.expire-after-write:30m}")
+    private Duration expireAfterWrite;
+
+    private Cache<String, ProjectDetailVO> detailCache;
+
+    private Cache<String, PageResult> pageCache;
+
+    private final AtomicLong detailInvalidations = new AtomicLong();
+
+    private final AtomicLong pageInvalidations = new AtomicLong();
+
+    @PostConstruct
+    public void init() {
+        detailCache = Caffeine.newBuilder()
+                .maximumSize(detailMaxSize)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .build();
+        pageCache = Caffeine.newBuilder()
+                .maximumSize(pageMaxSize)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * 读取作品详情，未命中时调用loader加载并写入缓存
+     */
+    public ProjectDetailVO getDetail(String id, Function<String, ProjectDetailVO> loader) {
+        return detailCache.get(id, loader);
+    }
+
+    /**
+     * 读取分页结果，未命中时调用loader加载并写入缓存
+     */
+    public PageResult getPage(PageQuery pageQuery, Function<PageQuery, PageResult> loader) {
+        return pageCache.get(pageKey(pageQuery), key -> loader.apply(pageQuery));
+    }
+
+    /**
+     * 某个作品被修改或删除：失效其详情以及所属分类和All的分页
+     */
+    public void evictProject(String id, String category) {
+        TransactionUtil.afterCommit(() -> {
+            detailCache.invalidate(id);
+            detailInvalidations.incrementAndGet();
+            invalidatePages(category);
+        });
+    }
+
+    /**
+     * 某分类下新增作品：失效该分类及All的分页
+     */
+    public void evictPages(String category) {
+        TransactionUtil.afterCommit(() -> invalidatePages(category));
+    }
+
+    public List<CacheStatsVO> stats() {
+        List<CacheStatsVO> list = new ArrayList<>();
+        list.add(toStatsVO("projectDetail", detailCache, detailInvalidations));
+        list.add(toStatsVO("projectPage", pageCache, pageInvalidations));
+        return list;
+    }
+
+    private void invalidatePages(String category) {
+        String categoryPrefix = normalize(category) + ":";
+        String allPrefix = ALL_CATEGORY + ":";
+        pageCache.asMap().keySet().removeIf(key -> {
+            boolean matched = key.startsWith(categoryPrefix) || key.startsWith(allPrefix);
+            if (matched) {
+                pageInvalidations.incrementAndGet();
+            }
+            return matched;
+        });
+    }
+
+    private String pageKey(PageQuery pageQuery) {
+        return normalize(pageQuery.getCategory()) + ":" + pageQuery.getPage() + ":" + pageQuery.getSize();
+    }
+
+    private String normalize(String category) {
+        return category == null ? ALL_CATEGORY : category;
+    }
+
+    private CacheStatsVO toStatsVO(String name, Cache<?, ?> cache, AtomicLong invalidations) {
+        CacheStats stats = cache.stats();
+        CacheStatsVO vo = new CacheStatsVO();
+        vo.setName(name);
+        vo.setSize(cache.estimatedSize());
+        vo.setHitCount(stats.hitCount());
+        vo.setMissCount(stats.missCount());
+        vo.setHitRate(stats.hitRate());
+        vo.setEvictionCount(stats.evictionCount());
+        vo.setInvalidationCount(invalidations.get());
+        return vo;
+    }
+}
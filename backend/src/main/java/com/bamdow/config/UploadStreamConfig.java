@@ -0,0 +1,19 @@
+package com.bamdow.config;
+
+import com.bamdow.controller.admin.UploadStreamServlet;
+import com.bamdow.service.ImageUploadService;
+import org.springframework.boot.web.servlet.ServletRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import tools.jackson.databind.json.JsonMapper;
+
+@Configuration
+public class UploadStreamConfig {
+    //单独注册流式上传Servlet，不设置MultipartConfigElement，Tomcat不会预先解析和缓存multipart请求体
+    @Bean
+    public ServletRegistrationBean<UploadStreamServlet> uploadStreamServlet(ImageUploadService imageUploadService,
+                                                                            JsonMapper jsonMapper) {
+        return new ServletRegistrationBean<>(new UploadStreamServlet(imageUploadService, jsonMapper),
+                "/admin/upload/images/stream");
+    }
+}
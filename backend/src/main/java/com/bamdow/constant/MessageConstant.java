@@ -14,6 +14,19 @@ public class MessageConstant {
     public static final String FEATURE_EXTRACTION_FAILED = "特征提取失败";
     public static final String FACE_RECOGNITION_FAILED = "人脸识别失败";
     public static final String LIVE_DETECTION_FAILED = "活体检测失败";
+    public static final String PROJECT_NOT_FOUND = "作品不存在";
+    public static final String INVALID_CURSOR = "无效的分页游标";
+    public static final String INVALID_FIELD = "不支持的字段：";
+    public static final String QUERY_TIMEOUT = "查询超时，请稍后重试";
+    public static final String QUERY_BUSY = "查询繁忙，请稍后重试";
+    public static final String BATCH_SIZE_EXCEEDED = "单次查询的作品数量超出上限：";
+    public static final String UNSUPPORTED_EXPORT_FORMAT = "不支持的导出格式：";
+    public static final String STORAGE_GC_RUNNING = "对象回收正在执行，请稍后重试";
+    public static final String INVALID_MULTIPART = "请求不是有效的multipart/form-data";
+    public static final String TOO_MANY_PARTS = "单次上传的表单项数量超出上限：";
+    public static final String UPLOAD_BUSY = "上传繁忙，请稍后重试";
+    public static final String UPLOAD_TIMEOUT = "上传超时";
+    public static final String INVALID_BASE64_IMAGE = "Base64图片格式不正确：";
 
 
 }
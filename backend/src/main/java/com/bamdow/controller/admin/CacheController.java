@@ -0,0 +1,44 @@
+package com.bamdow.controller.admin;
+
+import cn.dev33.satoken.annotation.SaCheckLogin;
+import com.bamdow.cache.CountCache;
+import com.bamdow.cache.DetailBodyCache;
+import com.bamdow.cache.ListingSnapshotCache;
+import com.bamdow.cache.ProjectCache;
+import com.bamdow.pojo.result.Result;
+import com.bamdow.pojo.vo.CacheStatsVO;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@RestController
+@Slf4j
+@RequestMapping("/admin/cache")
+@SaCheckLogin
+public class CacheController {
+    @Autowired
+    private ProjectCache projectCache;
+
+    @Autowired
+    private ListingSnapshotCache listingSnapshotCache;
+
+    @Autowired
+    private CountCache countCache;
+
+    @Autowired
+    private DetailBodyCache detailBodyCache;
+
+    @GetMapping("/stats")
+    public Result<List<CacheStatsVO>> stats() {
+        List<CacheStatsVO> stats = new ArrayList<>(projectCache.stats());
+        stats.add(listingSnapshotCache.stats());
+        stats.add(countCache.stats());
+        stats.add(detailBodyCache.stats());
+        return Result.success(stats);
+    }
+}
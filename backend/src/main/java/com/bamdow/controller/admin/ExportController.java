@@ -0,0 +1,94 @@
+package com.bamdow.controller.admin;
+
+import cn.dev33.satoken.annotation.SaCheckLogin;
+import com.bamdow.constant.MessageConstant;
+import com.bamdow.except.BaseException;
+import com.bamdow.service.ExportService;
+import com.bamdow.service.impl.ExportServiceImpl;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.Duration;
+import java.util.zip.GZIPOutputStream;
+
+@RestController
+@Slf4j
+@RequestMapping("/admin/export")
+@SaCheckLogin
+public class ExportController {
+    @Autowired
+    private ExportService exportService;
+
+    @Value("${bamdow.export.timeout:30m}")
+    private Duration timeout;
+
+    /**
+     * 导出全部作品
+     * @param format ndjson或csv
+     * @param gzip 为true时输出.gz文件
+     * @return
+     */
+    @GetMapping("/projects")
+    public ResponseEntity<StreamingResponseBody> exportProjects(@RequestParam(defaultValue = "ndjson") String format,
+                                                                @RequestParam(defaultValue = "false") boolean gzip,
+                                                                HttpServletRequest request) {
+        log.info("导出作品，格式:{}，gzip:{}", format, gzip);
+        checkFormat(format);
+        return download(request, "projects", format, gzip, out -> exportService.exportProjects(format, out));
+    }
+
+    /**
+     * 导出全部md文件元数据
+     * @param format ndjson或csv
+     * @param gzip 为true时输出.gz文件
+     * @return
+     */
+    @GetMapping("/markdown")
+    public ResponseEntity<StreamingResponseBody> exportMarkdown(@RequestParam(defaultValue = "ndjson") String format,
+                                                                @RequestParam(defaultValue = "false") boolean gzip,
+                                                                HttpServletRequest request) {
+        log.info("导出md文件，格式:{}，gzip:{}", format, gzip);
+        checkFormat(format);
+        return download(request, "markdown", format, gzip, out -> exportService.exportMarkdown(format, out));
+    }
+
+    private void checkFormat(String format) {
+        if (!ExportServiceImpl.NDJSON.equals(format) && !ExportServiceImpl.CSV.equals(format)) {
+            throw new BaseException(MessageConstant.UNSUPPORTED_EXPORT_FORMAT + format);
+        }
+    }
+
+    /**
+     * 以附件形式边查边写，响应体在异步线程中生成，不在内存中缓冲；
+     * 超时只放宽到本次导出请求，其他异步请求仍使用容器默认值
+     */
+    private ResponseEntity<StreamingResponseBody> download(HttpServletRequest request, String name, String format,
+                                                           boolean gzip, StreamingResponseBody body) {
+        WebAsyncUtils.getAsyncManager(request).getAsyncWebRequest().setTimeout(timeout.toMillis());
+        String fileName = name + "." + format + (gzip ? ".gz" : "");
+        MediaType contentType = gzip ? MediaType.parseMediaType("application/gzip")
+                : ExportServiceImpl.CSV.equals(format) ? MediaType.parseMediaType("text/csv;charset=UTF-8")
+                : MediaType.APPLICATION_NDJSON;
+        StreamingResponseBody stream = gzip ? out -> {
+            GZIPOutputStream gzipOut = new GZIPOutputStream(out, 8192);
+            body.writeTo(gzipOut);
+            gzipOut.finish();
+        } : body;
+        return ResponseEntity.ok()
+                .contentType(contentType)
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(fileName).build().toString())
+                .body(stream);
+    }
+}
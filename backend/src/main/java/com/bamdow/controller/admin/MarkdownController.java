@@ -5,6 +5,7 @@ import cn.dev33.satoken.annotation.SaCheckLogin;
 import com.bamdow.pojo.dto.PageQuery;
 import com.bamdow.pojo.result.PageResult;
 import com.bamdow.pojo.result.Result;
+import com.bamdow.pojo.vo.ReindexResultVO;
 import com.bamdow.service.MarkdownService;
 import com.bamdow.utils.MarkdownProcessor;
 import lombok.extern.slf4j.Slf4j;
@@ -58,6 +59,13 @@ public class MarkdownController {
     }
 
 
+    @PostMapping("/reindex")
+    public Result<ReindexResultVO> reindex() {
+        log.info("重建md文件全文索引");
+        ReindexResultVO reindexResultVO=markdownService.reindex();
+        return Result.success(reindexResultVO);
+    }
+
     @DeleteMapping
     public Result delete(@RequestParam List<String> ids) {
         log.info("md文件批量删除{}",ids);
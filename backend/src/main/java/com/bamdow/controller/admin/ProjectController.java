@@ -6,13 +6,20 @@ import com.bamdow.pojo.dto.ProjectUpdateDTO;
 import com.bamdow.pojo.result.PageResult;
 import com.bamdow.pojo.result.Result;
 import com.bamdow.pojo.vo.ProjectDetailVO;
+import com.bamdow.pojo.vo.ProjectImportResultVO;
+import com.bamdow.service.ProjectImportService;
 import com.bamdow.service.ProjectService;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.ibatis.annotations.Delete;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
+import java.util.zip.GZIPInputStream;
 
 @RestController
 @Slf4j
@@ -22,6 +29,9 @@ public class ProjectController {
     @Autowired
     ProjectService projectService;
 
+    @Autowired
+    ProjectImportService projectImportService;
+
 
     @PostMapping
     public Result save(@RequestBody ProjectCreateDTO projectCreateDTO) {
@@ -30,6 +40,22 @@ public class ProjectController {
         return Result.success();
     }
 
+    /**
+     * NDJSON批量导入作品，直接读取请求体，不经过multipart解析
+     * 请求头Content-Encoding: gzip时按gzip解压
+     */
+    @PostMapping(value = "/import", consumes = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.APPLICATION_OCTET_STREAM_VALUE})
+    public Result<ProjectImportResultVO> importProjects(HttpServletRequest request) throws IOException {
+        log.info("NDJSON导入作品，请求体大小:{}", request.getContentLengthLong());
+        InputStream in = request.getInputStream();
+        if ("gzip".equalsIgnoreCase(request.getHeader("Content-Encoding"))) {
+            in = new GZIPInputStream(in, 8192);
+        }
+        try (InputStream body = in) {
+            return Result.success(projectImportService.importProjects(body));
+        }
+    }
+
     @GetMapping
     public Result<PageResult> page(PageQuery pageQuery) {
         log.info("全种类作品分页查询{}", pageQuery);
@@ -46,12 +72,13 @@ public class ProjectController {
 
 
     @PutMapping("/{id}")
-    public Result update(@PathVariable String id,@RequestBody ProjectUpdateDTO projectUpdateDTO) {
+    public Result<List<String>> update(@PathVariable String id,@RequestBody ProjectUpdateDTO projectUpdateDTO) {
         log.info("更新作品",projectUpdateDTO);
         //设置id便于后面的查找
         projectUpdateDTO.setId(id);
-        projectService.update(projectUpdateDTO);
-        return Result.success();
+        //返回被移除的图片URL，对象本身交给孤儿对象回收清理
+        List<String> droppedImageUrls=projectService.update(projectUpdateDTO);
+        return Result.success(droppedImageUrls);
     }
 
 
@@ -0,0 +1,48 @@
+package com.bamdow.controller.admin;
+
+import cn.dev33.satoken.annotation.SaCheckLogin;
+import com.bamdow.constant.MessageConstant;
+import com.bamdow.except.BaseException;
+import com.bamdow.pojo.result.Result;
+import com.bamdow.pojo.vo.StorageGcReportVO;
+import com.bamdow.storage.OrphanObjectCollector;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@Slf4j
+@RequestMapping("/admin/storage/gc")
+@SaCheckLogin
+public class StorageGcController {
+    @Autowired
+    private OrphanObjectCollector orphanObjectCollector;
+
+    /**
+     * 手动执行一轮孤儿对象回收
+     * @param dryRun 不传时使用配置的默认值，为true时只统计不删除
+     * @return
+     */
+    @PostMapping("/run")
+    public Result<StorageGcReportVO> run(@RequestParam(required = false) Boolean dryRun) {
+        log.info("手动执行孤儿对象回收，dryRun:{}", dryRun);
+        StorageGcReportVO report = orphanObjectCollector.run(dryRun);
+        if (report == null) {
+            throw new BaseException(MessageConstant.STORAGE_GC_RUNNING);
+        }
+        return Result.success(report);
+    }
+
+    /**
+     * 最近一轮回收报告，尚未执行过时为null
+     * @return
+     */
+    @GetMapping("/report")
+    public Result<StorageGcReportVO> report() {
+        return Result.success(orphanObjectCollector.getLastReport());
+    }
+}
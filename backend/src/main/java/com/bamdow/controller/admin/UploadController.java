@@ -2,8 +2,8 @@ package com.bamdow.controller.admin;
 
 import cn.dev33.satoken.annotation.SaCheckLogin;
 import com.bamdow.pojo.result.Result;
-import com.bamdow.utils.AliyunOssUtil;
-import com.bamdow.utils.MinioUtil;
+import com.bamdow.pojo.vo.ImageUploadResultVO;
+import com.bamdow.service.ImageUploadService;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.web.bind.annotation.PostMapping;
@@ -12,10 +12,7 @@ import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.multipart.MultipartFile;
 
-import java.io.IOException;
-import java.util.ArrayList;
 import java.util.List;
-import java.util.UUID;
 
 @RestController
 @Slf4j
@@ -23,44 +20,15 @@ import java.util.UUID;
 public class UploadController {
 
     @Autowired
-    private AliyunOssUtil aliyunOssUtil;
+    private ImageUploadService imageUploadService;
 
-    @Autowired
-    private MinioUtil minioUtil;
+    /**
+     * 多图片上传，返回与传入顺序一致的逐张结果，单张失败时在对应结果中给出原因
+     */
     @SaCheckLogin
     @PostMapping("/images")
-    public Result<List<String>> uploadImage(@RequestParam("file") MultipartFile[] files) throws IOException {
-        try{
-            // 存储所有上传成功的图片URL
-            List<String> imageUrlList = new ArrayList<>();
-
-            // 循环处理每个文件
-            for (MultipartFile file : files) {
-                // 跳过空文件（避免前端误传空文件导致报错）
-                if (file.isEmpty()) {
-                    log.warn("跳过空文件");
-                    continue;
-                }
-
-                // 生成唯一文件名（和单文件逻辑一致）
-                String fileName = file.getOriginalFilename();
-                String suffix = fileName.substring(fileName.lastIndexOf("."));
-                String objectName = UUID.randomUUID() + suffix;
-
-//                // 调用阿里云oss工具类上传，获取单个文件URL
-//                String imageUrl = aliyunOssUtil.upload(file.getBytes(), objectName);
-
-                //调用minio工具类上传，获取单个文件URL
-                String imageUrl = minioUtil.uploadFile(file, objectName);
-
-                // 收集URL
-                imageUrlList.add(imageUrl);
-            }
-            // 返回所有URL列表
-            log.info("多图片上传成功，共上传{}张", imageUrlList.size());
-            return Result.success(imageUrlList);
-    }catch (Exception e){
-        log.error("图片上传失败",e);
-        return Result.error(e.getMessage());}
+    public Result<List<ImageUploadResultVO>> uploadImage(@RequestParam("file") MultipartFile[] files) {
+        log.info("多图片上传，共{}张", files.length);
+        return Result.success(imageUploadService.uploadAll(files));
     }
-}
\ No newline at end of file
+}
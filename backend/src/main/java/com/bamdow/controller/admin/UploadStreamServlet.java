@@ -0,0 +1,58 @@
+package com.bamdow.controller.admin;
+
+import cn.dev33.satoken.exception.NotLoginException;
+import cn.dev33.satoken.stp.StpUtil;
+import com.bamdow.except.BaseException;
+import com.bamdow.handler.GlobalExceptionHandler;
+import com.bamdow.pojo.result.Result;
+import com.bamdow.service.ImageUploadService;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 流式图片上传 POST /admin/upload/images/stream
+ * 不经过DispatcherServlet：DispatcherServlet带有multipart配置，Spring解析MultipartFile
+ * 或Sa-Token拦截器读取请求参数时，Tomcat会先把整个请求体写入临时文件或内存；
+ * 本Servlet没有multipart配置，请求体原样交给增量解析器，边读边上传到MinIO
+ */
+@Slf4j
+public class UploadStreamServlet extends HttpServlet {
+
+    private final ImageUploadService imageUploadService;
+
+    private final JsonMapper jsonMapper;
+
+    public UploadStreamServlet(ImageUploadService imageUploadService, JsonMapper jsonMapper) {
+        this.imageUploadService = imageUploadService;
+        this.jsonMapper = jsonMapper;
+    }
+
+    @Override
+    protected void doPost(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        Result<?> result;
+        try {
+            //不经过Sa-Token拦截器，在这里校验登录
+            StpUtil.checkLogin();
+            log.info("图片流式上传，请求体长度{}", request.getContentLengthLong());
+            result = Result.success(imageUploadService.uploadStream(request.getInputStream(), request.getContentType()));
+        } catch (NotLoginException e) {
+            result = Result.error(GlobalExceptionHandler.notLoginMessage(e));
+        } catch (BaseException e) {
+            result = Result.error(e.getMessage());
+        } catch (IOException e) {
+            //请求体格式错误或客户端中断，已上传的图片由孤儿对象回收清理
+            log.warn("图片流式上传中断: {}", e.getMessage());
+            result = Result.error(e.getMessage());
+        }
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        jsonMapper.writeValue(response.getOutputStream(), result);
+    }
+}
@@ -3,13 +3,22 @@ package com.bamdow.controller.user;
 
 import cn.dev33.satoken.annotation.SaCheckLogin;
 import com.bamdow.pojo.dto.PageQuery;
+import com.bamdow.pojo.result.CursorPageResult;
 import com.bamdow.pojo.result.PageResult;
 import com.bamdow.pojo.result.Result;
+import com.bamdow.pojo.vo.ContentVersionVO;
+import com.bamdow.pojo.vo.MarkdownFileVO;
+import com.bamdow.pojo.vo.SearchHitVO;
 import com.bamdow.service.MarkdownService;
+import com.bamdow.utils.ConditionalGetUtil;
 import com.bamdow.utils.MarkdownProcessor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.sql.Timestamp;
+import java.util.List;
 
 @Slf4j
 @RestController
@@ -24,15 +33,43 @@ public class U_MarkdownController {
 
 
     @GetMapping
-    public Result<PageResult> page(PageQuery pageQuery) {
+    public Result<PageResult> page(PageQuery pageQuery, ServletWebRequest webRequest) {
         log.info("md文件分页查询{}",pageQuery);
+        //列表未变化时直接返回304
+        ContentVersionVO version=markdownService.getListVersion();
+        if (ConditionalGetUtil.checkNotModified(webRequest, pageQuery.toString(), version)) {
+            return null;
+        }
         PageResult pageResult=markdownService.pageQuery(pageQuery);
         return Result.success(pageResult);
     }
 
+    @GetMapping(params = "cursor")
+    public Result<CursorPageResult<MarkdownFileVO>> cursorPage(PageQuery pageQuery, ServletWebRequest webRequest) {
+        log.info("md文件游标分页查询{}",pageQuery);
+        ContentVersionVO version=markdownService.getListVersion();
+        if (ConditionalGetUtil.checkNotModified(webRequest, pageQuery.toString(), version)) {
+            return null;
+        }
+        CursorPageResult<MarkdownFileVO> cursorPageResult=markdownService.cursorQuery(pageQuery);
+        return Result.success(cursorPageResult);
+    }
+
+    @GetMapping("/search")
+    public Result<List<SearchHitVO>> search(@RequestParam String q, @RequestParam(defaultValue = "10") int size) {
+        log.info("md文件全文检索：{}", q);
+        List<SearchHitVO> searchHitVOs = markdownService.search(q, size);
+        return Result.success(searchHitVOs);
+    }
+
     @GetMapping("/{id}")
-    public Result<String> detail(@PathVariable String id) {
+    public Result<String> detail(@PathVariable String id, ServletWebRequest webRequest) {
         log.info("查询md文件id为:{}",id);
+        //md文件未更新时直接返回304
+        Timestamp lastModified=markdownService.getLastModified(id);
+        if (lastModified != null && ConditionalGetUtil.checkNotModified(webRequest, id, lastModified)) {
+            return null;
+        }
         String ossUrl=markdownService.getById(id);
         return Result.success(ossUrl);
     }
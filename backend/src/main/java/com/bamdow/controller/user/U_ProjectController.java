@@ -1,13 +1,36 @@
 package com.bamdow.controller.user;
 import cn.dev33.satoken.annotation.SaCheckLogin;
+import com.bamdow.cache.CompressedBody;
+import com.bamdow.cache.DetailBodyCache;
+import com.bamdow.cache.ListingSnapshotCache;
+import com.bamdow.pojo.dto.FieldSelection;
 import com.bamdow.pojo.dto.PageQuery;
+import com.bamdow.pojo.result.CursorPageResult;
 import com.bamdow.pojo.result.PageResult;
 import com.bamdow.pojo.result.Result;
+import com.bamdow.pojo.vo.ProjectBatchVO;
 import com.bamdow.pojo.vo.ProjectDetailVO;
+import com.bamdow.pojo.vo.ProjectListVO;
+import com.bamdow.pojo.vo.SearchHitVO;
+import com.bamdow.pojo.vo.TagCountVO;
+import com.bamdow.pojo.vo.ContentVersionVO;
 import com.bamdow.service.ProjectService;
+import com.bamdow.utils.ConditionalGetUtil;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.util.List;
 
 @RestController
 @Slf4j
@@ -16,19 +39,131 @@ public class U_ProjectController {
     @Autowired
     ProjectService projectService;
 
+    @Autowired
+    private ListingSnapshotCache listingSnapshotCache;
+
+    @Autowired
+    private DetailBodyCache detailBodyCache;
+
+    @Autowired
+    private JsonMapper jsonMapper;
+
+    // 稀疏字段请求专用：未选择的字段为null，不输出；默认请求仍按原样输出null字段
+    private JsonMapper sparseMapper;
+
+    @PostConstruct
+    public void init() {
+        sparseMapper = jsonMapper.rebuild()
+                .addMixIn(ProjectListVO.class, OmitNulls.class)
+                .addMixIn(ProjectListVO.BilingualTitle.class, OmitNulls.class)
+                .addMixIn(ProjectDetailVO.class, OmitNulls.class)
+                .addMixIn(ProjectDetailVO.BilingualTitle.class, OmitNulls.class)
+                .build();
+    }
 
     @GetMapping
-    public Result<PageResult> page(PageQuery pageQuery) {
+    public Result<PageResult> page(PageQuery pageQuery, ServletWebRequest webRequest,
+                                   HttpServletRequest request, HttpServletResponse response) throws IOException {
         log.info("全种类作品分页查询{}", pageQuery);
+        //命中预序列化快照时直接写出字节
+        CompressedBody snapshot = listingSnapshotCache.get(pageQuery);
+        if (snapshot != null) {
+            if (!ConditionalGetUtil.checkNotModified(webRequest, snapshot.getEtag())) {
+                snapshot.write(request, response);
+            }
+            return null;
+        }
+        //列表未变化时直接返回304，跳过VO组装和序列化
+        ContentVersionVO version = projectService.getListVersion(pageQuery.getCategory());
+        if (ConditionalGetUtil.checkNotModified(webRequest, pageQuery.toString(), version)) {
+            return null;
+        }
         PageResult pageResult = projectService.pageQuery(pageQuery);
+        if (isSparse(pageQuery)) {
+            writeSparse(Result.success(pageResult), response);
+            return null;
+        }
         return Result.success(pageResult);
     }
 
+    @GetMapping(params = "cursor")
+    public Result<CursorPageResult<ProjectListVO>> cursorPage(PageQuery pageQuery, ServletWebRequest webRequest,
+                                               HttpServletResponse response) throws IOException {
+        log.info("全种类作品游标分页查询{}", pageQuery);
+        ContentVersionVO version = projectService.getListVersion(pageQuery.getCategory());
+        if (ConditionalGetUtil.checkNotModified(webRequest, pageQuery.toString(), version)) {
+            return null;
+        }
+        CursorPageResult<ProjectListVO> cursorPageResult = projectService.cursorQuery(pageQuery);
+        if (isSparse(pageQuery)) {
+            writeSparse(Result.success(cursorPageResult), response);
+            return null;
+        }
+        return Result.success(cursorPageResult);
+    }
+
+    @GetMapping("/search")
+    public Result<List<SearchHitVO>> search(@RequestParam String q, @RequestParam(defaultValue = "10") int size) {
+        log.info("作品全文检索：{}", q);
+        List<SearchHitVO> searchHitVOs = projectService.search(q, size);
+        return Result.success(searchHitVOs);
+    }
+
+    @GetMapping("/tags")
+    public Result<List<TagCountVO>> tags(@RequestParam(required = false) String category) {
+        log.info("查询标签统计，分类：{}", category);
+        List<TagCountVO> tagCountVOs = projectService.tagFacets(category);
+        return Result.success(tagCountVOs);
+    }
+
+    @GetMapping("/batch")
+    public Result<ProjectBatchVO> batch(@RequestParam List<String> ids) {
+        log.info("批量查询作品详情：{}", ids);
+        ProjectBatchVO projectBatchVO = projectService.getByIds(ids);
+        return Result.success(projectBatchVO);
+    }
+
     @GetMapping("/{id}")
-    public Result<ProjectDetailVO> detail(@PathVariable String id) {
-        log.info("查询作品id为：{}",id);
-        ProjectDetailVO projectDetailVO=projectService.getById(id);
+    public Result<ProjectDetailVO> detail(@PathVariable String id,
+                                          @RequestParam(required = false) String fields,
+                                          @RequestParam(required = false) String include,
+                                          ServletWebRequest webRequest,
+                                          HttpServletRequest request, HttpServletResponse response) throws IOException {
+        log.info("查询作品id为：{}，字段：{}，追加字段：{}",id,fields,include);
+        FieldSelection selection = FieldSelection.parse(fields, include, FieldSelection.DETAIL_FIELDS);
+        //作品未更新时直接返回304
+        Timestamp lastModified = projectService.getLastModified(id);
+        if (lastModified != null) {
+            String resourceKey = selection.isAll() ? id : id + "?fields=" + selection;
+            if (ConditionalGetUtil.checkNotModified(webRequest, resourceKey, lastModified)) {
+                return null;
+            }
+            if (selection.isAll()) {
+                //写出缓存的预压缩响应体
+                detailBodyCache.get(id, lastModified).write(request, response);
+                return null;
+            }
+        }
+        ProjectDetailVO projectDetailVO=projectService.getById(id, selection);
+        if (!selection.isAll()) {
+            writeSparse(Result.success(projectDetailVO), response);
+            return null;
+        }
         return Result.success(projectDetailVO);
     }
 
+    private boolean isSparse(PageQuery pageQuery) {
+        return !FieldSelection.parse(pageQuery.getFields(), pageQuery.getInclude(), FieldSelection.LIST_FIELDS).isAll();
+    }
+
+    private void writeSparse(Result<?> result, HttpServletResponse response) throws IOException {
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        sparseMapper.writeValue(response.getOutputStream(), result);
+    }
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private interface OmitNulls {
+    }
+
 }
\ No newline at end of file
@@ -0,0 +1,21 @@
+package com.bamdow.converter;
+
+import com.bamdow.pojo.entity.MarkdownFile;
+import com.bamdow.pojo.vo.MarkdownFileVO;
+
+/**
+ * md文件对象转换，逐字段显式赋值
+ */
+public final class MarkdownConverter {
+
+    private MarkdownConverter() {
+    }
+
+    public static MarkdownFileVO toVO(MarkdownFile markdownFile) {
+        MarkdownFileVO vo = new MarkdownFileVO();
+        vo.setId(markdownFile.getId());
+        vo.setFileName(markdownFile.getFileName());
+        vo.setOssUrl(markdownFile.getOssUrl());
+        return vo;
+    }
+}
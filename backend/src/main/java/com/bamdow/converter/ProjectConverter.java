@@ -0,0 +1,239 @@
+package com.bamdow.converter;
+
+import com.bamdow.pojo.dto.FieldSelection;
+import com.bamdow.pojo.dto.ProjectCreateDTO;
+import com.bamdow.pojo.dto.ProjectUpdateDTO;
+import com.bamdow.pojo.entity.DevelopmentProject;
+import com.bamdow.pojo.entity.OtherProject;
+import com.bamdow.pojo.entity.PhotographyProject;
+import com.bamdow.pojo.entity.Project;
+import com.bamdow.pojo.entity.ProjectImage;
+import com.bamdow.pojo.vo.ProjectDetailQueryVO;
+import com.bamdow.pojo.vo.ProjectDetailVO;
+import com.bamdow.pojo.vo.ProjectListVO;
+import com.bamdow.pojo.vo.ProjectQueryVO;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+/**
+ * 作品对象转换
+ * 逐字段显式赋值，替代基于反射的BeanUtils.copyProperties；字段增减时需同步修改此处
+ */
+public final class ProjectConverter {
+
+    private ProjectConverter() {
+    }
+
+    /**
+     * 新增DTO -> 主表实体，tags数组转为逗号分隔字符串
+     */
+    public static Project toProject(ProjectCreateDTO dto, String id) {
+        Project project = new Project();
+        project.setId(id);
+        project.setTitle(dto.getTitle());
+        project.setDescription(dto.getDescription());
+        project.setCategory(dto.getCategory());
+        project.setTags(joinTags(dto.getTags()));
+        return project;
+    }
+
+    public static PhotographyProject toPhotographyProject(ProjectCreateDTO dto, String id) {
+        PhotographyProject photographyProject = new PhotographyProject();
+        photographyProject.setId(id);
+        photographyProject.setThoughts(dto.getThoughts());
+        photographyProject.setAdditionalInfo(dto.getAdditionalInfo());
+        return photographyProject;
+    }
+
+    public static DevelopmentProject toDevelopmentProject(ProjectCreateDTO dto, String id) {
+        DevelopmentProject developmentProject = new DevelopmentProject();
+        developmentProject.setId(id);
+        developmentProject.setGithubUrl(dto.getGithubUrl());
+        developmentProject.setReadme(dto.getReadme());
+        return developmentProject;
+    }
+
+    public static OtherProject toOtherProject(ProjectCreateDTO dto, String id) {
+        OtherProject otherProject = new OtherProject();
+        otherProject.setId(id);
+        otherProject.setExternalLink(dto.getExternalLink());
+        otherProject.setIntroduction(dto.getIntroduction());
+        return otherProject;
+    }
+
+    /**
+     * 将修改DTO合并到主表实体，分类不可修改，DTO中为null的字段和空tags保留原值
+     */
+    public static void updateProject(ProjectUpdateDTO dto, Project project) {
+        if (dto.getTitle() != null) {
+            project.setTitle(dto.getTitle());
+        }
+        if (dto.getDescription() != null) {
+            project.setDescription(dto.getDescription());
+        }
+        String tags = joinTags(dto.getTags());
+        if (tags != null) {
+            project.setTags(tags);
+        }
+    }
+
+    /**
+     * 将修改DTO合并到子表实体，DTO中为null的字段保留原值，不会覆盖其他分类无关的字段
+     * @param current 数据库中的子表记录，不存在时传null
+     */
+    public static PhotographyProject updatePhotographyProject(ProjectUpdateDTO dto, PhotographyProject current) {
+        PhotographyProject photographyProject = current != null ? current : new PhotographyProject();
+        photographyProject.setId(dto.getId());
+        if (dto.getThoughts() != null) {
+            photographyProject.setThoughts(dto.getThoughts());
+        }
+        if (dto.getAdditionalInfo() != null) {
+            photographyProject.setAdditionalInfo(dto.getAdditionalInfo());
+        }
+        return photographyProject;
+    }
+
+    public static DevelopmentProject updateDevelopmentProject(ProjectUpdateDTO dto, DevelopmentProject current) {
+        DevelopmentProject developmentProject = current != null ? current : new DevelopmentProject();
+        developmentProject.setId(dto.getId());
+        if (dto.getGithubUrl() != null) {
+            developmentProject.setGithubUrl(dto.getGithubUrl());
+        }
+        if (dto.getReadme() != null) {
+            developmentProject.setReadme(dto.getReadme());
+        }
+        return developmentProject;
+    }
+
+    public static OtherProject updateOtherProject(ProjectUpdateDTO dto, OtherProject current) {
+        OtherProject otherProject = current != null ? current : new OtherProject();
+        otherProject.setId(dto.getId());
+        if (dto.getExternalLink() != null) {
+            otherProject.setExternalLink(dto.getExternalLink());
+        }
+        if (dto.getIntroduction() != null) {
+            otherProject.setIntroduction(dto.getIntroduction());
+        }
+        return otherProject;
+    }
+
+    /**
+     * 列表查询结果 -> ProjectListVO，只填充选中的字段
+     * @param images 该作品的图片URL列表，未查询图片时为null
+     */
+    public static ProjectListVO toListVO(ProjectQueryVO queryVO, List<String> images, FieldSelection selection) {
+        ProjectListVO vo = new ProjectListVO();
+        vo.setId(queryVO.getId());
+        if (selection.has("title")) {
+            vo.setTitle(queryVO.getTitle());
+        }
+        if (selection.has("description")) {
+            vo.setDescription(queryVO.getDescription());
+        }
+        if (selection.has("category")) {
+            vo.setCategory(queryVO.getCategory());
+        }
+        // 处理双语标题
+        if (selection.has("bilingualTitle")) {
+            ProjectListVO.BilingualTitle bilingualTitle = new ProjectListVO.BilingualTitle();
+            bilingualTitle.setZh(queryVO.getTitle());
+            bilingualTitle.setEn(queryVO.getTitle()); // 可后续替换为真实英文标题
+            vo.setBilingualTitle(bilingualTitle);
+        }
+        if (selection.has("tags")) {
+            vo.setTags(splitTags(queryVO.getTags()));
+        }
+        vo.setImages(images);
+        return vo;
+    }
+
+    /**
+     * 详情查询结果 -> ProjectDetailVO，未选中的字段在查询中已为null
+     */
+    public static ProjectDetailVO toDetailVO(ProjectDetailQueryVO detail, FieldSelection selection) {
+        ProjectDetailVO vo = new ProjectDetailVO();
+        vo.setId(detail.getId());
+        if (selection.has("title")) {
+            vo.setTitle(detail.getTitle());
+        }
+        vo.setDescription(detail.getDescription());
+        vo.setCategory(detail.getCategory());
+        vo.setCreatedAt(detail.getCreatedAt());
+        vo.setUpdatedAt(detail.getUpdatedAt());
+
+        // 设置bilingualTitle字段
+        if (selection.has("bilingualTitle")) {
+            ProjectDetailVO.BilingualTitle bilingualTitle = new ProjectDetailVO.BilingualTitle();
+            bilingualTitle.setZh(detail.getTitle());
+            bilingualTitle.setEn(detail.getTitle()); // 暂时使用相同的标题，后续可以根据需要从其他字段获取英文标题
+            vo.setBilingualTitle(bilingualTitle);
+        }
+        vo.setTags(splitTags(detail.getTags()));
+
+        // 图片列表（已按sort_order排序），cover只取首张
+        if (detail.getImages() != null && !detail.getImages().isEmpty()) {
+            vo.setImages(detail.getImages().stream()
+                    .map(ProjectImage::getImageUrl)
+                    .filter(Objects::nonNull)
+                    .limit(selection.coverOnly() ? 1 : Long.MAX_VALUE)
+                    .collect(Collectors.toList()));
+        }
+
+        //子表字段（非对应分类的字段为null）
+        vo.setThoughts(detail.getThoughts());
+        vo.setAdditionalInfo(detail.getAdditionalInfo());
+        vo.setGithubUrl(detail.getGithubUrl());
+        vo.setReadme(detail.getReadme());
+        vo.setExternalLink(detail.getExternalLink());
+        vo.setIntroduction(detail.getIntroduction());
+        return vo;
+    }
+
+    /**
+     * 由分别查询的主表、子表和图片记录组装详情查询结果，子表记录不存在时传null
+     */
+    public static ProjectDetailQueryVO toDetailQueryVO(Project project, List<ProjectImage> images,
+                                                       PhotographyProject photographyProject,
+                                                       DevelopmentProject developmentProject,
+                                                       OtherProject otherProject) {
+        ProjectDetailQueryVO detail = new ProjectDetailQueryVO();
+        detail.setId(project.getId());
+        detail.setTitle(project.getTitle());
+        detail.setDescription(project.getDescription());
+        detail.setCategory(project.getCategory());
+        detail.setTags(project.getTags());
+        detail.setCreatedAt(project.getCreatedAt());
+        detail.setUpdatedAt(project.getUpdatedAt());
+        detail.setImages(images);
+        if (photographyProject != null) {
+            detail.setThoughts(photographyProject.getThoughts());
+            detail.setAdditionalInfo(photographyProject.getAdditionalInfo());
+        }
+        if (developmentProject != null) {
+            detail.setGithubUrl(developmentProject.getGithubUrl());
+            detail.setReadme(developmentProject.getReadme());
+        }
+        if (otherProject != null) {
+            detail.setExternalLink(otherProject.getExternalLink());
+            detail.setIntroduction(otherProject.getIntroduction());
+        }
+        return detail;
+    }
+
+    /**
+     * 标签数组 -> 逗号分隔字符串，空数组返回null
+     */
+    public static String joinTags(List<String> tags) {
+        return tags == null || tags.isEmpty() ? null : String.join(",", tags);
+    }
+
+    /**
+     * 逗号分隔字符串 -> 标签数组，空字符串返回null
+     */
+    public static List<String> splitTags(String tags) {
+        return tags == null || tags.isEmpty() ? null : Arrays.asList(tags.split(","));
+    }
+}
@@ -0,0 +1,24 @@
+package com.bamdow.event;
+
+import lombok.Getter;
+import org.springframework.context.ApplicationEvent;
+
+import java.util.Collection;
+import java.util.Set;
+
+/**
+ * 作品新增、修改、删除后发布的事件，监听方在事务提交后据此刷新各自的派生数据
+ */
+@Getter
+public class ProjectChangedEvent extends ApplicationEvent {
+    // 发生变化的作品id
+    private final Collection<String> ids;
+    // 受影响的分类
+    private final Set<String> categories;
+
+    public ProjectChangedEvent(Object source, Collection<String> ids, Set<String> categories) {
+        super(source);
+        this.ids = ids;
+        this.categories = categories;
+    }
+}
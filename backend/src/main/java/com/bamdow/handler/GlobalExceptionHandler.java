@@ -13,6 +13,11 @@ public class GlobalExceptionHandler {
 
     @ExceptionHandler(NotLoginException.class)
     public Result handleNotLoginException(NotLoginException e) {
+        return Result.error(notLoginMessage(e));
+    }
+
+    // 未登录原因，供不经过DispatcherServlet的Servlet复用
+    public static String notLoginMessage(NotLoginException e) {
         String message = "";
         switch (e.getType()) {
             case NotLoginException.NOT_TOKEN:
@@ -33,7 +38,7 @@ public class GlobalExceptionHandler {
             default:
                 message = "当前会话未登录";
         }
-        return Result.error(message);
+        return message;
     }
 
     @ExceptionHandler(NotPermissionException.class)
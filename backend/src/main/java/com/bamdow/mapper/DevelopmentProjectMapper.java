@@ -3,8 +3,11 @@ package com.bamdow.mapper;
 import com.bamdow.pojo.entity.DevelopmentProject;
 import org.apache.ibatis.annotations.Delete;
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
 import org.apache.ibatis.annotations.Select;
 
+import java.util.List;
+
 @Mapper
 public interface DevelopmentProjectMapper {
     /**
@@ -13,6 +16,12 @@ public interface DevelopmentProjectMapper {
      */
     void insert(DevelopmentProject developmentProject);
 
+    /**
+     * 多行插入开发项目表，调用方负责控制单批数量
+     * @param developmentProjects 开发项目表实体列表
+     */
+    void insertBatch(@Param("developmentProjects") List<DevelopmentProject> developmentProjects);
+
     /**
      * 根据id查询开发项目表
      * @param id
@@ -20,6 +29,13 @@ public interface DevelopmentProjectMapper {
     @Select("select * from development_projects where id = #{id}")
     DevelopmentProject getById(String id);
 
+    /**
+     * 根据多个id批量查询开发项目表
+     * @param ids
+     * @return
+     */
+    List<DevelopmentProject> getByIds(@Param("ids") List<String> ids);
+
     /**
      * 更新开发项目
      * @param developmentProject
@@ -32,4 +48,10 @@ public interface DevelopmentProjectMapper {
      */
     @Delete("delete from development_projects where id=#{id}")
     void deleteById(String id);
+
+    /**
+     * 根据多个id批量删除项目
+     * @param ids
+     */
+    void deleteByIds(@Param("ids") List<String> ids);
 }
\ No newline at end of file
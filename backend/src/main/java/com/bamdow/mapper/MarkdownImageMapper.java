@@ -4,6 +4,9 @@ package com.bamdow.mapper;
 import com.bamdow.pojo.entity.MarkdownImage;
 import org.apache.ibatis.annotations.Delete;
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.util.List;
 
 @Mapper
 public interface MarkdownImageMapper {
@@ -13,10 +16,29 @@ public interface MarkdownImageMapper {
      */
     void insert(MarkdownImage markdownImage);
 
+    /**
+     * 多行插入md文件中的图片信息，调用方负责控制单批数量
+     * @param images
+     */
+    void insertBatch(@Param("images") List<MarkdownImage> images);
+
     /**
      * 根据id删除md中的图片
      * @param markdownId
      */
     @Delete("delete from bamdow_web.markdown_images where markdown_id =#{markdownId}")
     void deleteById(String markdownId);
+
+    /**
+     * 根据多个md文件id查询图片URL
+     * @param markdownIds
+     * @return
+     */
+    List<String> getOssUrlsByMarkdownIds(@Param("markdownIds") List<String> markdownIds);
+
+    /**
+     * 根据多个md文件id批量删除图片
+     * @param markdownIds
+     */
+    void deleteByMarkdownIds(@Param("markdownIds") List<String> markdownIds);
 }
@@ -1,11 +1,19 @@
 package com.bamdow.mapper;
 
+import com.bamdow.pojo.dto.CursorQuery;
 import com.bamdow.pojo.dto.PageQuery;
 import com.bamdow.pojo.entity.MarkdownFile;
+import com.bamdow.pojo.vo.ContentVersionVO;
+import com.bamdow.pojo.vo.MarkdownExportVO;
 import com.github.pagehelper.Page;
 import org.apache.ibatis.annotations.Delete;
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
 import org.apache.ibatis.annotations.Select;
+import org.apache.ibatis.cursor.Cursor;
+
+import java.sql.Timestamp;
+import java.util.List;
 
 @Mapper
 public interface MarkdownMapper {
@@ -23,6 +31,19 @@ public interface MarkdownMapper {
      */
     Page<MarkdownFile> pageQuery(PageQuery pageQuery);
 
+    /**
+     * md文件游标分页，按 (created_at, id) 顺序取下一页
+     * @param cursorQuery
+     * @return
+     */
+    List<MarkdownFile> cursorQuery(CursorQuery cursorQuery);
+
+    /**
+     * 全量导出md文件元数据（含图片URL），流式逐个返回，调用方需在事务内遍历并关闭游标
+     * @return
+     */
+    Cursor<MarkdownExportVO> cursorAll();
+
     /**
      * 根据id查询md文件
      * @param id
@@ -31,10 +52,39 @@ public interface MarkdownMapper {
     @Select("select * from bamdow_web.markdown_files where id = #{id}")
     MarkdownFile getById(String id);
 
+    /**
+     * 根据id查询md文件最近更新时间
+     * @param id
+     * @return
+     */
+    @Select("select updated_at from bamdow_web.markdown_files where id = #{id}")
+    Timestamp getUpdatedAt(String id);
+
+    /**
+     * 查询md文件总数和最大更新时间，作为列表版本
+     * @return
+     */
+    @Select("select count(*) as total, max(updated_at) as last_modified from bamdow_web.markdown_files")
+    ContentVersionVO getListVersion();
+
+    /**
+     * 查询全部md文件记录，用于重建全文索引
+     * @return
+     */
+    @Select("select id, file_name, oss_url from bamdow_web.markdown_files")
+    List<MarkdownFile> listAll();
+
     /**
      * 根据id删除md文件
      * @param id
      */
     @Delete("delete from bamdow_web.markdown_files where id = #{id}")
     void deleteById(String id);
+
+    /**
+     * 根据多个id批量删除md文件
+     * @param ids
+     * @return 实际删除的行数
+     */
+    int deleteByIds(@Param("ids") List<String> ids);
 }
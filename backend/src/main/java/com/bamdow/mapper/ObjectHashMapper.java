@@ -0,0 +1,73 @@
+package com.bamdow.mapper;
+
+import com.bamdow.pojo.entity.ObjectHash;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Select;
+import org.apache.ibatis.annotations.Update;
+
+import java.sql.Timestamp;
+import java.util.List;
+
+@Mapper
+public interface ObjectHashMapper {
+
+    /**
+     * 根据内容哈希查询已存储的对象
+     * @param store
+     * @param hash
+     * @return
+     */
+    @Select("select * from object_hashes where store = #{store} and hash = #{hash}")
+    ObjectHash getByHash(@Param("store") String store, @Param("hash") String hash);
+
+    /**
+     * 新增哈希索引，并发上传同一内容时只刷新最近使用时间
+     * @param objectHash
+     */
+    void insert(ObjectHash objectHash);
+
+    /**
+     * 上传命中已有对象时刷新最近使用时间，避免在保存作品前被回收
+     * @param store
+     * @param hash
+     */
+    @Update("update object_hashes set last_used_at = CURRENT_TIMESTAMP where store = #{store} and hash = #{hash}")
+    void touch(@Param("store") String store, @Param("hash") String hash);
+
+    /**
+     * 批量调整引用计数，计数不小于0
+     * @param store
+     * @param hashes
+     * @param delta
+     */
+    void adjustRefCount(@Param("store") String store, @Param("hashes") List<String> hashes, @Param("delta") int delta);
+
+    /**
+     * 从给定对象中找出since之后被上传命中过的对象名
+     * @param store
+     * @param objectNames
+     * @param since
+     * @return
+     */
+    List<String> getRecentlyUsed(@Param("store") String store, @Param("objectNames") List<String> objectNames,
+                                 @Param("since") Timestamp since);
+
+    /**
+     * 删除给定对象中仍未被引用、且before之后没有被上传命中过的哈希索引，回收对象前调用
+     * @param store
+     * @param objectNames
+     * @param before
+     * @return 删除的行数
+     */
+    int deleteUnused(@Param("store") String store, @Param("objectNames") List<String> objectNames,
+                     @Param("before") Timestamp before);
+
+    /**
+     * 从给定对象中找出仍有哈希索引的对象名
+     * @param store
+     * @param objectNames
+     * @return
+     */
+    List<String> getIndexed(@Param("store") String store, @Param("objectNames") List<String> objectNames);
+}
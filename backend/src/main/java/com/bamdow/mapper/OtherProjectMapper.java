@@ -4,8 +4,11 @@ import com.bamdow.pojo.entity.OtherProject;
 import com.bamdow.pojo.entity.PhotographyProject;
 import org.apache.ibatis.annotations.Delete;
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
 import org.apache.ibatis.annotations.Select;
 
+import java.util.List;
+
 @Mapper
 public interface OtherProjectMapper {
     /**
@@ -14,6 +17,12 @@ public interface OtherProjectMapper {
      */
     void insert(OtherProject otherProject);
 
+    /**
+     * 多行插入其他项目表，调用方负责控制单批数量
+     * @param otherProjects 其他项目表实体列表
+     */
+    void insertBatch(@Param("otherProjects") List<OtherProject> otherProjects);
+
     /**
      * 根据id查询其他项目表
      * @param id
@@ -22,6 +31,13 @@ public interface OtherProjectMapper {
     OtherProject getById(String id);
 
 
+    /**
+     * 根据多个id批量查询其他项目表
+     * @param ids
+     * @return
+     */
+    List<OtherProject> getByIds(@Param("ids") List<String> ids);
+
     /**
      * 更新其他项目
      * @param otherProject
@@ -34,4 +50,10 @@ public interface OtherProjectMapper {
      */
     @Delete("delete from other_projects where id=#{id}")
     void deleteById(String id);
+
+    /**
+     * 根据多个id批量删除项目
+     * @param ids
+     */
+    void deleteByIds(@Param("ids") List<String> ids);
 }
\ No newline at end of file
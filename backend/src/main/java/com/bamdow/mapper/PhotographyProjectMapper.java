@@ -3,8 +3,11 @@ package com.bamdow.mapper;
 import com.bamdow.pojo.entity.PhotographyProject;
 import org.apache.ibatis.annotations.Delete;
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
 import org.apache.ibatis.annotations.Select;
 
+import java.util.List;
+
 @Mapper
 public interface PhotographyProjectMapper {
     /**
@@ -13,6 +16,12 @@ public interface PhotographyProjectMapper {
      */
     void insert(PhotographyProject photographyProject);
 
+    /**
+     * 多行插入摄影项目表，调用方负责控制单批数量
+     * @param photographyProjects 摄影项目表实体列表
+     */
+    void insertBatch(@Param("photographyProjects") List<PhotographyProject> photographyProjects);
+
     /**
      * 根据id查询摄影项目表
      * @param id
@@ -20,6 +29,13 @@ public interface PhotographyProjectMapper {
     @Select("select * from photography_projects where id = #{id}")
     PhotographyProject getById(String id);
 
+    /**
+     * 根据多个id批量查询摄影项目表
+     * @param ids
+     * @return
+     */
+    List<PhotographyProject> getByIds(@Param("ids") List<String> ids);
+
     /**
      * 更新摄影项目
      * @param photographyProject
@@ -32,4 +48,10 @@ public interface PhotographyProjectMapper {
      */
     @Delete("delete from photography_projects where id=#{id}")
     void deleteById(String id);
+
+    /**
+     * 根据多个id批量删除项目
+     * @param ids
+     */
+    void deleteByIds(@Param("ids") List<String> ids);
 }
\ No newline at end of file
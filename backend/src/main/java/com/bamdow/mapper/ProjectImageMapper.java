@@ -3,6 +3,7 @@ package com.bamdow.mapper;
 import com.bamdow.pojo.entity.ProjectImage;
 import org.apache.ibatis.annotations.Delete;
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
 import org.apache.ibatis.annotations.Select;
 
 import java.util.List;
@@ -16,6 +17,12 @@ public interface ProjectImageMapper {
      */
     void insert(ProjectImage projectImage);
 
+    /**
+     * 多行插入项目图片，调用方负责控制单批数量
+     * @param images 项目图片列表
+     */
+    void insertBatch(@Param("images") List<ProjectImage> images);
+
     /**
      * 根据项目ID查询图片列表
      * @param projectId 项目ID
@@ -24,9 +31,41 @@ public interface ProjectImageMapper {
     @Select("select * from project_images where project_id = #{projectId} order by sort_order asc")
     List<ProjectImage> getByProjectId(String projectId);
 
+    /**
+     * 根据多个项目ID批量查询图片列表，按项目ID、sort_order排序
+     * @param projectIds 项目ID列表
+     * @return 图片列表
+     */
+    List<ProjectImage> getByProjectIds(@Param("projectIds") List<String> projectIds);
+
+    /**
+     * 根据多个项目ID批量查询封面图（每个项目sort_order最小的一张）
+     * @param projectIds 项目ID列表
+     * @return 图片列表
+     */
+    List<ProjectImage> getCoverByProjectIds(@Param("projectIds") List<String> projectIds);
+
+    /**
+     * 批量更新图片的sort_order，单条语句完成
+     * @param images 需要更新排序的图片（id、sortOrder）
+     */
+    void updateSortOrders(@Param("images") List<ProjectImage> images);
+
+    /**
+     * 根据图片ID批量删除
+     * @param ids 图片ID列表
+     */
+    void deleteByIds(@Param("ids") List<String> ids);
+
     /**
      * 根据项目ID删除所有图片
      * @param projectId 项目ID
      */
     void deleteByProjectId(String projectId);
+
+    /**
+     * 根据多个项目ID批量删除图片
+     * @param projectIds 项目ID列表
+     */
+    void deleteByProjectIds(@Param("projectIds") List<String> projectIds);
 }
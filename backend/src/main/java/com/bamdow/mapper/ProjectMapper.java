@@ -1,14 +1,23 @@
 package com.bamdow.mapper;
 
+import com.bamdow.pojo.dto.CursorQuery;
+import com.bamdow.pojo.dto.FieldSelection;
 import com.bamdow.pojo.dto.PageQuery;
 import com.bamdow.pojo.entity.Project;
+import com.bamdow.pojo.vo.ContentVersionVO;
+import com.bamdow.pojo.vo.ProjectDetailQueryVO;
 import com.bamdow.pojo.vo.ProjectDetailVO;
 import com.bamdow.pojo.vo.ProjectListVO;
 import com.bamdow.pojo.vo.ProjectQueryVO;
 import com.github.pagehelper.Page;
 import org.apache.ibatis.annotations.Delete;
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
 import org.apache.ibatis.annotations.Select;
+import org.apache.ibatis.cursor.Cursor;
+
+import java.sql.Timestamp;
+import java.util.List;
 
 @Mapper
 public interface ProjectMapper {
@@ -20,12 +29,67 @@ public interface ProjectMapper {
      */
     Page<ProjectQueryVO> pageQuery(PageQuery pageQuery);
 
+    /**
+     * 按字段选择分页查询，只查询选中字段对应的列
+     * @param pageQuery
+     * @param selection
+     * @return
+     */
+    Page<ProjectQueryVO> pageQuerySelect(@Param("query") PageQuery pageQuery, @Param("sel") FieldSelection selection);
+
+    /**
+     * 项目游标分页，按 (created_at, id) 顺序取下一页
+     * @param cursorQuery
+     * @return
+     */
+    List<ProjectQueryVO> cursorQuery(CursorQuery cursorQuery);
+
+    /**
+     * 查询全部作品的分类和标签，按 created_at 排序，用于构建标签索引
+     * @return
+     */
+    @Select("select id, category, tags, created_at from projects order by created_at, id")
+    List<ProjectQueryVO> listForIndex();
+
+    /**
+     * 根据多个id批量查询作品列表字段
+     * @param ids
+     * @return
+     */
+    List<ProjectQueryVO> getByIds(@Param("ids") List<String> ids);
+
+    /**
+     * 根据多个id批量查询作品主表记录
+     * @param ids
+     * @return
+     */
+    List<Project> getProjectsByIds(@Param("ids") List<String> ids);
+
+    /**
+     * 查询作品及子表中参与全文检索的文本字段，ids为null时查询全部
+     * @param ids
+     * @return
+     */
+    List<ProjectDetailQueryVO> listSearchDocuments(@Param("ids") List<String> ids);
+
+    /**
+     * 全量导出作品详情（含子表字段和图片），流式逐个返回，调用方需在事务内遍历并关闭游标
+     * @return
+     */
+    Cursor<ProjectDetailQueryVO> cursorAllDetails();
+
     /**
      * 插入项目主表
      * @param project 项目实体
      */
     void insert(Project project);
 
+    /**
+     * 多行插入项目主表，调用方负责控制单批数量
+     * @param projects 项目主表实体列表
+     */
+    void insertBatch(@Param("projects") List<Project> projects);
+
     /**
      * 根据id查询主表作品
      * @param id
@@ -34,6 +98,36 @@ public interface ProjectMapper {
     @Select("select * from projects where id = #{id}")
     Project getById(String id);
 
+    /**
+     * 根据id一次性查询作品详情（主表+子表+图片）
+     * @param id
+     * @return
+     */
+    ProjectDetailQueryVO getDetailById(String id);
+
+    /**
+     * 按字段选择查询作品详情，只查询选中字段对应的列，并只关联需要的子表和图片表
+     * @param id
+     * @param selection
+     * @return
+     */
+    ProjectDetailQueryVO getDetailSelect(@Param("id") String id, @Param("sel") FieldSelection selection);
+
+    /**
+     * 根据id查询作品最近更新时间
+     * @param id
+     * @return
+     */
+    @Select("select updated_at from projects where id = #{id}")
+    Timestamp getUpdatedAt(String id);
+
+    /**
+     * 查询某分类下作品的总数和最大更新时间，作为列表版本
+     * @param category
+     * @return
+     */
+    ContentVersionVO getListVersion(@Param("category") String category);
+
     /**
      * 修改项目
      * @param project
@@ -46,4 +140,17 @@ public interface ProjectMapper {
      */
     @Delete("delete from projects where id=#{id}")
     void deleteById(String id);
+
+    /**
+     * 根据多个id查询作品分类，用于批量删除时确定子表
+     * @param ids
+     * @return 只包含id和category
+     */
+    List<Project> getCategoriesByIds(@Param("ids") List<String> ids);
+
+    /**
+     * 根据多个id批量删除项目
+     * @param ids
+     */
+    void deleteByIds(@Param("ids") List<String> ids);
 }
\ No newline at end of file
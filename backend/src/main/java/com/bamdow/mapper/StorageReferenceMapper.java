@@ -0,0 +1,80 @@
+package com.bamdow.mapper;
+
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Options;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.ResultType;
+import org.apache.ibatis.annotations.Select;
+import org.apache.ibatis.mapping.ResultSetType;
+import org.apache.ibatis.session.ResultHandler;
+
+import java.sql.Timestamp;
+
+/**
+ * 对象存储引用扫描，逐行流式读取所有引用了存储对象的URL，供孤儿对象回收使用
+ * fetchSize = Integer.MIN_VALUE 让MySQL驱动逐行返回结果，不把整张表读进内存
+ */
+@Mapper
+public interface StorageReferenceMapper {
+
+    /**
+     * 扫描项目图片URL
+     * @param handler
+     */
+    @Select("select image_url from project_images where image_url is not null")
+    @Options(resultSetType = ResultSetType.FORWARD_ONLY, fetchSize = Integer.MIN_VALUE)
+    @ResultType(String.class)
+    void scanProjectImageUrls(ResultHandler<String> handler);
+
+    /**
+     * 扫描markdown图片URL
+     * @param handler
+     */
+    @Select("select oss_url from bamdow_web.markdown_images where oss_url is not null")
+    @Options(resultSetType = ResultSetType.FORWARD_ONLY, fetchSize = Integer.MIN_VALUE)
+    @ResultType(String.class)
+    void scanMarkdownImageUrls(ResultHandler<String> handler);
+
+    /**
+     * 扫描markdown文件URL
+     * @param handler
+     */
+    @Select("select oss_url from bamdow_web.markdown_files where oss_url is not null")
+    @Options(resultSetType = ResultSetType.FORWARD_ONLY, fetchSize = Integer.MIN_VALUE)
+    @ResultType(String.class)
+    void scanMarkdownFileUrls(ResultHandler<String> handler);
+
+    /**
+     * 扫描作品文本字段（描述、思路、补充信息、README、介绍及链接），正文中可能内嵌图片URL，由调用方从文本中提取
+     * @param handler
+     */
+    @Select("select description from projects where description like '%://%'"
+            + " union all select thoughts from photography_projects where thoughts like '%://%'"
+            + " union all select additional_info from photography_projects where additional_info like '%://%'"
+            + " union all select readme from development_projects where readme like '%://%'"
+            + " union all select github_url from development_projects where github_url like '%://%'"
+            + " union all select introduction from other_projects where introduction like '%://%'"
+            + " union all select external_link from other_projects where external_link like '%://%'")
+    @Options(resultSetType = ResultSetType.FORWARD_ONLY, fetchSize = Integer.MIN_VALUE)
+    @ResultType(String.class)
+    void scanProjectTexts(ResultHandler<String> handler);
+
+    /**
+     * 扫描管理员头像URL
+     * @param handler
+     */
+    @Select("select image_url from bamdow_web.administrator where image_url is not null")
+    @Options(resultSetType = ResultSetType.FORWARD_ONLY, fetchSize = Integer.MIN_VALUE)
+    @ResultType(String.class)
+    void scanAdministratorImageUrls(ResultHandler<String> handler);
+
+    /**
+     * 扫描仍需保留的内容寻址对象：引用计数大于0，或在since之后被上传命中，结果为"存储:对象名"
+     * @param since
+     * @param handler
+     */
+    @Select("select concat(store, ':', object_name) from object_hashes where ref_count > 0 or last_used_at >= #{since}")
+    @Options(resultSetType = ResultSetType.FORWARD_ONLY, fetchSize = Integer.MIN_VALUE)
+    @ResultType(String.class)
+    void scanRetainedContentObjects(@Param("since") Timestamp since, ResultHandler<String> handler);
+}
@@ -0,0 +1,79 @@
+package com.bamdow.monitor;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * 虚拟线程固定（pinning）诊断
+ * 通过JFR事件 jdk.VirtualThreadPinned 监听虚拟线程在synchronized块或本地方法中阻塞而占住载体线程的情况，
+ * 超过阈值时输出调用栈，用于定位驱动、SDK或本地模型封装中的固定点
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "bamdow.virtual-threads.pinning-monitor.enabled", havingValue = "true")
+public class VirtualThreadPinningMonitor {
+
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+
+    // 日志中输出的调用栈深度
+    private static final int MAX_FRAMES = 12;
+
+    @Value("${bamdow.virtual-threads.pinning-monitor.threshold:20ms}")
+    private Duration threshold;
+
+    private final AtomicLong pinnedCount = new AtomicLong();
+
+    private RecordingStream stream;
+
+    @PostConstruct
+    public void start() {
+        stream = new RecordingStream();
+        stream.enable(PINNED_EVENT).withThreshold(threshold).withStackTrace();
+        stream.onEvent(PINNED_EVENT, this::onPinned);
+        stream.startAsync();
+        log.info("虚拟线程固定诊断已开启，阈值:{}", threshold);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (stream != null) {
+            stream.close();
+        }
+    }
+
+    public long getPinnedCount() {
+        return pinnedCount.get();
+    }
+
+    private void onPinned(RecordedEvent event) {
+        long count = pinnedCount.incrementAndGet();
+        String thread = event.getThread() == null ? "unknown" : event.getThread().getJavaName();
+        log.warn("虚拟线程被固定{}ms（累计{}次），线程:{}，调用栈:\n{}",
+                event.getDuration().toMillis(), count, thread, format(event.getStackTrace()));
+    }
+
+    private String format(RecordedStackTrace stackTrace) {
+        if (stackTrace == null) {
+            return "\t<无调用栈>";
+        }
+        List<RecordedFrame> frames = stackTrace.getFrames();
+        return frames.stream()
+                .limit(MAX_FRAMES)
+                .map(frame -> "\tat " + frame.getMethod().getType().getName() + "." + frame.getMethod().getName()
+                        + ":" + frame.getLineNumber())
+                .collect(Collectors.joining("\n"));
+    }
+}
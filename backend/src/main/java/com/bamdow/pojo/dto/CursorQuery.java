@@ -0,0 +1,14 @@
+package com.bamdow.pojo.dto;
+
+import lombok.Data;
+
+import java.sql.Timestamp;
+
+@Data
+public class CursorQuery {
+    private String category;
+    // 上一页最后一条记录的创建时间和id，为空表示第一页
+    private Timestamp createdAt;
+    private String lastId;
+    private Integer limit;
+}
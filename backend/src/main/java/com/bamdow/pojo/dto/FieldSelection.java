@@ -0,0 +1,96 @@
+package com.bamdow.pojo.dto;
+
+import com.bamdow.constant.MessageConstant;
+import com.bamdow.except.BaseException;
+
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * 稀疏字段选择，由请求的 fields / include 参数解析得到
+ * fields 指定需要返回的字段，include 在其基础上追加字段（如 readme、introduction 等大字段）；
+ * 两者均未传时返回全部字段。id 总是返回，cover 表示只返回首张图片
+ */
+public class FieldSelection {
+
+    public static final FieldSelection ALL = new FieldSelection(null);
+
+    // 作品列表支持的字段
+    public static final Set<String> LIST_FIELDS = Set.of(
+            "id", "title", "description", "category", "tags", "images", "cover", "bilingualTitle");
+
+    // 作品详情支持的字段
+    public static final Set<String> DETAIL_FIELDS = Set.of(
+            "id", "title", "description", "category", "tags", "images", "cover", "bilingualTitle",
+            "createdAt", "updatedAt", "thoughts", "additionalInfo", "githubUrl", "readme",
+            "externalLink", "introduction");
+
+    // null表示全部字段
+    private final Set<String> fields;
+
+    private FieldSelection(Set<String> fields) {
+        this.fields = fields;
+    }
+
+    /**
+     * 解析字段参数，出现不支持的字段时抛出业务异常
+     * @param fields 逗号分隔的字段列表
+     * @param include 逗号分隔的追加字段列表
+     * @param allowed 允许的字段
+     * @return
+     */
+    public static FieldSelection parse(String fields, String include, Set<String> allowed) {
+        if (isBlank(fields) && isBlank(include)) {
+            return ALL;
+        }
+        Set<String> selected = new TreeSet<>();
+        selected.add("id");
+        for (String param : new String[]{fields, include}) {
+            if (isBlank(param)) {
+                continue;
+            }
+            for (String field : param.split(",")) {
+                field = field.trim();
+                if (field.isEmpty()) {
+                    continue;
+                }
+                if (!allowed.contains(field)) {
+                    throw new BaseException(MessageConstant.INVALID_FIELD + field);
+                }
+                selected.add(field);
+            }
+        }
+        return new FieldSelection(selected);
+    }
+
+    public boolean isAll() {
+        return fields == null;
+    }
+
+    public boolean has(String field) {
+        return fields == null || fields.contains(field);
+    }
+
+    /**
+     * 是否需要查询图片
+     */
+    public boolean needsImages() {
+        return has("images") || has("cover");
+    }
+
+    /**
+     * 是否只需要首张图片
+     */
+    public boolean coverOnly() {
+        return !has("images") && has("cover");
+    }
+
+    @Override
+    public String toString() {
+        return fields == null ? "*" : String.join(",", fields);
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+}
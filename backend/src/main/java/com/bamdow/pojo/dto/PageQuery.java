@@ -2,9 +2,36 @@ package com.bamdow.pojo.dto;
 
 import lombok.Data;
 
+import java.util.ArrayList;
+import java.util.List;
+
 @Data
 public class PageQuery {
     private Integer page = 1;
     private Integer size = 16;
     private String category = "All";
+    // 游标分页模式下的游标，传空字符串表示第一页
+    private String cursor;
+    // 标签筛选：tag为单个标签，tags为多个标签（逗号分隔），两者合并使用
+    private String tag;
+    private List<String> tags;
+    // 多标签匹配方式：and表示包含全部标签，or表示包含任一标签
+    private String tagMode = "and";
+    // 稀疏字段：fields为需要返回的字段，include为追加字段，均为逗号分隔，见FieldSelection
+    private String fields;
+    private String include;
+
+    /**
+     * 合并后的筛选标签，没有标签筛选时为空列表
+     */
+    public List<String> tagFilter() {
+        List<String> filter = new ArrayList<>();
+        if (tag != null && !tag.isEmpty()) {
+            filter.add(tag);
+        }
+        if (tags != null) {
+            filter.addAll(tags);
+        }
+        return filter;
+    }
 }
\ No newline at end of file
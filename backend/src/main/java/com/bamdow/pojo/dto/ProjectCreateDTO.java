@@ -1,15 +1,23 @@
 package com.bamdow.pojo.dto;
 
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
 import lombok.Data;
 
 import java.util.List;
 
 @Data
 public class ProjectCreateDTO {
+    @NotBlank(message = "标题不能为空")
+    @Size(max = 255, message = "标题不能超过255个字符")
     private String title;
+    @NotBlank(message = "描述不能为空")
     private String description;
     private String image; // 兼容单张图片URL
-    private List<String> images; // 支持多张图片URL列表
+    private List<@NotBlank(message = "图片URL不能为空") @Size(max = 500, message = "图片URL不能超过500个字符") String> images; // 支持多张图片URL列表
+    @NotBlank(message = "分类不能为空")
+    @Pattern(regexp = "Photography|Development|Other", message = "分类只能是Photography、Development或Other")
     private String category;
     private List<String> tags;
 
@@ -18,10 +26,12 @@ public class ProjectCreateDTO {
     private String additionalInfo;
 
     // 开发项目特有字段
+    @Size(max = 500, message = "GitHub链接不能超过500个字符")
     private String githubUrl;
     private String readme;
     
     // 其他项目特有字段
+    @Size(max = 500, message = "外部链接不能超过500个字符")
     private String externalLink;
     private String introduction;
 }
\ No newline at end of file
@@ -0,0 +1,21 @@
+package com.bamdow.pojo.entity;
+
+import lombok.Data;
+
+import java.sql.Timestamp;
+
+@Data
+public class ObjectHash {
+    // 存储：minio / oss
+    private String store;
+    // 内容SHA-256（十六进制）
+    private String hash;
+    private String objectName;
+    private Long size;
+    private String contentType;
+    // 引用该对象的图片记录数
+    private Integer refCount;
+    private Timestamp createdAt;
+    // 最近一次上传命中或新建的时间
+    private Timestamp lastUsedAt;
+}
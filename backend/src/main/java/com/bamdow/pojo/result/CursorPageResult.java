@@ -0,0 +1,16 @@
+package com.bamdow.pojo.result;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class CursorPageResult<T> {
+    private List<T> items;
+    // 下一页游标，为null表示没有更多数据
+    private String nextCursor;
+}
@@ -0,0 +1,16 @@
+package com.bamdow.pojo.vo;
+
+import lombok.Data;
+
+@Data
+public class CacheStatsVO {
+    private String name;
+    private long size;
+    private long hitCount;
+    private long missCount;
+    private double hitRate;
+    // 容量或过期导致的淘汰次数
+    private long evictionCount;
+    // 写操作导致的主动失效次数
+    private long invalidationCount;
+}
@@ -0,0 +1,13 @@
+package com.bamdow.pojo.vo;
+
+import lombok.Data;
+
+import java.sql.Timestamp;
+
+@Data
+public class ContentVersionVO {
+    // 记录总数，删除时会变化
+    private long total;
+    // 最近一次更新时间，新增和修改时会变化
+    private Timestamp lastModified;
+}
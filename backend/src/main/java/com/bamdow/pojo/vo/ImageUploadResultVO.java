@@ -0,0 +1,17 @@
+package com.bamdow.pojo.vo;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ImageUploadResultVO {
+    // 原始文件名
+    private String fileName;
+    // 上传成功时的访问URL
+    private String url;
+    // 上传失败时的原因，成功时为null
+    private String error;
+}
@@ -0,0 +1,17 @@
+package com.bamdow.pojo.vo;
+
+import lombok.Data;
+
+import java.sql.Timestamp;
+import java.util.List;
+
+@Data
+public class MarkdownExportVO {
+    private String id;
+    private String fileName;
+    private String ossUrl;
+    private Timestamp createdAt;
+    private Timestamp updatedAt;
+    // 文档中引用的图片URL
+    private List<String> images;
+}
@@ -0,0 +1,17 @@
+package com.bamdow.pojo.vo;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ProjectBatchVO {
+    // 按请求顺序排列的作品详情
+    private List<ProjectDetailVO> items;
+    // 不存在的作品id
+    private List<String> missing;
+}
@@ -0,0 +1,33 @@
+package com.bamdow.pojo.vo;
+
+import com.bamdow.pojo.entity.ProjectImage;
+import lombok.Data;
+
+import java.sql.Timestamp;
+import java.util.List;
+
+@Data
+public class ProjectDetailQueryVO {
+    private String id;
+    private String title;
+    private String description;
+    private String category;
+    private String tags; // 数据库原始字符串（逗号分隔）
+    private Timestamp createdAt;
+    private Timestamp updatedAt;
+
+    // 图片列表（按sort_order排序）
+    private List<ProjectImage> images;
+
+    // 摄影项目特有字段
+    private String thoughts;
+    private String additionalInfo;
+
+    // 开发项目特有字段
+    private String githubUrl;
+    private String readme;
+
+    // 其他项目特有字段
+    private String externalLink;
+    private String introduction;
+}
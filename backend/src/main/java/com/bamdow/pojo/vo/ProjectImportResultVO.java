@@ -0,0 +1,31 @@
+package com.bamdow.pojo.vo;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+public class ProjectImportResultVO {
+    // 读取到的非空行数
+    private long total;
+    private long imported;
+    private long failed;
+    private long elapsedMs;
+    // 每秒导入的作品数
+    private double recordsPerSecond;
+    // 出错的行，超过上限后只计入failed不再记录
+    private List<LineError> errors = new ArrayList<>();
+    private boolean errorsTruncated;
+
+    @Data
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class LineError {
+        // 行号，从1开始
+        private long line;
+        private String message;
+    }
+}
@@ -2,6 +2,8 @@ package com.bamdow.pojo.vo;
 
 import lombok.Data;
 
+import java.sql.Timestamp;
+
 @Data
 public class ProjectQueryVO {
     private String id;
@@ -9,4 +11,5 @@ public class ProjectQueryVO {
     private String description;
     private String category;
     private String tags; // 数据库原始字符串（逗号分隔）
+    private Timestamp createdAt;
 }
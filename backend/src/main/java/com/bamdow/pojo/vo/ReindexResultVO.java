@@ -0,0 +1,13 @@
+package com.bamdow.pojo.vo;
+
+import lombok.Data;
+
+@Data
+public class ReindexResultVO {
+    private int total;
+    private int indexed;
+    private int failed;
+    // 数据库中已不存在而从索引移除，或重建期间被删除而未写入的文档数
+    private int removed;
+    private long elapsedMs;
+}
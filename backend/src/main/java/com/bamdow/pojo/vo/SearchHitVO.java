@@ -0,0 +1,13 @@
+package com.bamdow.pojo.vo;
+
+import lombok.Data;
+
+@Data
+public class SearchHitVO {
+    private String id;
+    private String title;
+    private String category;
+    private double score;
+    // 带 <em> 高亮的摘要
+    private String snippet;
+}
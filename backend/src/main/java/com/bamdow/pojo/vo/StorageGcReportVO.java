@@ -0,0 +1,36 @@
+package com.bamdow.pojo.vo;
+
+import lombok.Data;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+public class StorageGcReportVO {
+    private boolean dryRun;
+    private Timestamp startedAt;
+    private long elapsedMs;
+    // 本轮从数据库收集到的被引用对象数
+    private int referencedCount;
+    private List<StoreReport> stores = new ArrayList<>();
+    // 应用启动以来累计回收的字节数
+    private long totalReclaimedBytes;
+
+    @Data
+    public static class StoreReport {
+        private String store;
+        private long scanned;
+        private long orphaned;
+        // 未被引用但仍在保护期内而跳过的对象
+        private long skippedRecent;
+        private long deleted;
+        private long failed;
+        // 已删除（dry-run时为可删除）对象的总字节数
+        private long reclaimedBytes;
+        // 是否已列到存储桶末尾，否则下一轮从检查点继续
+        private boolean completed;
+        private String checkpoint;
+        private String error;
+    }
+}
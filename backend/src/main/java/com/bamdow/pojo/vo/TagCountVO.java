@@ -0,0 +1,13 @@
+package com.bamdow.pojo.vo;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class TagCountVO {
+    private String tag;
+    private int count;
+}
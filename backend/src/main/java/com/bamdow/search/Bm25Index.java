@@ -0,0 +1,181 @@
+package com.bamdow.search;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 内存倒排索引，BM25排序
+ * 支持按文档id增量新增、替换和删除，标题词频按权重放大
+ */
+public class Bm25Index {
+
+    private static final double K1 = 1.2;
+
+    private static final double B = 0.75;
+
+    // 标题词频权重
+    private static final int TITLE_WEIGHT = 3;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // 词 -> (文档id -> 词频)
+    private final Map<String, Map<String, Integer>> postings = new HashMap<>();
+
+    // 文档id -> 文档
+    private final Map<String, Document> documents = new HashMap<>();
+
+    private long totalLength;
+
+    /**
+     * 索引文档：标题及需要随结果返回的存储字段，正文只参与分词不保留
+     */
+    @Getter
+    @AllArgsConstructor
+    public static class Document {
+        private final String id;
+        private final String title;
+        private final Map<String, String> stored;
+        // 词 -> 词频，删除文档时使用
+        private final Map<String, Integer> termFrequencies;
+        private final int length;
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class Hit {
+        private final Document document;
+        private final double score;
+    }
+
+    /**
+     * 新增或替换文档
+     */
+    public void put(String id, String title, String body, Map<String, String> stored) {
+        Map<String, Integer> termFrequencies = new HashMap<>();
+        int length = 0;
+        for (String token : SearchTokenizer.indexTokens(title)) {
+            termFrequencies.merge(token, TITLE_WEIGHT, Integer::sum);
+            length += TITLE_WEIGHT;
+        }
+        for (String token : SearchTokenizer.indexTokens(body)) {
+            termFrequencies.merge(token, 1, Integer::sum);
+            length++;
+        }
+        Document document = new Document(id, title, stored, termFrequencies, length);
+
+        lock.writeLock().lock();
+        try {
+            removeInternal(id);
+            documents.put(id, document);
+            totalLength += length;
+            termFrequencies.forEach((term, tf) -> postings.computeIfAbsent(term, key -> new HashMap<>()).put(id, tf));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(String id) {
+        lock.writeLock().lock();
+        try {
+            removeInternal(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            documents.clear();
+            totalLength = 0;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 当前已索引的文档id快照
+     */
+    public Set<String> ids() {
+        lock.readLock().lock();
+        try {
+            return new HashSet<>(documents.keySet());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * BM25检索，返回得分最高的limit个文档
+     */
+    public List<Hit> search(String query, int limit) {
+        Set<String> terms = new LinkedHashSet<>(SearchTokenizer.queryTokens(query));
+        List<Hit> hits = new ArrayList<>();
+        if (terms.isEmpty()) {
+            return hits;
+        }
+        lock.readLock().lock();
+        try {
+            int documentCount = documents.size();
+            if (documentCount == 0) {
+                return hits;
+            }
+            double averageLength = (double) totalLength / documentCount;
+            Map<String, Double> scores = new HashMap<>();
+            for (String term : terms) {
+                Map<String, Integer> posting = postings.get(term);
+                if (posting == null) {
+                    continue;
+                }
+                double idf = Math.log(1 + (documentCount - posting.size() + 0.5) / (posting.size() + 0.5));
+                posting.forEach((id, tf) -> {
+                    int length = documents.get(id).getLength();
+                    double norm = tf + K1 * (1 - B + B * length / averageLength);
+                    scores.merge(id, idf * tf * (K1 + 1) / norm, Double::sum);
+                });
+            }
+            scores.forEach((id, score) -> hits.add(new Hit(documents.get(id), score)));
+        } finally {
+            lock.readLock().unlock();
+        }
+        hits.sort((a, b) -> Double.compare(b.getScore(), a.getScore()));
+        return hits.size() > limit ? new ArrayList<>(hits.subList(0, limit)) : hits;
+    }
+
+    private void removeInternal(String id) {
+        Document old = documents.remove(id);
+        if (old == null) {
+            return;
+        }
+        totalLength -= old.getLength();
+        for (String term : old.getTermFrequencies().keySet()) {
+            Map<String, Integer> posting = postings.get(term);
+            if (posting != null) {
+                posting.remove(id);
+                if (posting.isEmpty()) {
+                    postings.remove(term);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,206 @@
+package com.bamdow.search;
+
+import com.bamdow.mapper.MarkdownMapper;
+import com.bamdow.pojo.entity.MarkdownFile;
+import com.bamdow.pojo.vo.ReindexResultVO;
+import com.bamdow.pojo.vo.SearchHitVO;
+import com.bamdow.utils.AliyunOssUtil;
+import com.bamdow.utils.MinioUtil;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * Markdown文档全文检索索引
+ * 正文只存在于对象存储中，上传时由MarkdownProcessor写入索引，删除时移除；
+ * 重建索引时按并发上限从MinIO/OSS逐个拉取已有文档
+ */
+@Slf4j
+@Component
+public class MarkdownSearchIndex {
+
+    private static final int MAX_SIZE = 50;
+
+    @Value("${bamdow.search.markdown.reindex-parallelism:4}")
+    private int reindexParallelism;
+
+    @Value("${bamdow.search.markdown.reindex-on-startup:true}")
+    private boolean reindexOnStartup;
+
+    // 与请求线程保持一致，开启虚拟线程时下载任务也使用虚拟线程
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    @Autowired
+    private MarkdownMapper markdownMapper;
+
+    @Autowired
+    private MinioUtil minioUtil;
+
+    @Autowired
+    private AliyunOssUtil aliyunOssUtil;
+
+    @Autowired
+    @Qualifier("applicationTaskExecutor")
+    private TaskExecutor taskExecutor;
+
+    private final Bm25Index index = new Bm25Index();
+
+    // 重建期间被删除的文档id；重建线程写入前检查，避免把刚删除的文档重新写回索引
+    private final Set<String> removedDuringReindex = new HashSet<>();
+
+    // 正在进行的重建数，为0时不记录删除
+    private int activeReindexes;
+
+    /**
+     * 启动完成后在后台重建索引
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        if (reindexOnStartup) {
+            taskExecutor.execute(this::reindex);
+        }
+    }
+
+    /**
+     * 写入或替换一篇文档
+     */
+    public void put(String id, String fileName, String content) {
+        index.put(id, fileName, content, Map.of("content", content == null ? "" : content));
+    }
+
+    public void remove(String id) {
+        synchronized (removedDuringReindex) {
+            index.remove(id);
+            if (activeReindexes > 0) {
+                removedDuringReindex.add(id);
+            }
+        }
+    }
+
+    public List<SearchHitVO> search(String query, int size) {
+        int limit = Math.min(Math.max(size, 1), MAX_SIZE);
+        return index.search(query, limit).stream().map(hit -> {
+            Bm25Index.Document document = hit.getDocument();
+            SearchHitVO vo = new SearchHitVO();
+            vo.setId(document.getId());
+            vo.setTitle(document.getTitle());
+            vo.setScore(hit.getScore());
+            vo.setSnippet(SearchHighlighter.snippet(document.getStored().get("content"), query));
+            return vo;
+        }).collect(Collectors.toList());
+    }
+
+    /**
+     * 从对象存储拉取全部已有文档重建索引，并发数受 reindex-parallelism 限制
+     */
+    public ReindexResultVO reindex() {
+        long start = System.currentTimeMillis();
+        // 先登记再查库：查库之后提交的删除都会被记录，下载完成后不会再写回
+        synchronized (removedDuringReindex) {
+            activeReindexes++;
+        }
+        try {
+            return doReindex(start);
+        } finally {
+            synchronized (removedDuringReindex) {
+                if (--activeReindexes == 0) {
+                    removedDuringReindex.clear();
+                }
+            }
+        }
+    }
+
+    private ReindexResultVO doReindex(long start) {
+        // 先取索引快照再查库，重建期间新上传的文档不在快照中，不会被误删
+        Set<String> stale = index.ids();
+        List<MarkdownFile> files = markdownMapper.listAll();
+        AtomicInteger skipped = new AtomicInteger();
+        AtomicInteger indexed = new AtomicInteger();
+        AtomicInteger failed = new AtomicInteger();
+
+        // 每个文档一个线程，由信号量限制同时下载的数量；close()会等待全部任务结束
+        ThreadFactory threadFactory = virtualThreads
+                ? Thread.ofVirtual().name("md-reindex-", 0).factory()
+                : Thread.ofPlatform().name("md-reindex-", 0).factory();
+        Semaphore permits = new Semaphore(Math.max(reindexParallelism, 1));
+        try (ExecutorService pool = Executors.newThreadPerTaskExecutor(threadFactory)) {
+            for (MarkdownFile file : files) {
+                permits.acquire();
+                pool.submit(() -> {
+                    try (InputStream in = openObject(file.getOssUrl())) {
+                        String content = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+                        if (putIfNotRemoved(file.getId(), file.getFileName(), content)) {
+                            indexed.incrementAndGet();
+                        } else {
+                            skipped.incrementAndGet();
+                        }
+                    } catch (Exception e) {
+                        failed.incrementAndGet();
+                        log.warn("md文件索引失败，id:{}，url:{}", file.getId(), file.getOssUrl(), e);
+                    } finally {
+                        permits.release();
+                    }
+                });
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        // 移除数据库中已不存在的文档
+        files.forEach(file -> stale.remove(file.getId()));
+        stale.forEach(index::remove);
+
+        ReindexResultVO result = new ReindexResultVO();
+        result.setTotal(files.size());
+        result.setRemoved(stale.size() + skipped.get());
+        result.setIndexed(indexed.get());
+        result.setFailed(failed.get());
+        result.setElapsedMs(System.currentTimeMillis() - start);
+        log.info("md文件索引重建完成:{}", result);
+        return result;
+    }
+
+    /**
+     * 重建时写入文档，下载期间该文档已被删除则跳过
+     * @return 是否写入
+     */
+    private boolean putIfNotRemoved(String id, String fileName, String content) {
+        synchronized (removedDuringReindex) {
+            if (removedDuringReindex.contains(id)) {
+                return false;
+            }
+            put(id, fileName, content);
+            return true;
+        }
+    }
+
+    private InputStream openObject(String url) throws Exception {
+        String objectName = minioUtil.getObjectName(url);
+        if (objectName != null) {
+            return minioUtil.getObject(objectName);
+        }
+        objectName = aliyunOssUtil.getObjectName(url);
+        if (objectName != null) {
+            return aliyunOssUtil.getObject(objectName);
+        }
+        throw new IllegalArgumentException("无法识别的存储地址: " + url);
+    }
+}
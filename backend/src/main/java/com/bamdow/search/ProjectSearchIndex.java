@@ -0,0 +1,92 @@
+package com.bamdow.search;
+
+import com.bamdow.event.ProjectChangedEvent;
+import com.bamdow.mapper.ProjectMapper;
+import com.bamdow.pojo.vo.ProjectDetailQueryVO;
+import com.bamdow.pojo.vo.SearchHitVO;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * 作品全文检索索引
+ * 标题、描述、标签及各分类子表的文本字段（thoughts、readme、introduction等）进入索引，
+ * 启动时全量构建，写操作提交后按id增量更新，检索不访问数据库
+ */
+@Slf4j
+@Component
+public class ProjectSearchIndex {
+
+    private static final int MAX_SIZE = 50;
+
+    @Autowired
+    private ProjectMapper projectMapper;
+
+    private final Bm25Index index = new Bm25Index();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        try {
+            List<ProjectDetailQueryVO> documents = projectMapper.listSearchDocuments(null);
+            index.clear();
+            documents.forEach(this::put);
+            log.info("作品检索索引构建完成，文档数:{}", index.size());
+        } catch (Exception e) {
+            log.error("作品检索索引构建失败", e);
+        }
+    }
+
+    /**
+     * 作品变化提交后增量更新：仍存在的作品重新索引，已删除的移除
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProjectChanged(ProjectChangedEvent event) {
+        List<String> ids = new ArrayList<>(event.getIds());
+        if (ids.isEmpty()) {
+            return;
+        }
+        Map<String, ProjectDetailQueryVO> documents = projectMapper.listSearchDocuments(ids).stream()
+                .collect(Collectors.toMap(ProjectDetailQueryVO::getId, document -> document));
+        for (String id : ids) {
+            ProjectDetailQueryVO document = documents.get(id);
+            if (document == null) {
+                index.remove(id);
+            } else {
+                put(document);
+            }
+        }
+    }
+
+    public List<SearchHitVO> search(String query, int size) {
+        int limit = Math.min(Math.max(size, 1), MAX_SIZE);
+        return index.search(query, limit).stream().map(hit -> {
+            Bm25Index.Document document = hit.getDocument();
+            SearchHitVO vo = new SearchHitVO();
+            vo.setId(document.getId());
+            vo.setTitle(document.getTitle());
+            vo.setCategory(document.getStored().get("category"));
+            vo.setScore(hit.getScore());
+            vo.setSnippet(SearchHighlighter.snippet(document.getStored().get("description"), query));
+            return vo;
+        }).collect(Collectors.toList());
+    }
+
+    private void put(ProjectDetailQueryVO document) {
+        String body = Stream.of(document.getDescription(), document.getTags(), document.getThoughts(),
+                        document.getAdditionalInfo(), document.getReadme(), document.getIntroduction())
+                .filter(text -> text != null && !text.isEmpty())
+                .collect(Collectors.joining("\n"));
+        String category = document.getCategory() == null ? "" : document.getCategory();
+        String description = document.getDescription() == null ? "" : document.getDescription();
+        index.put(document.getId(), document.getTitle(), body, Map.of("category", category, "description", description));
+    }
+}
@@ -0,0 +1,74 @@
+package com.bamdow.search;
+
+import org.springframework.web.util.HtmlUtils;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * 生成带高亮的摘要：截取首个命中词附近的文本，HTML转义后用 &lt;em&gt; 包裹命中词
+ */
+public class SearchHighlighter {
+
+    private static final int RADIUS = 60;
+
+    public static String snippet(String text, String query) {
+        if (text == null || text.isEmpty()) {
+            return "";
+        }
+        Set<String> terms = new LinkedHashSet<>(SearchTokenizer.queryTokens(query));
+
+        // 定位第一个命中词；直接在原文上忽略大小写匹配，转小写可能改变长度，不能用小写副本的位置
+        int first = -1;
+        for (String term : terms) {
+            int index = indexOfIgnoreCase(text, term, 0);
+            if (index >= 0 && (first < 0 || index < first)) {
+                first = index;
+            }
+        }
+        int start = first < 0 ? 0 : Math.max(0, first - RADIUS);
+        int end = Math.min(text.length(), (first < 0 ? 0 : first) + RADIUS * 2);
+        String fragment = text.substring(start, end);
+
+        // 按原文位置标记命中区间，再逐段转义输出
+        boolean[] marked = new boolean[fragment.length()];
+        for (String term : terms) {
+            for (int index = indexOfIgnoreCase(fragment, term, 0); index >= 0;
+                 index = indexOfIgnoreCase(fragment, term, index + 1)) {
+                for (int j = index; j < index + term.length(); j++) {
+                    marked[j] = true;
+                }
+            }
+        }
+        StringBuilder builder = new StringBuilder();
+        if (start > 0) {
+            builder.append("...");
+        }
+        int i = 0;
+        while (i < fragment.length()) {
+            int j = i;
+            while (j < fragment.length() && marked[j] == marked[i]) {
+                j++;
+            }
+            String part = HtmlUtils.htmlEscape(fragment.substring(i, j));
+            builder.append(marked[i] ? "<em>" + part + "</em>" : part);
+            i = j;
+        }
+        if (end < text.length()) {
+            builder.append("...");
+        }
+        return builder.toString();
+    }
+
+    private static int indexOfIgnoreCase(String text, String term, int from) {
+        if (term.isEmpty()) {
+            return -1;
+        }
+        for (int i = from; i + term.length() <= text.length(); i++) {
+            if (text.regionMatches(true, i, term, 0, term.length())) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
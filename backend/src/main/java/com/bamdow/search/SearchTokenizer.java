@@ -0,0 +1,75 @@
+package com.bamdow.search;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * 中英文混合分词
+ * 英文和数字按连续字母数字切分并转小写；中文按连续汉字切分后，
+ * 索引时同时生成单字和二元组，查询时只用二元组（单字查询除外），兼顾召回和精度
+ */
+public class SearchTokenizer {
+
+    /**
+     * 索引用分词
+     */
+    public static List<String> indexTokens(String text) {
+        return tokenize(text, true);
+    }
+
+    /**
+     * 查询用分词
+     */
+    public static List<String> queryTokens(String text) {
+        return tokenize(text, false);
+    }
+
+    private static List<String> tokenize(String text, boolean forIndex) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null || text.isEmpty()) {
+            return tokens;
+        }
+        int length = text.length();
+        int i = 0;
+        while (i < length) {
+            char c = text.charAt(i);
+            if (isCjk(c)) {
+                int start = i;
+                while (i < length && isCjk(text.charAt(i))) {
+                    i++;
+                }
+                addCjkTokens(text.substring(start, i), tokens, forIndex);
+            } else if (Character.isLetterOrDigit(c)) {
+                int start = i;
+                while (i < length && Character.isLetterOrDigit(text.charAt(i)) && !isCjk(text.charAt(i))) {
+                    i++;
+                }
+                tokens.add(text.substring(start, i).toLowerCase(Locale.ROOT));
+            } else {
+                i++;
+            }
+        }
+        return tokens;
+    }
+
+    private static void addCjkTokens(String run, List<String> tokens, boolean forIndex) {
+        if (run.length() == 1) {
+            tokens.add(run);
+            return;
+        }
+        for (int j = 0; j < run.length(); j++) {
+            if (forIndex) {
+                tokens.add(String.valueOf(run.charAt(j)));
+            }
+            if (j + 1 < run.length()) {
+                tokens.add(run.substring(j, j + 2));
+            }
+        }
+    }
+
+    private static boolean isCjk(char c) {
+        Character.UnicodeScript script = Character.UnicodeScript.of(c);
+        return script == Character.UnicodeScript.HAN;
+    }
+}
@@ -0,0 +1,265 @@
+package com.bamdow.search;
+
+import com.bamdow.event.ProjectChangedEvent;
+import com.bamdow.mapper.ProjectMapper;
+import com.bamdow.pojo.vo.ProjectQueryVO;
+import com.bamdow.pojo.vo.TagCountVO;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
+
+/**
+ * 作品标签倒排索引
+ * 每个作品按 created_at 顺序分配一个序号，标签和分类各对应一个序号位图，
+ * 标签筛选和标签统计都在内存中完成，不再对 projects.tags 做 LIKE 扫描
+ */
+@Slf4j
+@Component
+public class TagIndex {
+
+    private static final String ALL_CATEGORY = "All";
+
+    @Autowired
+    private ProjectMapper projectMapper;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // 作品id -> 序号，序号递增，与 created_at 升序一致
+    private final Map<String, Integer> ordinals = new HashMap<>();
+
+    // 序号 -> 作品id，已删除的位置为null
+    private final List<String> ids = new ArrayList<>();
+
+    // 序号 -> 作品当前标签，用于更新时移除旧标签
+    private final List<Set<String>> tagsByOrdinal = new ArrayList<>();
+
+    private final BitSet alive = new BitSet();
+
+    private final Map<String, BitSet> tagBitmaps = new HashMap<>();
+
+    private final Map<String, BitSet> categoryBitmaps = new HashMap<>();
+
+    /**
+     * 筛选结果：匹配总数及当前页作品id（按 created_at 升序）
+     */
+    @Getter
+    @AllArgsConstructor
+    public static class TagMatch {
+        private final long total;
+        private final List<String> ids;
+    }
+
+    /**
+     * 启动时从数据库全量构建
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        try {
+            List<ProjectQueryVO> rows = projectMapper.listForIndex();
+            lock.writeLock().lock();
+            try {
+                ordinals.clear();
+                ids.clear();
+                tagsByOrdinal.clear();
+                alive.clear();
+                tagBitmaps.clear();
+                categoryBitmaps.clear();
+                rows.forEach(this::upsert);
+            } finally {
+                lock.writeLock().unlock();
+            }
+            log.info("标签索引构建完成，作品数:{}，标签数:{}", rows.size(), tagBitmaps.size());
+        } catch (Exception e) {
+            log.error("标签索引构建失败", e);
+        }
+    }
+
+    /**
+     * 作品变化提交后增量更新：仍存在的作品重新索引，已删除的移除
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProjectChanged(ProjectChangedEvent event) {
+        List<String> changedIds = new ArrayList<>(event.getIds());
+        if (changedIds.isEmpty()) {
+            return;
+        }
+        Map<String, ProjectQueryVO> rows = projectMapper.getByIds(changedIds).stream()
+                .collect(Collectors.toMap(ProjectQueryVO::getId, row -> row));
+        lock.writeLock().lock();
+        try {
+            for (String id : changedIds) {
+                ProjectQueryVO row = rows.get(id);
+                if (row == null) {
+                    remove(id);
+                } else {
+                    upsert(row);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 按分类和标签筛选并分页
+     * @param category 分类，null或All表示全部
+     * @param tags 标签列表
+     * @param matchAll true表示需包含全部标签（AND），false表示包含任一标签（OR）
+     * @param page 页码，从1开始
+     * @param size 每页大小
+     * @return
+     */
+    public TagMatch search(String category, List<String> tags, boolean matchAll, int page, int size) {
+        lock.readLock().lock();
+        try {
+            BitSet matched = match(category, tags, matchAll);
+            List<String> pageIds = new ArrayList<>(size);
+            int skip = (Math.max(page, 1) - 1) * size;
+            for (int i = matched.nextSetBit(0); i >= 0 && pageIds.size() < size; i = matched.nextSetBit(i + 1)) {
+                if (skip > 0) {
+                    skip--;
+                    continue;
+                }
+                pageIds.add(ids.get(i));
+            }
+            return new TagMatch(matched.cardinality(), pageIds);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 统计分类下每个标签的作品数，按数量降序
+     * @param category 分类，null或All表示全部
+     * @return
+     */
+    public List<TagCountVO> facets(String category) {
+        lock.readLock().lock();
+        try {
+            BitSet scope = categoryScope(category);
+            List<TagCountVO> facets = new ArrayList<>();
+            for (Map.Entry<String, BitSet> entry : tagBitmaps.entrySet()) {
+                BitSet bitmap = (BitSet) entry.getValue().clone();
+                bitmap.and(scope);
+                int count = bitmap.cardinality();
+                if (count > 0) {
+                    facets.add(new TagCountVO(entry.getKey(), count));
+                }
+            }
+            facets.sort((a, b) -> Integer.compare(b.getCount(), a.getCount()));
+            return facets;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private BitSet match(String category, List<String> tags, boolean matchAll) {
+        BitSet result = null;
+        for (String tag : normalize(tags)) {
+            BitSet bitmap = tagBitmaps.getOrDefault(tag, new BitSet());
+            if (result == null) {
+                result = (BitSet) bitmap.clone();
+            } else if (matchAll) {
+                result.and(bitmap);
+            } else {
+                result.or(bitmap);
+            }
+        }
+        if (result == null) {
+            result = (BitSet) alive.clone();
+        }
+        result.and(categoryScope(category));
+        return result;
+    }
+
+    private BitSet categoryScope(String category) {
+        if (category == null || ALL_CATEGORY.equals(category)) {
+            return alive;
+        }
+        return categoryBitmaps.getOrDefault(category, new BitSet());
+    }
+
+    private void upsert(ProjectQueryVO row) {
+        Integer ordinal = ordinals.get(row.getId());
+        if (ordinal == null) {
+            ordinal = ids.size();
+            ordinals.put(row.getId(), ordinal);
+            ids.add(row.getId());
+            tagsByOrdinal.add(Collections.emptySet());
+        } else {
+            clearBits(ordinal);
+        }
+        Set<String> tags = normalize(parseTags(row.getTags()));
+        tagsByOrdinal.set(ordinal, tags);
+        for (String tag : tags) {
+            tagBitmaps.computeIfAbsent(tag, key -> new BitSet()).set(ordinal);
+        }
+        if (row.getCategory() != null) {
+            categoryBitmaps.computeIfAbsent(row.getCategory(), key -> new BitSet()).set(ordinal);
+        }
+        alive.set(ordinal);
+    }
+
+    private void remove(String id) {
+        Integer ordinal = ordinals.remove(id);
+        if (ordinal == null) {
+            return;
+        }
+        clearBits(ordinal);
+        ids.set(ordinal, null);
+        tagsByOrdinal.set(ordinal, Collections.emptySet());
+    }
+
+    private void clearBits(int ordinal) {
+        for (String tag : tagsByOrdinal.get(ordinal)) {
+            BitSet bitmap = tagBitmaps.get(tag);
+            if (bitmap != null) {
+                bitmap.clear(ordinal);
+                if (bitmap.isEmpty()) {
+                    tagBitmaps.remove(tag);
+                }
+            }
+        }
+        categoryBitmaps.values().forEach(bitmap -> bitmap.clear(ordinal));
+        alive.clear(ordinal);
+    }
+
+    private List<String> parseTags(String tags) {
+        if (tags == null || tags.isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<String> list = new ArrayList<>();
+        Collections.addAll(list, tags.split(","));
+        return list;
+    }
+
+    private Set<String> normalize(List<String> tags) {
+        if (tags == null) {
+            return Collections.emptySet();
+        }
+        Set<String> set = new LinkedHashSet<>();
+        for (String tag : tags) {
+            if (tag != null && !tag.trim().isEmpty()) {
+                set.add(tag.trim());
+            }
+        }
+        return set.isEmpty() ? Collections.emptySet() : set;
+    }
+}
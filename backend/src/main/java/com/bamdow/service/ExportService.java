@@ -0,0 +1,12 @@
+package com.bamdow.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+public interface ExportService {
+    //流式导出全部作品（含分类字段和图片），返回导出条数
+    long exportProjects(String format, OutputStream out) throws IOException;
+
+    //流式导出全部md文件元数据，返回导出条数
+    long exportMarkdown(String format, OutputStream out) throws IOException;
+}
@@ -0,0 +1,16 @@
+package com.bamdow.service;
+
+import com.bamdow.pojo.vo.ImageUploadResultVO;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+
+public interface ImageUploadService {
+    //并发上传多张图片，结果与传入顺序一致，单张失败不影响其他图片
+    List<ImageUploadResultVO> uploadAll(MultipartFile[] files);
+
+    //边解析multipart请求体边逐个上传file字段中的图片，不缓存整个文件
+    List<ImageUploadResultVO> uploadStream(InputStream body, String contentType) throws IOException;
+}
@@ -3,8 +3,14 @@ package com.bamdow.service;
 import com.bamdow.pojo.dto.MarkdownFileCreateDTO;
 import com.bamdow.pojo.dto.MarkdownImageCreateDTO;
 import com.bamdow.pojo.dto.PageQuery;
+import com.bamdow.pojo.result.CursorPageResult;
 import com.bamdow.pojo.result.PageResult;
+import com.bamdow.pojo.vo.ContentVersionVO;
+import com.bamdow.pojo.vo.MarkdownFileVO;
+import com.bamdow.pojo.vo.ReindexResultVO;
+import com.bamdow.pojo.vo.SearchHitVO;
 
+import java.sql.Timestamp;
 import java.util.List;
 import java.util.Map;
 
@@ -14,12 +20,27 @@ public interface MarkdownService {
     //md文件分页查询
     PageResult pageQuery(PageQuery pageQuery);
 
+    //md文件游标分页查询
+    CursorPageResult<MarkdownFileVO> cursorQuery(PageQuery pageQuery);
+
     //添加md文件中的图片
     void saveMdImage(MarkdownImageCreateDTO markdownImageCreateDTO, Map<String,String> imagesMap);
 
     //获取到md文件
     String getById(String id);
 
+    //查询md文件最近更新时间，用于条件GET
+    Timestamp getLastModified(String id);
+
+    //查询md文件列表版本，用于条件GET
+    ContentVersionVO getListVersion();
+
+    //md文件全文检索
+    List<SearchHitVO> search(String query, int size);
+
+    //从对象存储重建md文件全文索引
+    ReindexResultVO reindex();
+
     //批量删除md文件
     void deleteBatch(List<String> ids);
 }
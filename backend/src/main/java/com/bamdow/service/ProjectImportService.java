@@ -0,0 +1,11 @@
+package com.bamdow.service;
+
+import com.bamdow.pojo.vo.ProjectImportResultVO;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+public interface ProjectImportService {
+    //从NDJSON流批量导入作品，每行一个ProjectCreateDTO
+    ProjectImportResultVO importProjects(InputStream in) throws IOException;
+}
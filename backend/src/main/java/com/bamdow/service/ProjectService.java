@@ -1,11 +1,19 @@
 package com.bamdow.service;
 
+import com.bamdow.pojo.dto.FieldSelection;
 import com.bamdow.pojo.dto.PageQuery;
 import com.bamdow.pojo.dto.ProjectCreateDTO;
 import com.bamdow.pojo.dto.ProjectUpdateDTO;
+import com.bamdow.pojo.result.CursorPageResult;
 import com.bamdow.pojo.result.PageResult;
+import com.bamdow.pojo.vo.ContentVersionVO;
+import com.bamdow.pojo.vo.ProjectBatchVO;
 import com.bamdow.pojo.vo.ProjectDetailVO;
+import com.bamdow.pojo.vo.ProjectListVO;
+import com.bamdow.pojo.vo.SearchHitVO;
+import com.bamdow.pojo.vo.TagCountVO;
 
+import java.sql.Timestamp;
 import java.util.List;
 
 public interface ProjectService {
@@ -15,11 +23,32 @@ public interface ProjectService {
     //分页查询作品
     PageResult pageQuery(PageQuery pageQuery);
 
+    //全文检索作品
+    List<SearchHitVO> search(String query, int size);
+
+    //统计各标签下的作品数
+    List<TagCountVO> tagFacets(String category);
+
+    //游标分页查询作品
+    CursorPageResult<ProjectListVO> cursorQuery(PageQuery pageQuery);
+
     //根据id查询作品
     ProjectDetailVO getById(String id);
 
-    //修改作品
-    void update(ProjectUpdateDTO projectUpdateDTO);
+    //根据id查询作品，只返回选中的字段
+    ProjectDetailVO getById(String id, FieldSelection selection);
+
+    //按id批量查询作品详情，结果按请求顺序排列
+    ProjectBatchVO getByIds(List<String> ids);
+
+    //查询作品最近更新时间，用于条件GET
+    Timestamp getLastModified(String id);
+
+    //查询分类下作品列表版本，用于条件GET
+    ContentVersionVO getListVersion(String category);
+
+    //修改作品，返回从作品中移除的图片URL
+    List<String> update(ProjectUpdateDTO projectUpdateDTO);
 
     //批量删除作品
     void deleteBatch(List<String> ids);
@@ -0,0 +1,128 @@
+package com.bamdow.service.impl;
+
+import com.bamdow.converter.ProjectConverter;
+import com.bamdow.mapper.MarkdownMapper;
+import com.bamdow.mapper.ProjectMapper;
+import com.bamdow.pojo.dto.FieldSelection;
+import com.bamdow.pojo.vo.MarkdownExportVO;
+import com.bamdow.pojo.vo.ProjectDetailQueryVO;
+import com.bamdow.pojo.vo.ProjectDetailVO;
+import com.bamdow.service.ExportService;
+import com.bamdow.utils.CsvUtil;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.ibatis.cursor.Cursor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 全量导出
+ * 在只读事务内用MyBatis游标逐条读取并立即写出，内存占用与数据量无关；
+ * 事务用于在遍历期间保持同一个SqlSession和连接打开
+ */
+@Slf4j
+@Service
+public class ExportServiceImpl implements ExportService {
+
+    public static final String NDJSON = "ndjson";
+    public static final String CSV = "csv";
+
+    // CSV中多个图片URL之间的分隔符
+    private static final String CSV_IMAGE_SEPARATOR = "|";
+
+    private static final List<String> PROJECT_CSV_HEADER = List.of("id", "title", "description", "category",
+            "tags", "images", "createdAt", "updatedAt", "thoughts", "additionalInfo", "githubUrl", "readme",
+            "externalLink", "introduction");
+
+    private static final List<String> MARKDOWN_CSV_HEADER = List.of("id", "fileName", "ossUrl", "images",
+            "createdAt", "updatedAt");
+
+    @Autowired
+    private ProjectMapper projectMapper;
+
+    @Autowired
+    private MarkdownMapper markdownMapper;
+
+    @Autowired
+    private JsonMapper jsonMapper;
+
+    @Transactional(readOnly = true)
+    @Override
+    public long exportProjects(String format, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        boolean csv = CSV.equals(format);
+        if (csv) {
+            CsvUtil.writeRow(writer, PROJECT_CSV_HEADER);
+        }
+        long count = 0;
+        try (Cursor<ProjectDetailQueryVO> cursor = projectMapper.cursorAllDetails()) {
+            for (ProjectDetailQueryVO detail : cursor) {
+                // 与详情接口同结构，NDJSON行可直接用于批量导入
+                ProjectDetailVO vo = ProjectConverter.toDetailVO(detail, FieldSelection.ALL);
+                vo.setBilingualTitle(null);
+                if (csv) {
+                    CsvUtil.writeRow(writer, Arrays.asList(vo.getId(), vo.getTitle(), vo.getDescription(),
+                            vo.getCategory(), ProjectConverter.joinTags(vo.getTags()), joinImages(vo.getImages()),
+                            format(vo.getCreatedAt()), format(vo.getUpdatedAt()), vo.getThoughts(),
+                            vo.getAdditionalInfo(), vo.getGithubUrl(), vo.getReadme(), vo.getExternalLink(),
+                            vo.getIntroduction()));
+                } else {
+                    writeLine(writer, vo);
+                }
+                count++;
+            }
+        }
+        writer.flush();
+        log.info("导出作品{}条，格式:{}", count, format);
+        return count;
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public long exportMarkdown(String format, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        boolean csv = CSV.equals(format);
+        if (csv) {
+            CsvUtil.writeRow(writer, MARKDOWN_CSV_HEADER);
+        }
+        long count = 0;
+        try (Cursor<MarkdownExportVO> cursor = markdownMapper.cursorAll()) {
+            for (MarkdownExportVO vo : cursor) {
+                if (csv) {
+                    CsvUtil.writeRow(writer, Arrays.asList(vo.getId(), vo.getFileName(), vo.getOssUrl(),
+                            joinImages(vo.getImages()), format(vo.getCreatedAt()), format(vo.getUpdatedAt())));
+                } else {
+                    writeLine(writer, vo);
+                }
+                count++;
+            }
+        }
+        writer.flush();
+        log.info("导出md文件{}条，格式:{}", count, format);
+        return count;
+    }
+
+    private void writeLine(Writer writer, Object value) throws IOException {
+        writer.write(jsonMapper.writeValueAsString(value));
+        writer.write('\n');
+    }
+
+    private String joinImages(List<String> images) {
+        return images == null ? null : String.join(CSV_IMAGE_SEPARATOR, images);
+    }
+
+    private String format(Timestamp timestamp) {
+        return timestamp == null ? null : timestamp.toLocalDateTime().toString();
+    }
+}
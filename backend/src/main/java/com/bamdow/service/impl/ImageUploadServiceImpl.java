@@ -0,0 +1,186 @@
+package com.bamdow.service.impl;
+
+import com.bamdow.constant.MessageConstant;
+import com.bamdow.except.BaseException;
+import com.bamdow.pojo.vo.ImageUploadResultVO;
+import com.bamdow.service.ImageUploadService;
+import com.bamdow.storage.ContentStore;
+import com.bamdow.utils.MultipartStreamParser;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * 多图片并发上传
+ * 每张图片作为一个任务提交到线程数和等待队列都有上限的专用执行器，总耗时接近最慢的一张而不是逐张累加；
+ * 上限对所有请求共享，避免同时打开过多到MinIO的连接。队列已满时直接拒绝整个请求，不阻塞请求线程；
+ * 一次请求内的图片共享同一个截止时间（排队时间也计入），到期未完成的图片取消上传并记为失败
+ */
+@Slf4j
+@Service
+public class ImageUploadServiceImpl implements ImageUploadService {
+
+    // 同时上传的图片数上限
+    @Value("${bamdow.upload.parallelism:4}")
+    private int parallelism;
+
+    // 等待空闲线程的图片数上限，超出时整个请求被拒绝
+    @Value("${bamdow.upload.queue-capacity:200}")
+    private int queueCapacity;
+
+    // 一次请求内全部图片的上传时限
+    @Value("${bamdow.upload.timeout:2m}")
+    private Duration timeout;
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    // 流式上传解析请求体使用的缓冲区大小
+    @Value("${bamdow.upload.stream-buffer-size:64KB}")
+    private DataSize streamBufferSize;
+
+    // 流式上传写入MinIO的分片大小，即单个文件上传时最多缓存在内存中的数据量（不小于5MB）
+    @Value("${bamdow.upload.stream-part-size:5MB}")
+    private DataSize streamPartSize;
+
+    // 流式上传单个文件的大小上限
+    @Value("${bamdow.upload.stream-max-file-size:1GB}")
+    private DataSize streamMaxFileSize;
+
+    // 流式上传一次请求最多处理的part数（含普通表单字段）
+    @Value("${bamdow.upload.stream-max-parts:500}")
+    private int streamMaxParts;
+
+    @Autowired
+    private ContentStore contentStore;
+
+    private ThreadPoolExecutor executor;
+
+    @PostConstruct
+    public void init() {
+        ThreadFactory threadFactory = virtualThreads
+                ? Thread.ofVirtual().name("image-upload-", 1).factory()
+                : new CustomizableThreadFactory("image-upload-");
+        // 线程和队列都满时抛出RejectedExecutionException，而不是让请求线程等待
+        executor = new ThreadPoolExecutor(parallelism, parallelism, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), threadFactory, new ThreadPoolExecutor.AbortPolicy());
+        executor.allowCoreThreadTimeOut(true);
+    }
+
+    @PreDestroy
+    public void destroy() {
+        executor.shutdownNow();
+    }
+
+    @Override
+    public List<ImageUploadResultVO> uploadAll(MultipartFile[] files) {
+        long start = System.currentTimeMillis();
+        long deadline = System.nanoTime() + timeout.toNanos();
+        List<Future<ImageUploadResultVO>> futures = new ArrayList<>(files.length);
+        for (MultipartFile file : files) {
+            // 空文件（前端误传）直接记为失败，保持结果与传入顺序一一对应
+            if (file.isEmpty()) {
+                futures.add(CompletableFuture.completedFuture(
+                        new ImageUploadResultVO(file.getOriginalFilename(), null, "空文件")));
+                continue;
+            }
+            try {
+                futures.add(executor.submit(() -> upload(file)));
+            } catch (RejectedExecutionException e) {
+                futures.forEach(future -> future.cancel(true));
+                throw new BaseException(MessageConstant.UPLOAD_BUSY);
+            }
+        }
+        List<ImageUploadResultVO> results = new ArrayList<>(files.length);
+        for (int i = 0; i < futures.size(); i++) {
+            results.add(await(futures.get(i), files[i].getOriginalFilename(), deadline));
+        }
+        long failed = results.stream().filter(result -> result.getError() != null).count();
+        log.info("多图片上传完成，共{}张，失败{}张，耗时{}ms", results.size(), failed, System.currentTimeMillis() - start);
+        return results;
+    }
+
+    /**
+     * 等待一张图片上传完成，到达截止时间时取消并记为失败
+     */
+    private ImageUploadResultVO await(Future<ImageUploadResultVO> future, String fileName, long deadline) {
+        try {
+            return future.get(Math.max(deadline - System.nanoTime(), 0), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            log.warn("图片上传超时，已取消:{}", fileName);
+            return new ImageUploadResultVO(fileName, null, MessageConstant.UPLOAD_TIMEOUT);
+        } catch (ExecutionException e) {
+            return new ImageUploadResultVO(fileName, null, e.getCause().getMessage());
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            return new ImageUploadResultVO(fileName, null, MessageConstant.UPLOAD_TIMEOUT);
+        }
+    }
+
+    @Override
+    public List<ImageUploadResultVO> uploadStream(InputStream body, String contentType) throws IOException {
+        String boundary = MultipartStreamParser.boundaryOf(contentType);
+        if (boundary == null) {
+            throw new BaseException(MessageConstant.INVALID_MULTIPART);
+        }
+        long start = System.currentTimeMillis();
+        MultipartStreamParser parser = new MultipartStreamParser(body, boundary, (int) streamBufferSize.toBytes());
+        List<ImageUploadResultVO> results = new ArrayList<>();
+        int parts = 0;
+        MultipartStreamParser.Part part;
+        //part在请求体中依次出现，只能顺序处理；未读完的part内容在读取下一个part时被跳过
+        while ((part = parser.next()) != null) {
+            if (++parts > streamMaxParts) {
+                throw new BaseException(MessageConstant.TOO_MANY_PARTS + streamMaxParts);
+            }
+            if (!"file".equals(part.getName()) || !part.isFile()) {
+                continue;
+            }
+            String fileName = part.getFileName();
+            try {
+                String url = contentStore.putMinio(part.getInputStream(), fileName, part.getContentType(),
+                        streamPartSize.toBytes(), streamMaxFileSize.toBytes());
+                results.add(new ImageUploadResultVO(fileName, url, null));
+            } catch (Exception e) {
+                log.error("图片流式上传失败:{}", fileName, e);
+                results.add(new ImageUploadResultVO(fileName, null, e.getMessage()));
+            }
+        }
+        long failed = results.stream().filter(result -> result.getError() != null).count();
+        log.info("图片流式上传完成，共{}张，失败{}张，耗时{}ms", results.size(), failed, System.currentTimeMillis() - start);
+        return results;
+    }
+
+    private ImageUploadResultVO upload(MultipartFile file) {
+        try {
+            //按内容哈希存储到minio，相同图片只保存一份
+            return new ImageUploadResultVO(file.getOriginalFilename(), contentStore.putMinio(file), null);
+        } catch (Exception e) {
+            log.error("图片上传失败:{}", file.getOriginalFilename(), e);
+            return new ImageUploadResultVO(file.getOriginalFilename(), null, e.getMessage());
+        }
+    }
+}
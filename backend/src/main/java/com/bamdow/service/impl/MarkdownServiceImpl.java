@@ -1,24 +1,39 @@
 package com.bamdow.service.impl;
 
 
+import com.bamdow.cache.CountCache;
+import com.bamdow.converter.MarkdownConverter;
 import com.bamdow.mapper.MarkdownImageMapper;
 import com.bamdow.mapper.MarkdownMapper;
 import com.bamdow.mapper.ProjectMapper;
+import com.bamdow.pojo.dto.CursorQuery;
 import com.bamdow.pojo.dto.MarkdownFileCreateDTO;
 import com.bamdow.pojo.dto.MarkdownImageCreateDTO;
 import com.bamdow.pojo.dto.PageQuery;
 import com.bamdow.pojo.entity.MarkdownFile;
 import com.bamdow.pojo.entity.MarkdownImage;
+import com.bamdow.pojo.result.CursorPageResult;
 import com.bamdow.pojo.result.PageResult;
+import com.bamdow.pojo.vo.ContentVersionVO;
 import com.bamdow.pojo.vo.MarkdownFileVO;
+import com.bamdow.pojo.vo.ReindexResultVO;
+import com.bamdow.pojo.vo.SearchHitVO;
+import com.bamdow.search.MarkdownSearchIndex;
 import com.bamdow.service.MarkdownService;
+import com.bamdow.storage.ContentStore;
+import com.bamdow.utils.BatchUtil;
+import com.bamdow.utils.CursorUtil;
+import com.bamdow.utils.TransactionUtil;
 import com.github.pagehelper.Page;
 import com.github.pagehelper.PageHelper;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.BeanUtils;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.sql.Timestamp;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
@@ -36,6 +51,19 @@ public class MarkdownServiceImpl implements MarkdownService {
     @Autowired
     private ProjectMapper projectMapper;
 
+    @Autowired
+    private CountCache countCache;
+
+    // 多行INSERT单条语句包含的最大行数
+    @Value("${bamdow.jdbc.insert-chunk-size:200}")
+    private int insertChunkSize;
+
+    @Autowired
+    private MarkdownSearchIndex markdownSearchIndex;
+
+    @Autowired
+    private ContentStore contentStore;
+
     /**
      *
      * 存储md文件信息到数据库，并暴露mdfile的id给saveImage方法
@@ -49,19 +77,39 @@ public class MarkdownServiceImpl implements MarkdownService {
         markdownFile.setFileName(markdownFileCreateDTO.getFileName());
         markdownFile.setOssUrl(markdownFileCreateDTO.getOssUrl());
         markdownMapper.insert(markdownFile);
+        countCache.evictMarkdown();
         return markdownFile.getId();
     }
 
     @Override
     public PageResult pageQuery(PageQuery pageQuery) {
-        PageHelper.startPage(pageQuery.getPage(), pageQuery.getSize());
+        //总数取自缓存，跳过PageHelper的count查询
+        long total=getListVersion().getTotal();
+        PageHelper.startPage(pageQuery.getPage(), pageQuery.getSize(), false);
         Page<MarkdownFile> queryPage=markdownMapper.pageQuery(pageQuery);
-        List<MarkdownFileVO> markdownFileVOS=queryPage.stream().map(queryVO->{
-            MarkdownFileVO markdownFileVO=new MarkdownFileVO();
-            BeanUtils.copyProperties(queryVO,markdownFileVO);
-            return markdownFileVO;
-        }).collect(Collectors.toList());
-        return new PageResult(queryPage.getTotal(), markdownFileVOS);
+        List<MarkdownFileVO> markdownFileVOS=queryPage.stream()
+                .map(MarkdownConverter::toVO)
+                .collect(Collectors.toList());
+        return new PageResult(total, markdownFileVOS);
+    }
+
+    @Override
+    public CursorPageResult<MarkdownFileVO> cursorQuery(PageQuery pageQuery) {
+        int size = Math.max(pageQuery.getSize(), 1);
+        CursorQuery cursorQuery = CursorUtil.decode(pageQuery.getCursor(), null, size);
+        List<MarkdownFile> rows = markdownMapper.cursorQuery(cursorQuery);
+
+        // 多查出的一条说明还有下一页，游标取本页最后一条
+        String nextCursor = null;
+        if (rows.size() > size) {
+            rows = rows.subList(0, size);
+            MarkdownFile last = rows.get(size - 1);
+            nextCursor = CursorUtil.encode(last.getCreatedAt(), last.getId());
+        }
+        List<MarkdownFileVO> markdownFileVOS = rows.stream()
+                .map(MarkdownConverter::toVO)
+                .collect(Collectors.toList());
+        return new CursorPageResult<>(markdownFileVOS, nextCursor);
     }
 
 
@@ -70,15 +118,23 @@ public class MarkdownServiceImpl implements MarkdownService {
      * @param markdownImageCreateDTO
      * @param imagesMap
      */
+    @Transactional
     @Override
     public void saveMdImage(MarkdownImageCreateDTO markdownImageCreateDTO, Map<String,String> imagesMap) {
+        List<MarkdownImage> markdownImages=new ArrayList<>(imagesMap.size());
         for(Map.Entry<String,String> entry:imagesMap.entrySet()){
             MarkdownImage markdownImage=new MarkdownImage();
             markdownImage.setId(UUID.randomUUID().toString());
             markdownImage.setMarkdownId(markdownImageCreateDTO.getMarkdownId());
             markdownImage.setOssUrl(entry.getValue());
-            markdownImageMapper.insert(markdownImage);
+            markdownImages.add(markdownImage);
+        }
+        //按批次多行插入
+        for(List<MarkdownImage> chunk:BatchUtil.partition(markdownImages,insertChunkSize)){
+            markdownImageMapper.insertBatch(chunk);
         }
+        //同一张图片按内容只存一份，记录被引用的次数
+        contentStore.retain(imagesMap.values());
 
     }
 
@@ -88,12 +144,38 @@ public class MarkdownServiceImpl implements MarkdownService {
         return markdownFile.getOssUrl();
     }
 
+    @Override
+    public Timestamp getLastModified(String id) {
+        return markdownMapper.getUpdatedAt(id);
+    }
+
+    @Override
+    public ContentVersionVO getListVersion() {
+        return countCache.getMarkdownVersion(() -> markdownMapper.getListVersion());
+    }
+
+    @Override
+    public List<SearchHitVO> search(String query, int size) {
+        return markdownSearchIndex.search(query, size);
+    }
+
+    @Override
+    public ReindexResultVO reindex() {
+        return markdownSearchIndex.reindex();
+    }
+
+    @Transactional
     @Override
     public void deleteBatch(List<String> ids) {
-        for(String id:ids){
-            markdownImageMapper.deleteById(id);
-            markdownMapper.deleteById(id);
+        if (ids == null || ids.isEmpty()) {
+            return;
         }
-        log.info("删除md文件成功，id为{}",ids);
+        //每张表一条集合删除语句，不存在的id不影响其他记录
+        contentStore.release(markdownImageMapper.getOssUrlsByMarkdownIds(ids));
+        markdownImageMapper.deleteByMarkdownIds(ids);
+        int deleted=markdownMapper.deleteByIds(ids);
+        TransactionUtil.afterCommit(() -> ids.forEach(markdownSearchIndex::remove));
+        countCache.evictMarkdown();
+        log.info("删除md文件成功，请求{}条，实际删除{}条，id为{}",ids.size(),deleted,ids);
     }
 }
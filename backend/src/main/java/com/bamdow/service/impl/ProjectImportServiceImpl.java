@@ -0,0 +1,262 @@
+package com.bamdow.service.impl;
+
+import com.bamdow.cache.CountCache;
+import com.bamdow.cache.ProjectCache;
+import com.bamdow.converter.ProjectConverter;
+import com.bamdow.event.ProjectChangedEvent;
+import com.bamdow.mapper.DevelopmentProjectMapper;
+import com.bamdow.mapper.OtherProjectMapper;
+import com.bamdow.mapper.PhotographyProjectMapper;
+import com.bamdow.mapper.ProjectImageMapper;
+import com.bamdow.mapper.ProjectMapper;
+import com.bamdow.pojo.dto.ProjectCreateDTO;
+import com.bamdow.pojo.entity.DevelopmentProject;
+import com.bamdow.pojo.entity.OtherProject;
+import com.bamdow.pojo.entity.PhotographyProject;
+import com.bamdow.pojo.entity.Project;
+import com.bamdow.pojo.entity.ProjectImage;
+import com.bamdow.pojo.vo.ProjectImportResultVO;
+import com.bamdow.service.ProjectImportService;
+import com.bamdow.storage.ContentStore;
+import com.bamdow.utils.BatchUtil;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * NDJSON作品批量导入
+ * 逐行读取请求体并校验，合法记录攒满一批后在一个事务内多行插入主表、图片表和各分类子表；
+ * 内存中只保留当前批次，批次写入失败时逐条重试以定位出错的行
+ */
+@Slf4j
+@Service
+public class ProjectImportServiceImpl implements ProjectImportService {
+
+    @Autowired
+    private ProjectMapper projectMapper;
+
+    @Autowired
+    private PhotographyProjectMapper photographyProjectMapper;
+
+    @Autowired
+    private DevelopmentProjectMapper developmentProjectMapper;
+
+    @Autowired
+    private OtherProjectMapper otherProjectMapper;
+
+    @Autowired
+    private ProjectImageMapper projectImageMapper;
+
+    @Autowired
+    private ProjectCache projectCache;
+
+    @Autowired
+    private CountCache countCache;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private ContentStore contentStore;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private Validator validator;
+
+    @Autowired
+    private JsonMapper jsonMapper;
+
+    // 一个事务内提交的作品数
+    @Value("${bamdow.project.import-chunk-size:500}")
+    private int importChunkSize;
+
+    // 结果中最多记录的出错行数
+    @Value("${bamdow.project.import-max-errors:1000}")
+    private int importMaxErrors;
+
+    // 多行INSERT单条语句包含的最大行数
+    @Value("${bamdow.jdbc.insert-chunk-size:200}")
+    private int insertChunkSize;
+
+    @Override
+    public ProjectImportResultVO importProjects(InputStream in) throws IOException {
+        long start = System.currentTimeMillis();
+        ProjectImportResultVO result = new ProjectImportResultVO();
+        List<ImportRecord> chunk = new ArrayList<>(importChunkSize);
+
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        String line;
+        long lineNumber = 0;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            result.setTotal(result.getTotal() + 1);
+            ProjectCreateDTO dto;
+            try {
+                dto = jsonMapper.readValue(line, ProjectCreateDTO.class);
+            } catch (JacksonException e) {
+                addError(result, lineNumber, "JSON格式错误: " + e.getOriginalMessage());
+                continue;
+            }
+            String violation = validate(dto);
+            if (violation != null) {
+                addError(result, lineNumber, violation);
+                continue;
+            }
+            chunk.add(new ImportRecord(lineNumber, UUID.randomUUID().toString(), dto));
+            if (chunk.size() >= importChunkSize) {
+                flush(chunk, result);
+                chunk.clear();
+            }
+        }
+        flush(chunk, result);
+
+        long elapsed = System.currentTimeMillis() - start;
+        result.setElapsedMs(elapsed);
+        result.setRecordsPerSecond(elapsed == 0 ? result.getImported() : result.getImported() * 1000.0 / elapsed);
+        log.info("作品导入完成，共{}行，成功{}，失败{}，耗时{}ms", result.getTotal(), result.getImported(),
+                result.getFailed(), elapsed);
+        return result;
+    }
+
+    private String validate(ProjectCreateDTO dto) {
+        if (dto == null) {
+            return "记录不能为空";
+        }
+        Set<ConstraintViolation<ProjectCreateDTO>> violations = validator.validate(dto);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                .sorted()
+                .collect(Collectors.joining("; "));
+    }
+
+    /**
+     * 在一个事务内写入一批记录；失败时整批回滚，再逐条单独写入，只有真正出错的行记为失败
+     */
+    private void flush(List<ImportRecord> chunk, ProjectImportResultVO result) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> insert(chunk));
+            committed(chunk, result);
+        } catch (RuntimeException e) {
+            log.warn("作品导入批次写入失败，逐条重试: {}", NestedExceptionUtils.getMostSpecificCause(e).getMessage());
+            for (ImportRecord record : chunk) {
+                List<ImportRecord> single = List.of(record);
+                try {
+                    transactionTemplate.executeWithoutResult(status -> insert(single));
+                    committed(single, result);
+                } catch (RuntimeException ex) {
+                    addError(result, record.line(), "写入失败: " + NestedExceptionUtils.getMostSpecificCause(ex).getMessage());
+                }
+            }
+        }
+    }
+
+    private void insert(List<ImportRecord> records) {
+        List<Project> projects = new ArrayList<>(records.size());
+        List<ProjectImage> images = new ArrayList<>();
+        List<PhotographyProject> photographyProjects = new ArrayList<>();
+        List<DevelopmentProject> developmentProjects = new ArrayList<>();
+        List<OtherProject> otherProjects = new ArrayList<>();
+        for (ImportRecord record : records) {
+            ProjectCreateDTO dto = record.dto();
+            String id = record.id();
+            projects.add(ProjectConverter.toProject(dto, id));
+            if (dto.getImages() != null) {
+                for (int i = 0; i < dto.getImages().size(); i++) {
+                    ProjectImage projectImage = new ProjectImage();
+                    projectImage.setId(UUID.randomUUID().toString());
+                    projectImage.setProjectId(id);
+                    projectImage.setImageUrl(dto.getImages().get(i));
+                    projectImage.setSortOrder(i);
+                    images.add(projectImage);
+                }
+            }
+            String category = dto.getCategory();
+            if ("Photography".equals(category)) {
+                photographyProjects.add(ProjectConverter.toPhotographyProject(dto, id));
+            } else if ("Development".equals(category)) {
+                developmentProjects.add(ProjectConverter.toDevelopmentProject(dto, id));
+            } else if ("Other".equals(category)) {
+                otherProjects.add(ProjectConverter.toOtherProject(dto, id));
+            }
+        }
+
+        //主表先于图片表和子表写入，满足外键约束
+        for (List<Project> part : BatchUtil.partition(projects, insertChunkSize)) {
+            projectMapper.insertBatch(part);
+        }
+        for (List<ProjectImage> part : BatchUtil.partition(images, insertChunkSize)) {
+            projectImageMapper.insertBatch(part);
+        }
+        contentStore.retain(images.stream().map(ProjectImage::getImageUrl).collect(Collectors.toList()));
+        for (List<PhotographyProject> part : BatchUtil.partition(photographyProjects, insertChunkSize)) {
+            photographyProjectMapper.insertBatch(part);
+        }
+        for (List<DevelopmentProject> part : BatchUtil.partition(developmentProjects, insertChunkSize)) {
+            developmentProjectMapper.insertBatch(part);
+        }
+        for (List<OtherProject> part : BatchUtil.partition(otherProjects, insertChunkSize)) {
+            otherProjectMapper.insertBatch(part);
+        }
+    }
+
+    /**
+     * 批次提交后刷新缓存并通知索引更新
+     */
+    private void committed(List<ImportRecord> records, ProjectImportResultVO result) {
+        List<String> ids = new ArrayList<>(records.size());
+        Set<String> categories = new HashSet<>();
+        for (ImportRecord record : records) {
+            ids.add(record.id());
+            categories.add(record.dto().getCategory());
+        }
+        for (String category : categories) {
+            projectCache.evictPages(category);
+            countCache.evictProject(category);
+        }
+        eventPublisher.publishEvent(new ProjectChangedEvent(this, ids, categories));
+        result.setImported(result.getImported() + records.size());
+    }
+
+    private void addError(ProjectImportResultVO result, long line, String message) {
+        result.setFailed(result.getFailed() + 1);
+        if (result.getErrors().size() < importMaxErrors) {
+            result.getErrors().add(new ProjectImportResultVO.LineError(line, message));
+        } else {
+            result.setErrorsTruncated(true);
+        }
+    }
+
+    private record ImportRecord(long line, String id, ProjectCreateDTO dto) {
+    }
+}
@@ -1,27 +1,62 @@
 package com.bamdow.service.impl;
 
+import com.bamdow.cache.CountCache;
+import com.bamdow.cache.ProjectCache;
+import com.bamdow.constant.MessageConstant;
+import com.bamdow.converter.ProjectConverter;
+import com.bamdow.event.ProjectChangedEvent;
+import com.bamdow.except.BaseException;
 import com.bamdow.mapper.*;
+import com.bamdow.pojo.dto.CursorQuery;
+import com.bamdow.pojo.dto.FieldSelection;
 import com.bamdow.pojo.dto.PageQuery;
 import com.bamdow.pojo.dto.ProjectCreateDTO;
 import com.bamdow.pojo.dto.ProjectUpdateDTO;
 import com.bamdow.pojo.entity.*;
+import com.bamdow.pojo.result.CursorPageResult;
 import com.bamdow.pojo.result.PageResult;
+import com.bamdow.pojo.vo.ContentVersionVO;
+import com.bamdow.pojo.vo.ProjectBatchVO;
+import com.bamdow.pojo.vo.ProjectDetailQueryVO;
 import com.bamdow.pojo.vo.ProjectDetailVO;
 import com.bamdow.pojo.vo.ProjectListVO;
 import com.bamdow.pojo.vo.ProjectQueryVO;
+import com.bamdow.pojo.vo.SearchHitVO;
+import com.bamdow.pojo.vo.TagCountVO;
+import com.bamdow.search.ProjectSearchIndex;
+import com.bamdow.search.TagIndex;
 import com.bamdow.service.ProjectService;
+import com.bamdow.storage.ContentStore;
+import com.bamdow.utils.BatchUtil;
+import com.bamdow.utils.CursorUtil;
 import com.bamdow.utils.MinioUtil;
+import com.bamdow.utils.QueryFanOut;
 import com.github.pagehelper.Page;
 import com.github.pagehelper.PageHelper;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.BeanUtils;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.ArrayDeque;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Future;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -43,6 +78,35 @@ public class ProjectServiceImpl implements ProjectService {
     @Autowired
     private ProjectImageMapper projectImageMapper;
 
+    @Autowired
+    private ProjectCache projectCache;
+
+    @Autowired
+    private CountCache countCache;
+
+    @Autowired
+    private TagIndex tagIndex;
+
+    @Autowired
+    private ProjectSearchIndex projectSearchIndex;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private QueryFanOut queryFanOut;
+
+    @Autowired
+    private ContentStore contentStore;
+
+    // 批量查询详情时单次允许的最大id数
+    @Value("${bamdow.project.batch-max-size:50}")
+    private int batchMaxSize;
+
+    // 多行INSERT单条语句包含的最大行数
+    @Value("${bamdow.jdbc.insert-chunk-size:200}")
+    private int insertChunkSize;
+
 
 
     @Transactional
@@ -52,202 +116,432 @@ public class ProjectServiceImpl implements ProjectService {
         String id = UUID.randomUUID().toString();
 
         // 保存到主表
-        Project project = new Project();
-        BeanUtils.copyProperties(projectCreateDTO, project);
-        project.setId(id);
-
-        // 处理标签：将标签数组转换为逗号分隔的字符串
-        if (projectCreateDTO.getTags() != null && !projectCreateDTO.getTags().isEmpty()) {
-            String tagsString = String.join(",", projectCreateDTO.getTags());
-            project.setTags(tagsString);
-        }
-
+        Project project = ProjectConverter.toProject(projectCreateDTO, id);
         projectMapper.insert(project);
 
         // 保存图片到project_images表
         if (projectCreateDTO.getImages() != null && !projectCreateDTO.getImages().isEmpty()) {
-            for (int i = 0; i < projectCreateDTO.getImages().size(); i++) {
-                ProjectImage projectImage = new ProjectImage();
-                projectImage.setId(UUID.randomUUID().toString());
-                projectImage.setProjectId(id);
-                projectImage.setImageUrl(projectCreateDTO.getImages().get(i));
-                projectImage.setSortOrder(i);
-                projectImageMapper.insert(projectImage);
-            }
+            insertImages(id, projectCreateDTO.getImages());
         }
 
         // 根据分类保存到对应子表
         String category = projectCreateDTO.getCategory();
         if ("Photography".equals(category)) {
-            PhotographyProject photographyProject = new PhotographyProject();
-            photographyProject.setId(id);
-            photographyProject.setThoughts(projectCreateDTO.getThoughts());
-            photographyProject.setAdditionalInfo(projectCreateDTO.getAdditionalInfo());
-            photographyProjectMapper.insert(photographyProject);
+            photographyProjectMapper.insert(ProjectConverter.toPhotographyProject(projectCreateDTO, id));
         } else if ("Development".equals(category)) {
-            DevelopmentProject developmentProject = new DevelopmentProject();
-            developmentProject.setId(id);
-            developmentProject.setGithubUrl(projectCreateDTO.getGithubUrl());
-            developmentProject.setReadme(projectCreateDTO.getReadme());
-            developmentProjectMapper.insert(developmentProject);
+            developmentProjectMapper.insert(ProjectConverter.toDevelopmentProject(projectCreateDTO, id));
         } else if ("Other".equals(category)) {
-            OtherProject otherProject = new OtherProject();
-            otherProject.setId(id);
-            otherProject.setExternalLink(projectCreateDTO.getExternalLink());
-            otherProject.setIntroduction(projectCreateDTO.getIntroduction());
-            otherProjectMapper.insert(otherProject);
+            otherProjectMapper.insert(ProjectConverter.toOtherProject(projectCreateDTO, id));
         }
 
+        projectCache.evictPages(category);
+        countCache.evictProject(category);
+        eventPublisher.publishEvent(new ProjectChangedEvent(this, List.of(id), Set.of(category)));
         log.info("保存项目成功，ID: {}", id);
     }
 
+    /**
+     * 按顺序保存作品图片，sort_order从0开始，按批次多行插入
+     * @param projectId
+     * @param imageUrls
+     */
+    private void insertImages(String projectId, List<String> imageUrls) {
+        List<ProjectImage> images = new ArrayList<>(imageUrls.size());
+        for (int i = 0; i < imageUrls.size(); i++) {
+            images.add(newImage(projectId, imageUrls.get(i), i));
+        }
+        for (List<ProjectImage> chunk : BatchUtil.partition(images, insertChunkSize)) {
+            projectImageMapper.insertBatch(chunk);
+        }
+        contentStore.retain(imageUrls);
+    }
+
+    private ProjectImage newImage(String projectId, String imageUrl, int sortOrder) {
+        ProjectImage projectImage = new ProjectImage();
+        projectImage.setId(UUID.randomUUID().toString());
+        projectImage.setProjectId(projectId);
+        projectImage.setImageUrl(imageUrl);
+        projectImage.setSortOrder(sortOrder);
+        return projectImage;
+    }
+
+    /**
+     * 将新的图片列表与已保存的记录对比，只执行必要的插入、删除和排序更新
+     * 相同URL的记录保留原id，仅在位置变化时更新sort_order
+     * @param projectId
+     * @param imageUrls 新的图片URL列表（按展示顺序）
+     * @return 从该作品中移除的图片URL；内容相同的图片只存一份，这些对象可能仍被其他记录引用，
+     *         不能据此直接删除，对象由孤儿对象回收按引用计数和保护期清理
+     */
+    private List<String> reconcileImages(String projectId, List<String> imageUrls) {
+        // URL -> 尚未匹配的已保存记录，同一URL可能出现多次
+        Map<String, Deque<ProjectImage>> unmatched = new HashMap<>();
+        for (ProjectImage stored : projectImageMapper.getByProjectId(projectId)) {
+            unmatched.computeIfAbsent(stored.getImageUrl(), url -> new ArrayDeque<>()).add(stored);
+        }
+
+        List<ProjectImage> toInsert = new ArrayList<>();
+        List<ProjectImage> toReorder = new ArrayList<>();
+        for (int i = 0; i < imageUrls.size(); i++) {
+            Deque<ProjectImage> candidates = unmatched.get(imageUrls.get(i));
+            ProjectImage kept = candidates == null ? null : candidates.poll();
+            if (kept == null) {
+                toInsert.add(newImage(projectId, imageUrls.get(i), i));
+            } else if (kept.getSortOrder() == null || kept.getSortOrder() != i) {
+                kept.setSortOrder(i);
+                toReorder.add(kept);
+            }
+        }
+        List<ProjectImage> toDelete = unmatched.values().stream()
+                .flatMap(Collection::stream)
+                .collect(Collectors.toList());
+
+        for (List<ProjectImage> chunk : BatchUtil.partition(toDelete, insertChunkSize)) {
+            projectImageMapper.deleteByIds(chunk.stream().map(ProjectImage::getId).collect(Collectors.toList()));
+        }
+        for (List<ProjectImage> chunk : BatchUtil.partition(toReorder, insertChunkSize)) {
+            projectImageMapper.updateSortOrders(chunk);
+        }
+        for (List<ProjectImage> chunk : BatchUtil.partition(toInsert, insertChunkSize)) {
+            projectImageMapper.insertBatch(chunk);
+        }
+        // 只调整顺序或完全未变化时不触碰引用计数
+        if (!toInsert.isEmpty()) {
+            contentStore.retain(toInsert.stream().map(ProjectImage::getImageUrl).collect(Collectors.toList()));
+        }
+        if (!toDelete.isEmpty()) {
+            contentStore.release(toDelete.stream().map(ProjectImage::getImageUrl).collect(Collectors.toList()));
+        }
+        log.info("作品图片对比更新，ID: {}，新增{}，删除{}，调整顺序{}", projectId,
+                toInsert.size(), toDelete.size(), toReorder.size());
+
+        Set<String> remaining = new HashSet<>(imageUrls);
+        return toDelete.stream()
+                .map(ProjectImage::getImageUrl)
+                .filter(url -> !remaining.contains(url))
+                .distinct()
+                .collect(Collectors.toList());
+    }
+
     @Override
     public PageResult pageQuery(PageQuery pageQuery) {
-        // 1. 启动分页
-        PageHelper.startPage(pageQuery.getPage(), pageQuery.getSize());
-        // 2. 查询原始数据（tags是字符串）
-        Page<ProjectQueryVO> queryPage = projectMapper.pageQuery(pageQuery);
-
-        // 3. 逐个转换为前端需要的 ProjectListVO，并处理字段
-        List<ProjectListVO> projectListVOs = queryPage.stream().map(queryVO -> {
-            ProjectListVO vo = new ProjectListVO();
-            // 复制基础字段（id/title/description/category）
-            BeanUtils.copyProperties(queryVO, vo);
-
-            // 处理双语标题
-            ProjectListVO.BilingualTitle bilingualTitle = new ProjectListVO.BilingualTitle();
-            bilingualTitle.setZh(queryVO.getTitle());
-            bilingualTitle.setEn(queryVO.getTitle()); // 可后续替换为真实英文标题
-            vo.setBilingualTitle(bilingualTitle);
-
-            // 处理tags：字符串转List<String>
-            if (queryVO.getTags() != null && !queryVO.getTags().isEmpty()) {
-                vo.setTags(Arrays.asList(queryVO.getTags().split(",")));
-            }
+        FieldSelection selection = FieldSelection.parse(pageQuery.getFields(), pageQuery.getInclude(),
+                FieldSelection.LIST_FIELDS);
+        // 标签筛选走内存索引，不经过分页缓存
+        if (!pageQuery.tagFilter().isEmpty()) {
+            return tagPageQuery(pageQuery, selection);
+        }
+        // 稀疏字段请求按所选字段生成查询，不经过分页缓存
+        if (!selection.isAll()) {
+            return loadPage(pageQuery, selection);
+        }
+        return projectCache.getPage(pageQuery, query -> loadPage(query, FieldSelection.ALL));
+    }
 
-            // 查询项目图片列表
-            List<ProjectImage> projectImages = projectImageMapper.getByProjectId(queryVO.getId());
-            if (projectImages != null && !projectImages.isEmpty()) {
-                List<String> imageUrls = projectImages.stream()
-                        .map(ProjectImage::getImageUrl)
-                        .collect(Collectors.toList());
-                vo.setImages(imageUrls);
-            }
+    /**
+     * 标签筛选分页：由标签索引得到当前页的作品id，再按id批量查询
+     * @param pageQuery
+     * @return
+     */
+    private PageResult tagPageQuery(PageQuery pageQuery, FieldSelection selection) {
+        boolean matchAll = !"or".equalsIgnoreCase(pageQuery.getTagMode());
+        TagIndex.TagMatch match = tagIndex.search(pageQuery.getCategory(), pageQuery.tagFilter(), matchAll,
+                pageQuery.getPage(), pageQuery.getSize());
+        if (match.getIds().isEmpty()) {
+            return new PageResult(match.getTotal(), Collections.emptyList());
+        }
+        // 按索引给出的顺序排列查询结果
+        Map<String, ProjectQueryVO> rows = projectMapper.getByIds(match.getIds()).stream()
+                .collect(Collectors.toMap(ProjectQueryVO::getId, row -> row));
+        List<ProjectQueryVO> ordered = match.getIds().stream()
+                .map(rows::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+        return new PageResult(match.getTotal(), toListVOs(ordered, selection));
+    }
 
-            return vo;
-        }).collect(Collectors.toList());
+    @Override
+    public List<SearchHitVO> search(String query, int size) {
+        return projectSearchIndex.search(query, size);
+    }
+
+    @Override
+    public List<TagCountVO> tagFacets(String category) {
+        return tagIndex.facets(category);
+    }
 
-        // 4. 封装返回结果（直接用查询页的总条数 + 转换后的结果列表）
-        return new PageResult(queryPage.getTotal(), projectListVOs);
+    /**
+     * 从数据库加载一页作品列表
+     * @param pageQuery
+     * @param selection
+     * @return
+     */
+    private PageResult loadPage(PageQuery pageQuery, FieldSelection selection) {
+        // 1. 总数取自缓存，启动分页时跳过PageHelper的count查询
+        long total = getListVersion(pageQuery.getCategory()).getTotal();
+        PageHelper.startPage(pageQuery.getPage(), pageQuery.getSize(), false);
+        // 2. 查询原始数据（tags是字符串），稀疏字段请求只查询选中的列
+        Page<ProjectQueryVO> queryPage = selection.isAll()
+                ? projectMapper.pageQuery(pageQuery)
+                : projectMapper.pageQuerySelect(pageQuery, selection);
+
+        // 3. 转换为前端需要的 ProjectListVO，并封装返回结果（总条数 + 转换后的结果列表）
+        return new PageResult(total, toListVOs(queryPage, selection));
+    }
+
+    @Override
+    public CursorPageResult<ProjectListVO> cursorQuery(PageQuery pageQuery) {
+        FieldSelection selection = FieldSelection.parse(pageQuery.getFields(), pageQuery.getInclude(),
+                FieldSelection.LIST_FIELDS);
+        int size = Math.max(pageQuery.getSize(), 1);
+        CursorQuery cursorQuery = CursorUtil.decode(pageQuery.getCursor(), pageQuery.getCategory(), size);
+        List<ProjectQueryVO> rows = projectMapper.cursorQuery(cursorQuery);
+
+        // 多查出的一条说明还有下一页，游标取本页最后一条
+        String nextCursor = null;
+        if (rows.size() > size) {
+            rows = rows.subList(0, size);
+            ProjectQueryVO last = rows.get(size - 1);
+            nextCursor = CursorUtil.encode(last.getCreatedAt(), last.getId());
+        }
+        return new CursorPageResult<>(toListVOs(rows, selection), nextCursor);
+    }
+
+    /**
+     * 将查询结果转换为前端需要的 ProjectListVO，只填充选中的字段
+     * @param queryVOs
+     * @param selection
+     * @return
+     */
+    private List<ProjectListVO> toListVOs(List<ProjectQueryVO> queryVOs, FieldSelection selection) {
+        // 一次性批量查询所有项目的图片，避免逐行查询；未选择图片字段时不查询
+        Map<String, List<String>> imageUrlMap = selection.needsImages()
+                ? getImageUrlMap(queryVOs.stream().map(ProjectQueryVO::getId).collect(Collectors.toList()),
+                        selection.coverOnly())
+                : Collections.emptyMap();
+
+        return queryVOs.stream()
+                .map(queryVO -> ProjectConverter.toListVO(queryVO, imageUrlMap.get(queryVO.getId()), selection))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * 批量查询多个项目的图片，按项目ID分组，组内保持sort_order顺序
+     * @param projectIds 项目ID列表
+     * @param coverOnly 是否只查询封面图
+     * @return 项目ID -> 图片URL列表
+     */
+    private Map<String, List<String>> getImageUrlMap(List<String> projectIds, boolean coverOnly) {
+        if (projectIds == null || projectIds.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        List<ProjectImage> images = coverOnly
+                ? projectImageMapper.getCoverByProjectIds(projectIds)
+                : projectImageMapper.getByProjectIds(projectIds);
+        return images.stream()
+                .collect(Collectors.groupingBy(ProjectImage::getProjectId,
+                        Collectors.mapping(ProjectImage::getImageUrl, Collectors.toList())));
     }
 
     @Override
     public ProjectDetailVO getById(String id) {
-        //根据id查询作品主表数据
-        Project project=projectMapper.getById(id);
-        ProjectDetailVO projectDetailVO=new ProjectDetailVO();
-        //将主表数据先传入VO
-        BeanUtils.copyProperties(project,projectDetailVO);
-        
-        // 设置bilingualTitle字段
-        ProjectDetailVO.BilingualTitle bilingualTitle = new ProjectDetailVO.BilingualTitle();
-        bilingualTitle.setZh(project.getTitle());
-        bilingualTitle.setEn(project.getTitle()); // 暂时使用相同的标题，后续可以根据需要从其他字段获取英文标题
-        projectDetailVO.setBilingualTitle(bilingualTitle);
-        
-        // 处理tags字段：将逗号分隔的字符串转换为数组
-        if (project.getTags() != null && !project.getTags().isEmpty()) {
-            projectDetailVO.setTags(Arrays.asList(project.getTags().split(",")));
+        return projectCache.getDetail(id, this::loadDetail);
+    }
+
+    /**
+     * 从数据库加载作品详情
+     * @param id
+     * @return
+     */
+    private ProjectDetailVO loadDetail(String id) {
+        //一次查询得到主表、子表及图片数据
+        ProjectDetailQueryVO detail = projectMapper.getDetailById(id);
+        if (detail == null) {
+            throw new BaseException(MessageConstant.PROJECT_NOT_FOUND);
         }
-        
-        // 查询项目图片列表
-        List<ProjectImage> projectImages = projectImageMapper.getByProjectId(id);
-        if (projectImages != null && !projectImages.isEmpty()) {
-            List<String> imageUrls = projectImages.stream()
-                    .map(ProjectImage::getImageUrl)
-                    .collect(Collectors.toList());
-            projectDetailVO.setImages(imageUrls);
+        return ProjectConverter.toDetailVO(detail, FieldSelection.ALL);
+    }
+
+    @Override
+    public ProjectDetailVO getById(String id, FieldSelection selection) {
+        if (selection.isAll()) {
+            return getById(id);
         }
-        
-        //根据得到的分类查询子表数据
-        String category = project.getCategory();
-        if ("Photography".equals(category)) {
-            //根据id得到子表数据
-            PhotographyProject photographyProject=photographyProjectMapper.getById(id);
-            //将子表数据传入VO
-            BeanUtils.copyProperties(photographyProject,projectDetailVO);
-        } else if ("Development".equals(category)) {
-            DevelopmentProject developmentProject=developmentProjectMapper.getById(id);
-            BeanUtils.copyProperties(developmentProject,projectDetailVO);
-        } else if ("Other".equals(category)) {
-            OtherProject otherProject=otherProjectMapper.getById(id);
-            BeanUtils.copyProperties(otherProject,projectDetailVO);
+        // 稀疏字段请求只查询选中的列，不经过详情缓存
+        ProjectDetailQueryVO detail = projectMapper.getDetailSelect(id, selection);
+        if (detail == null) {
+            throw new BaseException(MessageConstant.PROJECT_NOT_FOUND);
+        }
+        return ProjectConverter.toDetailVO(detail, selection);
+    }
+
+    @Override
+    public ProjectBatchVO getByIds(List<String> ids) {
+        // 去重并保持请求顺序
+        List<String> requestIds = ids == null ? Collections.emptyList() : ids.stream()
+                .filter(id -> id != null && !id.isBlank())
+                .distinct()
+                .collect(Collectors.toList());
+        if (requestIds.size() > batchMaxSize) {
+            throw new BaseException(MessageConstant.BATCH_SIZE_EXCEEDED + batchMaxSize);
+        }
+        if (requestIds.isEmpty()) {
+            return new ProjectBatchVO(Collections.emptyList(), Collections.emptyList());
+        }
+
+        // 每张表一次集合查询：主表、图片表，以及按分类拆分后的各子表
+        Map<String, Project> projects = projectMapper.getProjectsByIds(requestIds).stream()
+                .collect(Collectors.toMap(Project::getId, project -> project));
+        List<String> foundIds = requestIds.stream().filter(projects::containsKey).collect(Collectors.toList());
+        Map<String, List<String>> idsByCategory = foundIds.stream()
+                .collect(Collectors.groupingBy(id -> String.valueOf(projects.get(id).getCategory())));
+
+        // 主表确定后，图片表与各子表的查询相互独立，并发执行，共享同一截止时间
+        Map<String, PhotographyProject> photographyProjects;
+        Map<String, DevelopmentProject> developmentProjects;
+        Map<String, OtherProject> otherProjects;
+        Map<String, List<ProjectImage>> images;
+        try (QueryFanOut.Scope scope = queryFanOut.open()) {
+            Future<List<PhotographyProject>> photographyFuture =
+                    forkByIds(scope, idsByCategory.get("Photography"), photographyProjectMapper::getByIds);
+            Future<List<DevelopmentProject>> developmentFuture =
+                    forkByIds(scope, idsByCategory.get("Development"), developmentProjectMapper::getByIds);
+            Future<List<OtherProject>> otherFuture =
+                    forkByIds(scope, idsByCategory.get("Other"), otherProjectMapper::getByIds);
+            Future<List<ProjectImage>> imageFuture =
+                    forkByIds(scope, foundIds, projectImageMapper::getByProjectIds);
+            scope.join();
+
+            photographyProjects = photographyFuture.resultNow().stream()
+                    .collect(Collectors.toMap(PhotographyProject::getId, row -> row));
+            developmentProjects = developmentFuture.resultNow().stream()
+                    .collect(Collectors.toMap(DevelopmentProject::getId, row -> row));
+            otherProjects = otherFuture.resultNow().stream()
+                    .collect(Collectors.toMap(OtherProject::getId, row -> row));
+            images = imageFuture.resultNow().stream()
+                    .collect(Collectors.groupingBy(ProjectImage::getProjectId));
+        }
+
+        // 组装为与单条详情相同的结构，再复用详情转换
+        List<ProjectDetailVO> items = foundIds.stream().map(id -> {
+            ProjectDetailQueryVO detail = ProjectConverter.toDetailQueryVO(projects.get(id), images.get(id),
+                    photographyProjects.get(id), developmentProjects.get(id), otherProjects.get(id));
+            return ProjectConverter.toDetailVO(detail, FieldSelection.ALL);
+        }).collect(Collectors.toList());
+
+        List<String> missing = requestIds.stream()
+                .filter(id -> !projects.containsKey(id))
+                .collect(Collectors.toList());
+        return new ProjectBatchVO(items, missing);
+    }
+
+    /**
+     * 按id集合提交一个子查询，id为空时不查询
+     */
+    private <T> Future<List<T>> forkByIds(QueryFanOut.Scope scope, List<String> ids,
+                                          Function<List<String>, List<T>> loader) {
+        if (ids == null || ids.isEmpty()) {
+            return CompletableFuture.completedFuture(Collections.emptyList());
         }
-        return projectDetailVO;
+        return scope.fork(() -> loader.apply(ids));
+    }
+
+    @Override
+    public Timestamp getLastModified(String id) {
+        return projectMapper.getUpdatedAt(id);
+    }
+
+    @Override
+    public ContentVersionVO getListVersion(String category) {
+        return countCache.getProjectVersion(category, () -> projectMapper.getListVersion(category));
     }
 
+    @Transactional
     @Override
-    public void update(ProjectUpdateDTO projectUpdateDTO) {
+    public List<String> update(ProjectUpdateDTO projectUpdateDTO) {
         //获取项目id
         String id = projectUpdateDTO.getId();
         //查询项目主表得到project存储对象
         Project project = projectMapper.getById(id);
-        //将DTO类赋值给存储对象
-        BeanUtils.copyProperties(projectUpdateDTO,project);
-        //对修改后的project对象中tags成员进行数组->字符串转换
-        if (projectUpdateDTO.getTags() != null && !projectUpdateDTO.getTags().isEmpty()) {
-            String tagsString = String.join(",", projectUpdateDTO.getTags());
-            project.setTags(tagsString);
+        if (project == null) {
+            throw new BaseException(MessageConstant.PROJECT_NOT_FOUND);
         }
+        //将DTO合并到存储对象（tags数组转为字符串）
+        ProjectConverter.updateProject(projectUpdateDTO, project);
         projectMapper.update(project);
         
-        // 更新项目图片：先删除旧图片，再添加新图片
-        projectImageMapper.deleteByProjectId(id);
-        List<String> imageUrls=Arrays.asList(projectUpdateDTO.getImage().split(","));
-        if (imageUrls != null && !imageUrls.isEmpty()) {
-            for (int i = 0; i < imageUrls.size(); i++) {
-                ProjectImage projectImage = new ProjectImage();
-                projectImage.setId(UUID.randomUUID().toString());
-                projectImage.setProjectId(id);
-                projectImage.setImageUrl(imageUrls.get(i));
-                projectImage.setSortOrder(i);
-                projectImageMapper.insert(projectImage);
-            }
+        // 更新项目图片：与已保存的图片对比，只改动有变化的行；未传image时不修改图片
+        List<String> droppedImageUrls = Collections.emptyList();
+        if (projectUpdateDTO.getImage() != null) {
+            List<String> imageUrls = Arrays.stream(projectUpdateDTO.getImage().split(","))
+                    .map(String::trim)
+                    .filter(url -> !url.isEmpty())
+                    .collect(Collectors.toList());
+            droppedImageUrls = reconcileImages(id, imageUrls);
         }
         
         //更新副表数据
         String category = project.getCategory();
         if ("Photography".equals(category)) {
-            PhotographyProject photographyProject=photographyProjectMapper.getById(id);
-            BeanUtils.copyProperties(projectUpdateDTO,photographyProject);
-            photographyProjectMapper.update(photographyProject);
+            photographyProjectMapper.update(ProjectConverter.updatePhotographyProject(
+                    projectUpdateDTO, photographyProjectMapper.getById(id)));
         } else if ("Development".equals(category)) {
-            DevelopmentProject developmentProject=developmentProjectMapper.getById(id);
-            BeanUtils.copyProperties(projectUpdateDTO,developmentProject);
-            developmentProjectMapper.update(developmentProject);
+            developmentProjectMapper.update(ProjectConverter.updateDevelopmentProject(
+                    projectUpdateDTO, developmentProjectMapper.getById(id)));
         } else if ("Other".equals(category)) {
-            OtherProject otherProject=otherProjectMapper.getById(id);
-            BeanUtils.copyProperties(projectUpdateDTO,otherProject);
-            otherProjectMapper.update(otherProject);
+            otherProjectMapper.update(ProjectConverter.updateOtherProject(
+                    projectUpdateDTO, otherProjectMapper.getById(id)));
         }
+        projectCache.evictProject(id, category);
+        countCache.evictProject(category);
+        eventPublisher.publishEvent(new ProjectChangedEvent(this, List.of(id), Set.of(category)));
         log.info("更新项目成功ID: {}", id);
+        return droppedImageUrls;
     }
 
+    @Transactional
     @Override
     public void deleteBatch(List<String> ids) {
-        for(String id:ids){
-            //拿到分类便于从副表同步删除信息
-            String category=projectMapper.getById(id).getCategory();
-            if ("Photography".equals(category)) {
-                photographyProjectMapper.deleteById(id);
-            } else if ("Development".equals(category)) {
-                developmentProjectMapper.deleteById(id);
-            } else if ("Other".equals(category)) {
-                otherProjectMapper.deleteById(id);
-            }
-            projectImageMapper.deleteByProjectId(id);
-            projectMapper.deleteById(id);
+        if (ids == null || ids.isEmpty()) {
+            return;
+        }
+        //一次查询拿到全部作品的分类，便于从副表同步删除信息；不存在的id直接忽略
+        List<Project> projects = projectMapper.getCategoriesByIds(ids);
+        if (projects.isEmpty()) {
+            log.info("待删除的作品均不存在，ID: {}", ids);
+            return;
+        }
+        List<String> foundIds = projects.stream().map(Project::getId).collect(Collectors.toList());
+        Map<String, List<String>> idsByCategory = projects.stream()
+                .collect(Collectors.groupingBy(project -> String.valueOf(project.getCategory()),
+                        Collectors.mapping(Project::getId, Collectors.toList())));
+
+        //每张表一条集合删除语句
+        if (idsByCategory.containsKey("Photography")) {
+            photographyProjectMapper.deleteByIds(idsByCategory.get("Photography"));
+        }
+        if (idsByCategory.containsKey("Development")) {
+            developmentProjectMapper.deleteByIds(idsByCategory.get("Development"));
+        }
+        if (idsByCategory.containsKey("Other")) {
+            otherProjectMapper.deleteByIds(idsByCategory.get("Other"));
+        }
+        contentStore.release(projectImageMapper.getByProjectIds(foundIds).stream()
+                .map(ProjectImage::getImageUrl)
+                .collect(Collectors.toList()));
+        projectImageMapper.deleteByProjectIds(foundIds);
+        projectMapper.deleteByIds(foundIds);
+
+        for (Project project : projects) {
+            projectCache.evictProject(project.getId(), project.getCategory());
+        }
+        for (String category : idsByCategory.keySet()) {
+            countCache.evictProject(category);
+        }
+        eventPublisher.publishEvent(new ProjectChangedEvent(this, foundIds, new HashSet<>(idsByCategory.keySet())));
+        if (foundIds.size() < ids.size()) {
+            log.info("部分作品不存在，已忽略，请求ID: {}", ids);
         }
-        log.info("删除ID: {}成功", ids);
+        log.info("删除ID: {}成功", foundIds);
     }
 }
\ No newline at end of file
@@ -0,0 +1,339 @@
+package com.bamdow.storage;
+
+import com.bamdow.mapper.ObjectHashMapper;
+import com.bamdow.pojo.entity.ObjectHash;
+import com.bamdow.utils.AliyunOssUtil;
+import com.bamdow.utils.MinioUtil;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 按内容寻址的图片存储
+ * 对象名由内容的SHA-256决定（images/前两位/哈希.后缀），同一张图片无论上传多少次只存一份；
+ * object_hashes表作为本地哈希索引，命中时跳过上传，未命中时总是重新上传（对象可能正在被回收），
+ * 并记录引用该对象的图片记录数。对象内容不会变化，因此可以设置一年的强缓存。
+ * 查索引到写索引之间持有回收锁的读锁，孤儿对象回收删除一批对象时持有写锁，
+ * 保证回收确认索引已删除之后、删除对象之前不会有上传命中或重新建立索引
+ */
+@Slf4j
+@Component
+public class ContentStore {
+
+    public static final String MINIO = "minio";
+    public static final String OSS = "oss";
+
+    // 内容不可变，允许浏览器和CDN缓存一年
+    public static final String IMMUTABLE_CACHE_CONTROL = "public, max-age=31536000, immutable";
+
+    // 流式上传时内容哈希未知，先写到该前缀下的临时对象
+    private static final String TEMP_PREFIX = "tmp/";
+
+    private static final Pattern CONTENT_KEY = Pattern.compile("^images/[0-9a-f]{2}/([0-9a-f]{64})(\\.[A-Za-z0-9]+)?$");
+
+    @Autowired
+    private ObjectHashMapper objectHashMapper;
+
+    @Autowired
+    private MinioUtil minioUtil;
+
+    @Autowired
+    private AliyunOssUtil aliyunOssUtil;
+
+    private final ReadWriteLock gcLock = new ReentrantReadWriteLock();
+
+    /**
+     * 保存图片到MinIO，内容已存在时直接返回已有对象的URL
+     * @param file 上传的图片，需要可重复读取（先计算哈希，再决定是否上传）
+     * @return 文件访问URL
+     */
+    public String putMinio(MultipartFile file) throws Exception {
+        String hash;
+        try (InputStream in = file.getInputStream()) {
+            hash = sha256(in);
+        }
+        gcLock.readLock().lock();
+        try {
+            ObjectHash existing = objectHashMapper.getByHash(MINIO, hash);
+            if (existing != null) {
+                objectHashMapper.touch(MINIO, hash);
+                log.info("图片内容已存在，跳过上传:{}", existing.getObjectName());
+                return minioUtil.getFileUrl(existing.getObjectName());
+            }
+            String objectName = objectName(hash, suffixOf(file.getOriginalFilename()));
+            minioUtil.uploadFile(file, objectName, IMMUTABLE_CACHE_CONTROL);
+            index(MINIO, hash, objectName, file.getSize(), file.getContentType());
+            return minioUtil.getFileUrl(objectName);
+        } finally {
+            gcLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 边读边保存图片到MinIO，用于无法预先得到完整内容的流式上传
+     * 内容先以临时对象名分片上传并同时计算哈希，上传完成后在服务端复制到按内容寻址的对象名，
+     * 再删除临时对象；内容已存在时只删除临时对象。进程中途退出遗留的临时对象由孤儿对象回收清理
+     * @param in 图片内容，由调用方关闭
+     * @param fileName 原始文件名，用于取后缀
+     * @param partSize 分片大小，决定上传过程中缓存在内存中的数据量
+     * @param maxSize 单个文件的最大字节数，超过时中止上传
+     * @return 文件访问URL
+     */
+    public String putMinio(InputStream in, String fileName, String contentType, long partSize, long maxSize) throws Exception {
+        String tempName = TEMP_PREFIX + UUID.randomUUID();
+        MessageDigest digest = newDigest();
+        LimitedInputStream limited = new LimitedInputStream(new DigestInputStream(in, digest), maxSize);
+        try {
+            minioUtil.uploadStream(limited, tempName, contentType, partSize);
+        } catch (Exception e) {
+            removeQuietly(tempName);
+            throw e;
+        }
+        try {
+            if (limited.getCount() == 0) {
+                throw new IllegalArgumentException("空文件");
+            }
+            String hash = HexFormat.of().formatHex(digest.digest());
+            gcLock.readLock().lock();
+            try {
+                ObjectHash existing = objectHashMapper.getByHash(MINIO, hash);
+                if (existing != null) {
+                    objectHashMapper.touch(MINIO, hash);
+                    log.info("图片内容已存在，跳过保存:{}", existing.getObjectName());
+                    return minioUtil.getFileUrl(existing.getObjectName());
+                }
+                String objectName = objectName(hash, suffixOf(fileName));
+                minioUtil.copyObject(tempName, objectName, contentType, IMMUTABLE_CACHE_CONTROL);
+                index(MINIO, hash, objectName, limited.getCount(), contentType);
+                return minioUtil.getFileUrl(objectName);
+            } finally {
+                gcLock.readLock().unlock();
+            }
+        } finally {
+            removeQuietly(tempName);
+        }
+    }
+
+    /**
+     * 保存图片到OSS，内容已存在时直接返回已有对象的URL
+     * @param bytes 图片内容
+     * @param suffix 文件后缀，如.png
+     * @param contentType
+     * @return 文件访问URL
+     */
+    public String putOss(byte[] bytes, String suffix, String contentType) {
+        String hash = sha256(bytes);
+        String objectName;
+        gcLock.readLock().lock();
+        try {
+            ObjectHash existing = objectHashMapper.getByHash(OSS, hash);
+            if (existing != null) {
+                objectHashMapper.touch(OSS, hash);
+                objectName = existing.getObjectName();
+                log.info("图片内容已存在，跳过上传:{}", objectName);
+            } else {
+                objectName = objectName(hash, suffix);
+                aliyunOssUtil.upload(bytes, objectName, IMMUTABLE_CACHE_CONTROL);
+                index(OSS, hash, objectName, (long) bytes.length, contentType);
+            }
+        } finally {
+            gcLock.readLock().unlock();
+        }
+        return aliyunOssUtil.getUrl(objectName);
+    }
+
+    /**
+     * 孤儿对象回收删除一批对象时持有的锁：持有期间上传不会命中或新建哈希索引
+     */
+    public Lock gcLock() {
+        return gcLock.writeLock();
+    }
+
+    /**
+     * 按URL读取MinIO或OSS中的对象，调用方负责关闭流
+     * @param url 文件访问URL
+     */
+    public InputStream open(String url) throws Exception {
+        String objectName = minioUtil.getObjectName(url);
+        if (objectName != null) {
+            return minioUtil.getObject(objectName);
+        }
+        objectName = aliyunOssUtil.getObjectName(url);
+        if (objectName != null) {
+            return aliyunOssUtil.getObject(objectName);
+        }
+        throw new IllegalArgumentException("无法识别的存储地址: " + url);
+    }
+
+    /**
+     * 图片记录新增后增加引用计数，非按内容寻址的URL忽略
+     * @param urls 新增记录引用的图片URL，同一URL出现多次计多次
+     */
+    public void retain(Collection<String> urls) {
+        adjust(urls, 1);
+    }
+
+    /**
+     * 图片记录删除后减少引用计数
+     * @param urls 被删除记录引用的图片URL
+     */
+    public void release(Collection<String> urls) {
+        adjust(urls, -1);
+    }
+
+    private void adjust(Collection<String> urls, int sign) {
+        if (urls == null || urls.isEmpty()) {
+            return;
+        }
+        // store -> hash -> 出现次数
+        Map<String, Map<String, Integer>> counts = new HashMap<>();
+        for (String url : urls) {
+            String store = MINIO;
+            String objectName = minioUtil.getObjectName(url);
+            if (objectName == null) {
+                store = OSS;
+                objectName = aliyunOssUtil.getObjectName(url);
+            }
+            String hash = hashOf(objectName);
+            if (hash != null) {
+                counts.computeIfAbsent(store, key -> new HashMap<>()).merge(hash, 1, Integer::sum);
+            }
+        }
+        // 按调整量分组，通常只有一组，一条UPDATE完成
+        for (Map.Entry<String, Map<String, Integer>> storeCounts : counts.entrySet()) {
+            Map<Integer, List<String>> hashesByCount = new HashMap<>();
+            storeCounts.getValue().forEach((hash, count) ->
+                    hashesByCount.computeIfAbsent(count, key -> new ArrayList<>()).add(hash));
+            hashesByCount.forEach((count, hashes) ->
+                    objectHashMapper.adjustRefCount(storeCounts.getKey(), hashes, sign * count));
+        }
+    }
+
+    private void removeQuietly(String objectName) {
+        try {
+            minioUtil.deleteFile(objectName);
+        } catch (Exception e) {
+            log.warn("删除临时对象失败:{}", objectName, e);
+        }
+    }
+
+    private void index(String store, String hash, String objectName, Long size, String contentType) {
+        ObjectHash objectHash = new ObjectHash();
+        objectHash.setStore(store);
+        objectHash.setHash(hash);
+        objectHash.setObjectName(objectName);
+        objectHash.setSize(size);
+        objectHash.setContentType(contentType);
+        objectHashMapper.insert(objectHash);
+    }
+
+    /**
+     * 从对象名中解析内容哈希，不是按内容寻址的对象返回null
+     */
+    public static String hashOf(String objectName) {
+        if (objectName == null) {
+            return null;
+        }
+        Matcher matcher = CONTENT_KEY.matcher(objectName);
+        return matcher.matches() ? matcher.group(1) : null;
+    }
+
+    public static String objectName(String hash, String suffix) {
+        return "images/" + hash.substring(0, 2) + "/" + hash + (suffix == null ? "" : suffix.toLowerCase());
+    }
+
+    /**
+     * 从文件名取后缀，只保留字母数字，没有后缀时返回空串
+     */
+    public static String suffixOf(String fileName) {
+        if (fileName == null || fileName.lastIndexOf('.') < 0) {
+            return "";
+        }
+        String suffix = fileName.substring(fileName.lastIndexOf('.'));
+        return suffix.matches("\\.[A-Za-z0-9]+") ? suffix : "";
+    }
+
+    public static String sha256(InputStream in) throws IOException {
+        MessageDigest digest = newDigest();
+        byte[] buffer = new byte[8192];
+        int read;
+        while ((read = in.read(buffer)) != -1) {
+            digest.update(buffer, 0, read);
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    public static String sha256(byte[] bytes) {
+        return HexFormat.of().formatHex(newDigest().digest(bytes));
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * 统计已读取的字节数，超过上限时抛出异常中止读取
+     */
+    private static class LimitedInputStream extends FilterInputStream {
+        private final long limit;
+        private long count;
+
+        LimitedInputStream(InputStream in, long limit) {
+            super(in);
+            this.limit = limit;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b != -1) {
+                add(1);
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int read = super.read(b, off, len);
+            if (read > 0) {
+                add(read);
+            }
+            return read;
+        }
+
+        private void add(long read) throws IOException {
+            count += read;
+            if (count > limit) {
+                throw new IOException("文件超过大小上限: " + limit + "字节");
+            }
+        }
+
+        long getCount() {
+            return count;
+        }
+    }
+}
@@ -0,0 +1,435 @@
+package com.bamdow.storage;
+
+import com.aliyun.oss.model.ListObjectsV2Result;
+import com.aliyun.oss.model.OSSObjectSummary;
+import com.bamdow.mapper.ObjectHashMapper;
+import com.bamdow.mapper.StorageReferenceMapper;
+import com.bamdow.pojo.vo.StorageGcReportVO;
+import com.bamdow.utils.AliyunOssUtil;
+import com.bamdow.utils.MinioUtil;
+import io.minio.Result;
+import io.minio.messages.Item;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.ibatis.session.ResultHandler;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Lock;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 对象存储孤儿对象回收
+ * 先从数据库流式收集所有被引用的对象名放入内存集合（包括作品文本字段和Markdown正文中内嵌的URL），
+ * 再按对象名顺序流式列出MinIO/OSS存储桶，
+ * 未被引用且最后修改时间早于保护期的对象按批调用批量删除接口。
+ * 保护期用于避开“文件已上传、数据库记录尚未保存”的窗口，按内容寻址的对象以哈希索引中的最近使用时间为准；
+ * 每删完一批就把已处理到的对象名写入检查点文件，中断或达到单轮上限后下一轮从检查点继续
+ */
+@Slf4j
+@Component
+public class OrphanObjectCollector {
+
+    // MinIO与OSS单次批量删除请求的上限
+    private static final int MAX_DELETE_BATCH = 1000;
+
+    // 文本中的URL，到空白、引号或括号为止
+    private static final Pattern EMBEDDED_URL = Pattern.compile("https?://[^\\s\"'<>()\\[\\]{}]+");
+
+    // URL后紧跟的标点，如句号、逗号
+    private static final Pattern TRAILING_PUNCTUATION = Pattern.compile("[.,;:!?*_~]+$");
+
+    @Value("${bamdow.gc.enabled:false}")
+    private boolean enabled;
+
+    @Value("${bamdow.gc.dry-run:true}")
+    private boolean defaultDryRun;
+
+    @Value("${bamdow.gc.grace-period:7d}")
+    private Duration gracePeriod;
+
+    @Value("${bamdow.gc.delete-batch-size:1000}")
+    private int deleteBatchSize;
+
+    @Value("${bamdow.gc.max-objects-per-run:100000}")
+    private long maxObjectsPerRun;
+
+    @Value("${bamdow.gc.stores:minio,oss}")
+    private List<String> stores;
+
+    @Value("${bamdow.gc.checkpoint-file:data/storage-gc-checkpoint.properties}")
+    private String checkpointFile;
+
+    @Autowired
+    private StorageReferenceMapper storageReferenceMapper;
+
+    @Autowired
+    private ObjectHashMapper objectHashMapper;
+
+    @Autowired
+    private MinioUtil minioUtil;
+
+    @Autowired
+    private AliyunOssUtil aliyunOssUtil;
+
+    @Autowired
+    private ContentStore contentStore;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    private final AtomicLong totalReclaimedBytes = new AtomicLong();
+
+    private volatile StorageGcReportVO lastReport;
+
+    /**
+     * 定时回收，是否真正删除由bamdow.gc.dry-run决定
+     */
+    @Scheduled(cron = "${bamdow.gc.cron:0 30 3 * * *}")
+    public void scheduledRun() {
+        if (!enabled) {
+            return;
+        }
+        if (run(defaultDryRun) == null) {
+            log.info("上一轮对象回收仍在执行，跳过本次调度");
+        }
+    }
+
+    /**
+     * 执行一轮回收
+     * @param dryRun 为null时使用配置的默认值；为true时只统计不删除
+     * @return 本轮报告，已有回收在执行时返回null
+     */
+    public StorageGcReportVO run(Boolean dryRun) {
+        if (!running.compareAndSet(false, true)) {
+            return null;
+        }
+        try {
+            StorageGcReportVO report = doRun(dryRun == null ? defaultDryRun : dryRun);
+            lastReport = report;
+            return report;
+        } finally {
+            running.set(false);
+        }
+    }
+
+    public boolean isRunning() {
+        return running.get();
+    }
+
+    public StorageGcReportVO getLastReport() {
+        return lastReport;
+    }
+
+    private StorageGcReportVO doRun(boolean dryRun) {
+        long start = System.currentTimeMillis();
+        StorageGcReportVO report = new StorageGcReportVO();
+        report.setDryRun(dryRun);
+        report.setStartedAt(new Timestamp(start));
+
+        Instant cutoff = Instant.ofEpochMilli(start).minus(gracePeriod);
+        Set<String> referenced = collectReferences(cutoff);
+        report.setReferencedCount(referenced.size());
+
+        Properties checkpoints = loadCheckpoints();
+        for (String store : stores) {
+            StorageGcReportVO.StoreReport storeReport = new StorageGcReportVO.StoreReport();
+            storeReport.setStore(store);
+            // dry-run使用独立的检查点，避免推进真实回收的进度
+            String checkpointKey = dryRun ? store + ".dry-run" : store;
+            try {
+                if (referenced.isEmpty() && !dryRun) {
+                    // 数据库里一个引用都没有多半是连错了库，宁可不删
+                    throw new IllegalStateException("未收集到任何被引用的对象，已放弃删除");
+                }
+                Iterator<StoredObject> objects = switch (store) {
+                    case ContentStore.MINIO -> minioObjects(checkpoints.getProperty(checkpointKey));
+                    case ContentStore.OSS -> ossObjects(checkpoints.getProperty(checkpointKey));
+                    default -> throw new IllegalArgumentException("未知的对象存储:" + store);
+                };
+                sweep(store, objects, referenced, cutoff, dryRun, storeReport, checkpoints, checkpointKey);
+            } catch (Exception e) {
+                log.error("{}孤儿对象回收失败", store, e);
+                storeReport.setError(e.getMessage());
+            }
+            report.getStores().add(storeReport);
+        }
+
+        report.setElapsedMs(System.currentTimeMillis() - start);
+        report.setTotalReclaimedBytes(totalReclaimedBytes.get());
+        log.info("孤儿对象回收完成:{}", report);
+        return report;
+    }
+
+    /**
+     * 遍历对象，删除未被引用且超过保护期的对象，每删完一批推进一次检查点
+     */
+    private void sweep(String store, Iterator<StoredObject> objects, Set<String> referenced, Instant cutoff,
+                       boolean dryRun, StorageGcReportVO.StoreReport storeReport,
+                       Properties checkpoints, String checkpointKey) throws Exception {
+        int batchSize = Math.max(1, Math.min(deleteBatchSize, MAX_DELETE_BATCH));
+        Map<String, Long> batch = new LinkedHashMap<>();
+        String lastScanned = null;
+        while (objects.hasNext()) {
+            if (storeReport.getScanned() >= maxObjectsPerRun) {
+                // 达到单轮上限，剩余对象留给下一轮
+                delete(store, batch, cutoff, dryRun, storeReport);
+                saveCheckpoint(checkpoints, checkpointKey, lastScanned);
+                storeReport.setCheckpoint(lastScanned);
+                return;
+            }
+            StoredObject object = objects.next();
+            lastScanned = object.name();
+            storeReport.setScanned(storeReport.getScanned() + 1);
+            if (referenced.contains(store + ":" + object.name())) {
+                continue;
+            }
+            storeReport.setOrphaned(storeReport.getOrphaned() + 1);
+            if (object.lastModified() == null || object.lastModified().isAfter(cutoff)) {
+                storeReport.setSkippedRecent(storeReport.getSkippedRecent() + 1);
+                continue;
+            }
+            batch.put(object.name(), object.size());
+            if (batch.size() >= batchSize) {
+                delete(store, batch, cutoff, dryRun, storeReport);
+                saveCheckpoint(checkpoints, checkpointKey, lastScanned);
+            }
+        }
+        delete(store, batch, cutoff, dryRun, storeReport);
+        // 已列到末尾，下一轮从头开始
+        saveCheckpoint(checkpoints, checkpointKey, null);
+        storeReport.setCompleted(true);
+    }
+
+    /**
+     * 批量删除一批孤儿对象并统计回收字节数，删除失败的对象留到下一次完整遍历时重试
+     * 按内容寻址的对象先按条件删除哈希索引，只回收索引确实被删掉（或本来就没有索引）的对象：
+     * 收集引用之后被上传命中（touch）或重新引用的对象，索引删除条件不成立，本轮不删。
+     * 删除索引到删除对象期间持有ContentStore的回收锁，上传不会在这期间命中或重新建立索引
+     */
+    private void delete(String store, Map<String, Long> batch, Instant cutoff, boolean dryRun,
+                        StorageGcReportVO.StoreReport storeReport) throws Exception {
+        if (batch.isEmpty()) {
+            return;
+        }
+        int requested = batch.size();
+        if (dryRun) {
+            skipKept(batch, objectHashMapper.getRecentlyUsed(store, new ArrayList<>(batch.keySet()),
+                    Timestamp.from(cutoff)), storeReport);
+            requested = batch.size();
+            log.debug("[dry-run] {}可回收对象:{}", store, batch.keySet());
+        } else {
+            Lock lock = contentStore.gcLock();
+            lock.lock();
+            try {
+                List<String> objectNames = new ArrayList<>(batch.keySet());
+                objectHashMapper.deleteUnused(store, objectNames, Timestamp.from(cutoff));
+                skipKept(batch, objectHashMapper.getIndexed(store, objectNames), storeReport);
+                requested = batch.size();
+                if (batch.isEmpty()) {
+                    return;
+                }
+                if (ContentStore.MINIO.equals(store)) {
+                    // 删除失败的对象索引已不存在，之后上传相同内容时会重新上传并建立索引
+                    List<String> failed = minioUtil.removeObjects(new ArrayList<>(batch.keySet()));
+                    failed.forEach(batch::remove);
+                } else {
+                    List<String> deleted = aliyunOssUtil.deleteObjects(new ArrayList<>(batch.keySet()));
+                    batch.keySet().retainAll(new HashSet<>(deleted));
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        long reclaimed = 0;
+        for (Long size : batch.values()) {
+            reclaimed += size;
+        }
+        storeReport.setDeleted(storeReport.getDeleted() + batch.size());
+        storeReport.setFailed(storeReport.getFailed() + requested - batch.size());
+        storeReport.setReclaimedBytes(storeReport.getReclaimedBytes() + reclaimed);
+        if (!dryRun) {
+            totalReclaimedBytes.addAndGet(reclaimed);
+            log.info("{}删除孤儿对象{}个，回收{}字节，失败{}个", store, batch.size(), reclaimed, requested - batch.size());
+        }
+        batch.clear();
+    }
+
+    private void skipKept(Map<String, Long> batch, List<String> kept, StorageGcReportVO.StoreReport storeReport) {
+        for (String objectName : kept) {
+            batch.remove(objectName);
+            storeReport.setSkippedRecent(storeReport.getSkippedRecent() + 1);
+        }
+    }
+
+    /**
+     * 流式收集数据库中所有被引用的对象，键为"存储:对象名"
+     * 引用计数大于0或保护期内被上传命中的内容对象同样视为被引用；
+     * 作品文本字段和Markdown正文中内嵌的URL也计入，正文读取失败时放弃本轮，避免误删正文引用的图片
+     */
+    private Set<String> collectReferences(Instant cutoff) {
+        Set<String> referenced = new HashSet<>();
+        ResultHandler<String> handler = context -> addReference(referenced, context.getResultObject());
+        List<String> markdownUrls = new ArrayList<>();
+        storageReferenceMapper.scanProjectImageUrls(handler);
+        storageReferenceMapper.scanMarkdownImageUrls(handler);
+        storageReferenceMapper.scanMarkdownFileUrls(context -> {
+            addReference(referenced, context.getResultObject());
+            markdownUrls.add(context.getResultObject());
+        });
+        storageReferenceMapper.scanAdministratorImageUrls(handler);
+        storageReferenceMapper.scanProjectTexts(context -> addEmbeddedReferences(referenced, context.getResultObject()));
+        storageReferenceMapper.scanRetainedContentObjects(Timestamp.from(cutoff),
+                context -> referenced.add(context.getResultObject()));
+        // 正文只存在于对象存储中，扫描结束、释放数据库连接后再逐个读取
+        for (String url : markdownUrls) {
+            try (InputStream in = contentStore.open(url)) {
+                addEmbeddedReferences(referenced, new String(in.readAllBytes(), StandardCharsets.UTF_8));
+            } catch (Exception e) {
+                throw new IllegalStateException("读取Markdown正文失败，已放弃本轮回收: " + url, e);
+            }
+        }
+        return referenced;
+    }
+
+    private void addReference(Set<String> referenced, String url) {
+        String objectName = minioUtil.getObjectName(url);
+        if (objectName != null) {
+            referenced.add(ContentStore.MINIO + ":" + objectName);
+            return;
+        }
+        objectName = aliyunOssUtil.getObjectName(url);
+        if (objectName != null) {
+            referenced.add(ContentStore.OSS + ":" + objectName);
+        }
+    }
+
+    /**
+     * 从文本中提取URL计入引用
+     * URL的结尾无法准确判断，同时计入原样、去掉结尾标点、截到第一个非ASCII字符三种写法，宁可多保留
+     */
+    void addEmbeddedReferences(Set<String> referenced, String text) {
+        if (text == null) {
+            return;
+        }
+        Matcher matcher = EMBEDDED_URL.matcher(text);
+        while (matcher.find()) {
+            String url = matcher.group();
+            addReference(referenced, url);
+            addReference(referenced, TRAILING_PUNCTUATION.matcher(url).replaceAll(""));
+            int nonAscii = 0;
+            while (nonAscii < url.length() && url.charAt(nonAscii) < 0x80) {
+                nonAscii++;
+            }
+            if (nonAscii < url.length()) {
+                addReference(referenced, TRAILING_PUNCTUATION.matcher(url.substring(0, nonAscii)).replaceAll(""));
+            }
+        }
+    }
+
+    private Iterator<StoredObject> minioObjects(String startAfter) {
+        Iterator<Result<Item>> results = minioUtil.listObjects(startAfter).iterator();
+        return new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                return results.hasNext();
+            }
+
+            @Override
+            public StoredObject next() {
+                try {
+                    Item item = results.next().get();
+                    return new StoredObject(item.objectName(), item.size(),
+                            item.lastModified() == null ? null : item.lastModified().toInstant());
+                } catch (Exception e) {
+                    throw new IllegalStateException("列出MinIO对象失败: " + e.getMessage(), e);
+                }
+            }
+        };
+    }
+
+    private Iterator<StoredObject> ossObjects(String startAfter) {
+        return new Iterator<>() {
+            private Iterator<OSSObjectSummary> page = Collections.emptyIterator();
+            private String continuationToken;
+            private boolean more = true;
+
+            @Override
+            public boolean hasNext() {
+                // 当前页用完后再请求下一页，同一时刻内存中最多只有一页对象
+                while (!page.hasNext() && more) {
+                    ListObjectsV2Result result = aliyunOssUtil.listObjects(startAfter, continuationToken, MAX_DELETE_BATCH);
+                    page = result.getObjectSummaries().iterator();
+                    continuationToken = result.getNextContinuationToken();
+                    more = result.isTruncated();
+                }
+                return page.hasNext();
+            }
+
+            @Override
+            public StoredObject next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                OSSObjectSummary summary = page.next();
+                return new StoredObject(summary.getKey(), summary.getSize(),
+                        summary.getLastModified() == null ? null : summary.getLastModified().toInstant());
+            }
+        };
+    }
+
+    private Properties loadCheckpoints() {
+        Properties checkpoints = new Properties();
+        Path path = Paths.get(checkpointFile);
+        if (Files.exists(path)) {
+            try (InputStream in = Files.newInputStream(path)) {
+                checkpoints.load(in);
+            } catch (IOException e) {
+                log.warn("读取回收检查点失败，从头开始:{}", e.getMessage());
+            }
+        }
+        return checkpoints;
+    }
+
+    private void saveCheckpoint(Properties checkpoints, String key, String objectName) throws IOException {
+        if (objectName == null) {
+            checkpoints.remove(key);
+        } else {
+            checkpoints.setProperty(key, objectName);
+        }
+        Path path = Paths.get(checkpointFile);
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        try (OutputStream out = Files.newOutputStream(path)) {
+            checkpoints.store(out, "storage gc checkpoints");
+        }
+    }
+
+    private record StoredObject(String name, long size, Instant lastModified) {
+    }
+}
@@ -3,6 +3,10 @@ package com.bamdow.utils;
 import com.aliyun.oss.ClientException;
 import com.aliyun.oss.OSS;
 import com.aliyun.oss.OSSException;
+import com.aliyun.oss.model.DeleteObjectsRequest;
+import com.aliyun.oss.model.ListObjectsV2Request;
+import com.aliyun.oss.model.ListObjectsV2Result;
+import com.aliyun.oss.model.ObjectMetadata;
 import com.aliyun.oss.model.PutObjectRequest;
 import com.aliyun.oss.model.PutObjectResult;
 import com.bamdow.config.AliyunOssConfiguration;
@@ -12,6 +16,8 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
 import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.util.List;
 
 @Data
 @Slf4j
@@ -25,9 +31,19 @@ public class AliyunOssUtil {
 
     //上传文件到OSS
     public String upload(byte[] bytes, String objectName) {
+        return upload(bytes, objectName, null);
+    }
+
+    //上传文件到OSS，cacheControl不为null时设置对象的Cache-Control
+    public String upload(byte[] bytes, String objectName, String cacheControl) {
         try {
             // 创建PutObjectRequest对象。
             PutObjectRequest putObjectRequest = new PutObjectRequest(aliyunOssConfiguration.getBucketName(), objectName, new ByteArrayInputStream(bytes));
+            if (cacheControl != null) {
+                ObjectMetadata metadata = new ObjectMetadata();
+                metadata.setCacheControl(cacheControl);
+                putObjectRequest.setMetadata(metadata);
+            }
             // 创建PutObject请求。
             PutObjectResult result = ossClient.putObject(putObjectRequest);
         } catch (OSSException oe) {
@@ -37,7 +53,14 @@ public class AliyunOssUtil {
             log.error("ClientException: {}", ce.getMessage());
             throw new RuntimeException("客户端错误: " + ce.getMessage());
         }
-        //文件访问路径规则 https://BucketName.Endpoint/ObjectName
+        String url = getUrl(objectName);
+        log.info("文件上传到:{}", url);
+
+        return url;
+    }
+
+    //文件访问路径规则 https://BucketName.Endpoint/ObjectName
+    public String getUrl(String objectName) {
         StringBuilder stringBuilder = new StringBuilder("https://");
         stringBuilder
                 .append(aliyunOssConfiguration.getBucketName())
@@ -45,9 +68,47 @@ public class AliyunOssUtil {
                 .append(aliyunOssConfiguration.getEndpoint())
                 .append("/")
                 .append(objectName);
+        return stringBuilder.toString();
+    }
 
-        log.info("文件上传到:{}", stringBuilder.toString());
+    /**
+     * 从文件访问URL中解析出对象名称
+     * @param url upload返回的URL
+     * @return 对象名称，不是本存储桶的URL时返回null
+     */
+    public String getObjectName(String url) {
+        String prefix = "https://" + aliyunOssConfiguration.getBucketName() + "." + aliyunOssConfiguration.getEndpoint() + "/";
+        if (url == null || !url.startsWith(prefix)) {
+            return null;
+        }
+        String path = url.substring(prefix.length());
+        int queryIndex = path.indexOf('?');
+        return queryIndex >= 0 ? path.substring(0, queryIndex) : path;
+    }
 
-        return stringBuilder.toString();
+    //读取OSS文件内容，调用方负责关闭流
+    public InputStream getObject(String objectName) {
+        return ossClient.getObject(aliyunOssConfiguration.getBucketName(), objectName).getObjectContent();
+    }
+
+    //按对象名顺序列出一页对象，continuationToken为null时从startAfter之后开始
+    public ListObjectsV2Result listObjects(String startAfter, String continuationToken, int maxKeys) {
+        ListObjectsV2Request request = new ListObjectsV2Request(aliyunOssConfiguration.getBucketName());
+        request.setMaxKeys(maxKeys);
+        if (continuationToken != null) {
+            request.setContinuationToken(continuationToken);
+        } else if (startAfter != null) {
+            request.setStartAfter(startAfter);
+        }
+        return ossClient.listObjectsV2(request);
+    }
+
+    //批量删除OSS文件，一次请求最多1000个，返回删除成功的对象名称
+    public List<String> deleteObjects(List<String> objectNames) {
+        DeleteObjectsRequest request = new DeleteObjectsRequest(aliyunOssConfiguration.getBucketName())
+                .withKeys(objectNames);
+        //非quiet模式下返回删除成功的对象，便于统计回收空间
+        request.setQuiet(false);
+        return ossClient.deleteObjects(request).getDeletedObjects();
     }
 }
@@ -0,0 +1,29 @@
+package com.bamdow.utils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 批量SQL工具类
+ */
+public class BatchUtil {
+
+    /**
+     * 将列表按固定大小切分，用于多行INSERT / IN查询的分批执行
+     * @param list
+     * @param chunkSize 每批大小，小于1时按1处理
+     * @return 切分后的子列表（原列表的视图）
+     */
+    public static <T> List<List<T>> partition(List<T> list, int chunkSize) {
+        if (list == null || list.isEmpty()) {
+            return Collections.emptyList();
+        }
+        int size = Math.max(chunkSize, 1);
+        List<List<T>> chunks = new ArrayList<>((list.size() + size - 1) / size);
+        for (int from = 0; from < list.size(); from += size) {
+            chunks.add(list.subList(from, Math.min(from + size, list.size())));
+        }
+        return chunks;
+    }
+}
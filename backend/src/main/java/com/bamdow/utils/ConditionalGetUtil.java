@@ -0,0 +1,62 @@
+package com.bamdow.utils;
+
+import com.bamdow.pojo.vo.ContentVersionVO;
+import org.springframework.util.DigestUtils;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+
+/**
+ * 条件GET工具类
+ * 根据 updated_at 等轻量版本信息生成 ETag / Last-Modified，命中 If-None-Match / If-Modified-Since 时返回304
+ * ETag 使用 updated_at 的毫秒值，同一秒内的两次修改也能区分；Last-Modified 只有秒级，
+ * 客户端同时带 If-None-Match 时以ETag为准
+ */
+public class ConditionalGetUtil {
+
+    /**
+     * 单条资源校验，版本由资源标识和更新时间决定
+     * @param request
+     * @param resourceKey
+     * @param lastModified
+     * @return true表示客户端缓存仍有效，已设置304，调用方直接返回null即可
+     */
+    public static boolean checkNotModified(ServletWebRequest request, String resourceKey, Timestamp lastModified) {
+        long lastModifiedMillis = lastModified == null ? -1 : lastModified.getTime();
+        return check(request, resourceKey + ":" + lastModifiedMillis, lastModifiedMillis);
+    }
+
+    /**
+     * 列表资源校验，版本由查询条件、总数和最大更新时间决定
+     * @param request
+     * @param queryKey
+     * @param version
+     * @return true表示客户端缓存仍有效，已设置304，调用方直接返回null即可
+     */
+    public static boolean checkNotModified(ServletWebRequest request, String queryKey, ContentVersionVO version) {
+        long lastModifiedMillis = version.getLastModified() == null ? -1 : version.getLastModified().getTime();
+        return check(request, queryKey + ":" + version.getTotal() + ":" + lastModifiedMillis, lastModifiedMillis);
+    }
+
+    /**
+     * 使用已计算好的ETag校验，适用于预序列化快照等自带内容哈希的响应
+     * @param request
+     * @param etag
+     * @return true表示客户端缓存仍有效，已设置304
+     */
+    public static boolean checkNotModified(ServletWebRequest request, String etag) {
+        request.getResponse().setHeader("Cache-Control", "no-cache");
+        return request.checkNotModified(etag);
+    }
+
+    private static boolean check(ServletWebRequest request, String versionKey, long lastModifiedMillis) {
+        // 允许缓存但每次使用前必须重新校验
+        request.getResponse().setHeader("Cache-Control", "no-cache");
+        // 使用弱校验器，响应被压缩后依然有效
+        String etag = "W/\"" + DigestUtils.md5DigestAsHex(versionKey.getBytes(StandardCharsets.UTF_8)) + "\"";
+        // HTTP日期只精确到秒
+        long lastModifiedSeconds = lastModifiedMillis < 0 ? -1 : lastModifiedMillis / 1000 * 1000;
+        return request.checkNotModified(etag, lastModifiedSeconds);
+    }
+}
@@ -0,0 +1,44 @@
+package com.bamdow.utils;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.List;
+
+/**
+ * CSV工具类，按RFC 4180输出
+ */
+public class CsvUtil {
+
+    /**
+     * 写出一行，包含逗号、双引号或换行的字段用双引号包裹，字段内的双引号加倍；null输出为空字段
+     * @param writer
+     * @param values
+     */
+    public static void writeRow(Writer writer, List<?> values) throws IOException {
+        for (int i = 0; i < values.size(); i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            Object value = values.get(i);
+            if (value != null) {
+                writeField(writer, value.toString());
+            }
+        }
+        writer.write("\r\n");
+    }
+
+    private static void writeField(Writer writer, String field) throws IOException {
+        boolean quote = false;
+        for (int i = 0; i < field.length() && !quote; i++) {
+            char c = field.charAt(i);
+            quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!quote) {
+            writer.write(field);
+            return;
+        }
+        writer.write('"');
+        writer.write(field.replace("\"", "\"\""));
+        writer.write('"');
+    }
+}
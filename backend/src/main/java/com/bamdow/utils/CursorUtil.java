@@ -0,0 +1,55 @@
+package com.bamdow.utils;
+
+import com.bamdow.constant.MessageConstant;
+import com.bamdow.except.BaseException;
+import com.bamdow.pojo.dto.CursorQuery;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.util.Base64;
+
+/**
+ * 游标分页工具类
+ * 游标对前端不透明，内容为 (created_at毫秒值, id) 的Base64编码
+ */
+public class CursorUtil {
+
+    private static final String SEPARATOR = ":";
+
+    /**
+     * 根据本页最后一条记录生成下一页游标
+     * @param createdAt
+     * @param id
+     * @return
+     */
+    public static String encode(Timestamp createdAt, String id) {
+        String raw = createdAt.getTime() + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 解析游标并构造游标查询条件，空游标表示从第一页开始
+     * @param cursor
+     * @param category
+     * @param size
+     * @return
+     */
+    public static CursorQuery decode(String cursor, String category, int size) {
+        CursorQuery cursorQuery = new CursorQuery();
+        cursorQuery.setCategory(category);
+        // 多查一条用于判断是否还有下一页
+        cursorQuery.setLimit(size + 1);
+        if (cursor == null || cursor.isEmpty()) {
+            return cursorQuery;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int index = raw.indexOf(SEPARATOR);
+            cursorQuery.setCreatedAt(new Timestamp(Long.parseLong(raw.substring(0, index))));
+            cursorQuery.setLastId(raw.substring(index + 1));
+        } catch (RuntimeException e) {
+            throw new BaseException(MessageConstant.INVALID_CURSOR);
+        }
+        return cursorQuery;
+    }
+}
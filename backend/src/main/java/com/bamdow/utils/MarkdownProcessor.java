@@ -1,9 +1,13 @@
 package com.bamdow.utils;
+import com.bamdow.constant.MessageConstant;
 import com.bamdow.controller.admin.UploadController;
+import com.bamdow.except.BaseException;
 import com.bamdow.mapper.MarkdownImageMapper;
 import com.bamdow.pojo.dto.MarkdownFileCreateDTO;
 import com.bamdow.pojo.dto.MarkdownImageCreateDTO;
+import com.bamdow.search.MarkdownSearchIndex;
 import com.bamdow.service.MarkdownService;
+import com.bamdow.storage.ContentStore;
 import lombok.Data;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -22,6 +26,10 @@ import java.util.regex.Pattern;
 @Component
 public class MarkdownProcessor {
 
+    // data:image/<子类型>[;参数];base64,<数据>，分组依次为MIME类型、子类型、数据
+    private static final Pattern DATA_URI =
+            Pattern.compile("data:(image/([A-Za-z0-9.+-]+))(?:;[^;,]*)*;base64,([A-Za-z0-9+/=]+)");
+
     @Autowired
     private AliyunOssUtil aliyunOssUtil;
 
@@ -37,6 +45,12 @@ public class MarkdownProcessor {
     @Autowired
     private MinioUtil minioUtil;
 
+    @Autowired
+    private MarkdownSearchIndex markdownSearchIndex;
+
+    @Autowired
+    private ContentStore contentStore;
+
 
     /**
      * 处理md文件，返回处理后的文件URL
@@ -62,6 +76,8 @@ public class MarkdownProcessor {
         MarkdownImageCreateDTO markdownImageCreateDTO=new MarkdownImageCreateDTO();
         markdownImageCreateDTO.setMarkdownId(mdFileId);
         markdownService.saveMdImage(markdownImageCreateDTO,imagesMap);
+        //替换后的正文写入全文索引
+        markdownSearchIndex.put(mdFileId, markdownFile.getOriginalFilename(), modifiedContent);
         //上传修改后的Markdown文件
         return markdownFileCreateDTO.getOssUrl();
     }
@@ -139,17 +155,8 @@ public class MarkdownProcessor {
         }
 
         try {
-            // 生成唯一文件名
-            String suffix = fileName.substring(fileName.lastIndexOf("."));
-            String uniqueFileName = UUID.randomUUID().toString() + suffix;
-            String objectName = "images/" + new SimpleDateFormat("yyyyMMdd").format(new Date()) + "/" + uniqueFileName;
-
-//            // 上传到OSS
-//            byte[] bytes = matchedFile.getBytes();
-//            return aliyunOssUtil.upload(bytes, objectName);
-
-            //上传到minio
-            return minioUtil.uploadFile(matchedFile,objectName);
+            //按内容哈希上传到minio，相同图片只保存一份
+            return contentStore.putMinio(matchedFile);
 
 
         } catch (Exception e) {
@@ -201,22 +208,24 @@ public class MarkdownProcessor {
      * @return
      * */
     private String handleBase64Image(String base64Image) throws Exception {
-    // 去除Base64前缀
-    String base64Data = base64Image;
-    if (base64Image.contains("base64,")) {
-    base64Data = base64Image.split("base64,")[1];
+    // 校验并拆分 data:image/<类型>[;参数];base64,<数据>
+    Matcher matcher = DATA_URI.matcher(base64Image);
+    if (!matcher.matches()) {
+        throw new BaseException(MessageConstant.INVALID_BASE64_IMAGE + abbreviate(base64Image));
     }
+    String contentType = matcher.group(1);
 
     // 解码Base64数据
-    byte[] imageBytes = Base64.getDecoder().decode(base64Data.getBytes(StandardCharsets.UTF_8));
-
-    //生成唯一文件名
-    String suffix = getImageSuffixFromBase64(base64Image);
-    String fileName=UUID.randomUUID().toString()+suffix;
-    String objectName = "images/" + new SimpleDateFormat("yyyyMMdd").format(new Date()) + "/" + fileName;
+    byte[] imageBytes;
+    try {
+        imageBytes = Base64.getDecoder().decode(matcher.group(3).getBytes(StandardCharsets.UTF_8));
+    } catch (IllegalArgumentException e) {
+        throw new BaseException(MessageConstant.INVALID_BASE64_IMAGE + abbreviate(base64Image));
+    }
 
-    //上传到oss
-    return aliyunOssUtil.upload(imageBytes, objectName);
+    //按内容哈希上传到oss，相同图片只保存一份
+    String suffix = getImageSuffixFromBase64(matcher.group(2));
+    return contentStore.putOss(imageBytes, suffix, contentType);
 
 
     //        //base64转MultipartFile实现
@@ -231,13 +240,19 @@ public class MarkdownProcessor {
 
     /**
      * 获取到Base64文件的后缀
-     * @param base64Image
+     * @param subtype data URI中的图片子类型，如png、svg+xml
      * @return
      */
-    private String getImageSuffixFromBase64(String base64Image) {
-        //从base64头部提取图片类型
-        String type = base64Image.split(":")[1].split(";" )[0].split("/")[1];
-        return "." + type;
+    private String getImageSuffixFromBase64(String subtype) {
+        int plus = subtype.indexOf('+');
+        return "." + (plus > 0 ? subtype.substring(0, plus) : subtype).toLowerCase();
+    }
+
+    /**
+     * 错误信息中只保留data URI的开头部分
+     */
+    private static String abbreviate(String dataUri) {
+        return dataUri.length() > 40 ? dataUri.substring(0, 40) + "..." : dataUri;
     }
 
     /**
@@ -3,11 +3,21 @@ package com.bamdow.utils;
 import com.bamdow.config.MinioConfig;
 import io.minio.*;
 import io.minio.http.Method;
+import io.minio.messages.DeleteError;
+import io.minio.messages.DeleteObject;
+import io.minio.messages.Item;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.InputStream;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.TimeUnit;
 
@@ -24,6 +34,16 @@ public class MinioUtil {
      * @return 文件在MinIO中的唯一标识（对象名称）
      */
     public String uploadFile(MultipartFile file,String objectName) throws Exception {
+        return uploadFile(file, objectName, null);
+    }
+
+    /**
+     * 上传文件到MinIO，并设置对象的Cache-Control
+     * @param file 要上传的文件（Spring MultipartFile）
+     * @param cacheControl 读取对象时返回的Cache-Control，为null时不设置
+     * @return 文件访问URL
+     */
+    public String uploadFile(MultipartFile file, String objectName, String cacheControl) throws Exception {
         // 1. 检查存储桶是否存在，不存在则创建
         if (!minioClient.bucketExists(BucketExistsArgs.builder().bucket(minioConfig.getBucket()).build())) {
             minioClient.makeBucket(MakeBucketArgs.builder().bucket(minioConfig.getBucket()).build());
@@ -35,18 +55,68 @@ public class MinioUtil {
 //        String objectName = UUID.randomUUID().toString() + fileExtension;
 
         // 3. 上传文件
-        minioClient.putObject(
-                PutObjectArgs.builder()
-                        .bucket(minioConfig.getBucket())          // 存储桶名称
-                        .object(objectName)          // 对象名称（文件名）
-                        .stream(file.getInputStream(), file.getSize(), -1)  // 文件流和大小
-                        .contentType(file.getContentType())  // 文件类型
-                        .build());
+        PutObjectArgs.Builder builder = PutObjectArgs.builder()
+                .bucket(minioConfig.getBucket())          // 存储桶名称
+                .object(objectName)          // 对象名称（文件名）
+                .stream(file.getInputStream(), file.getSize(), -1)  // 文件流和大小
+                .contentType(file.getContentType());  // 文件类型
+        if (cacheControl != null) {
+            builder.headers(Map.of("Cache-Control", cacheControl));
+        }
+        minioClient.putObject(builder.build());
         log.info("文件上传到:{}", getFileUrl(objectName));
         return getFileUrl(objectName);
         //返回结果：test/随机字符串.txt
     }
 
+    /**
+     * 上传长度未知的流到MinIO，按partSize分片上传，内存中最多缓存一个分片，不依赖文件大小
+     * @param in 文件内容，由调用方关闭
+     * @param partSize 分片大小，不小于5MB；内容不足一个分片时以单次请求上传
+     * @return 对象名称
+     */
+    public String uploadStream(InputStream in, String objectName, String contentType, long partSize) throws Exception {
+        if (!minioClient.bucketExists(BucketExistsArgs.builder().bucket(minioConfig.getBucket()).build())) {
+            minioClient.makeBucket(MakeBucketArgs.builder().bucket(minioConfig.getBucket()).build());
+        }
+        PutObjectArgs.Builder builder = PutObjectArgs.builder()
+                .bucket(minioConfig.getBucket())
+                .object(objectName)
+                .stream(in, -1, partSize);
+        if (contentType != null) {
+            builder.contentType(contentType);
+        }
+        minioClient.putObject(builder.build());
+        return objectName;
+    }
+
+    /**
+     * 在服务端复制对象并替换元数据，数据不经过本应用
+     * @param source 源对象名称
+     * @param target 目标对象名称
+     * @param cacheControl 目标对象的Cache-Control，为null时不设置
+     */
+    public void copyObject(String source, String target, String contentType, String cacheControl) throws Exception {
+        Map<String, String> headers = new HashMap<>();
+        if (contentType != null) {
+            headers.put("Content-Type", contentType);
+        }
+        if (cacheControl != null) {
+            headers.put("Cache-Control", cacheControl);
+        }
+        minioClient.copyObject(
+                CopyObjectArgs.builder()
+                        .bucket(minioConfig.getBucket())
+                        .object(target)
+                        .source(CopySource.builder()
+                                .bucket(minioConfig.getBucket())
+                                .object(source)
+                                .build())
+                        .metadataDirective(Directive.REPLACE)
+                        .headers(headers)
+                        .build());
+    }
+
     /**
      * 获取文件临时访问URL（适合前端直接下载）
      * @param objectName 文件在MinIO中的唯一标识
@@ -63,6 +133,37 @@ public class MinioUtil {
         //返回结果：http://localhost:9000/bucket/随机字符串.txt?......
     }
 
+    /**
+     * 从文件访问URL中解析出对象名称
+     * @param url getFileUrl返回的URL（可带签名参数）
+     * @return 对象名称，不是本存储桶的URL时返回null
+     */
+    public String getObjectName(String url) {
+        String prefix = minioConfig.getEndpoint() + "/" + minioConfig.getBucket() + "/";
+        if (url == null || !url.startsWith(prefix)) {
+            return null;
+        }
+        String path = url.substring(prefix.length());
+        int queryIndex = path.indexOf('?');
+        if (queryIndex >= 0) {
+            path = path.substring(0, queryIndex);
+        }
+        return URLDecoder.decode(path, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * 读取文件内容，调用方负责关闭流
+     * @param objectName 文件在MinIO中的唯一标识
+     * @return 文件输入流
+     */
+    public InputStream getObject(String objectName) throws Exception {
+        return minioClient.getObject(
+                GetObjectArgs.builder()
+                        .bucket(minioConfig.getBucket())
+                        .object(objectName)
+                        .build());
+    }
+
     /**
      * 删除文件
      * @param objectName 文件在MinIO中的唯一标识
@@ -75,4 +176,43 @@ public class MinioUtil {
                         .object(objectName)
                         .build());
     }
+
+    /**
+     * 按对象名顺序递归列出存储桶中的对象，结果分页懒加载
+     * @param startAfter 从该对象名之后开始列出，为null时从头开始
+     * @return 对象列表迭代器
+     */
+    public Iterable<Result<Item>> listObjects(String startAfter) {
+        ListObjectsArgs.Builder builder = ListObjectsArgs.builder()
+                .bucket(minioConfig.getBucket())
+                .recursive(true);
+        if (startAfter != null) {
+            builder.startAfter(startAfter);
+        }
+        return minioClient.listObjects(builder.build());
+    }
+
+    /**
+     * 批量删除文件，一次请求最多1000个
+     * @param objectNames 文件在MinIO中的唯一标识
+     * @return 删除失败的对象名称
+     */
+    public List<String> removeObjects(List<String> objectNames) throws Exception {
+        List<DeleteObject> objects = new ArrayList<>(objectNames.size());
+        for (String objectName : objectNames) {
+            objects.add(new DeleteObject(objectName));
+        }
+        //removeObjects是懒执行的，必须遍历结果才会真正发出删除请求
+        List<String> failed = new ArrayList<>();
+        for (Result<DeleteError> result : minioClient.removeObjects(
+                RemoveObjectsArgs.builder()
+                        .bucket(minioConfig.getBucket())
+                        .objects(objects)
+                        .build())) {
+            DeleteError error = result.get();
+            log.warn("删除文件失败:{}, {}", error.objectName(), error.message());
+            failed.add(error.objectName());
+        }
+        return failed;
+    }
 }
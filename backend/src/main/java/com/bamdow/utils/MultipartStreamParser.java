@@ -0,0 +1,308 @@
+package com.bamdow.utils;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * multipart/form-data请求体的增量解析器（RFC 7578）
+ * 只使用构造时分配的固定大小缓冲区，每个part以输入流的形式交给调用方边读边处理，
+ * 不把part内容落盘或整体读入内存；读取下一个part前，上一个part未读完的内容会被直接跳过
+ */
+public class MultipartStreamParser {
+
+    // part头部（所有头部行加起来）的最大字节数
+    private static final int MAX_HEADER_SIZE = 8 * 1024;
+
+    private final InputStream in;
+    // 分隔符为 CRLF + "--" + boundary
+    private final byte[] delimiter;
+    private final byte[] buffer;
+    // 缓冲区中未消费数据的范围 [head, tail)
+    private int head;
+    private int tail;
+    private PartInputStream current;
+    private boolean finished;
+
+    /**
+     * @param in 请求体
+     * @param boundary Content-Type中的boundary参数
+     * @param bufferSize 缓冲区大小，至少为分隔符长度的两倍
+     */
+    public MultipartStreamParser(InputStream in, String boundary, int bufferSize) {
+        this.in = in;
+        this.delimiter = ("\r\n--" + boundary).getBytes(StandardCharsets.ISO_8859_1);
+        if (bufferSize < delimiter.length * 2) {
+            throw new IllegalArgumentException("缓冲区过小: " + bufferSize);
+        }
+        this.buffer = new byte[bufferSize];
+        //第一个分隔符前没有CRLF，预先补上，使它和后续分隔符按同一种方式匹配
+        buffer[0] = '\r';
+        buffer[1] = '\n';
+        tail = 2;
+    }
+
+    /**
+     * 从Content-Type中取出boundary参数
+     * @return boundary，不是multipart请求或缺少boundary时返回null
+     */
+    public static String boundaryOf(String contentType) {
+        if (contentType == null || !contentType.toLowerCase(Locale.ROOT).startsWith("multipart/")) {
+            return null;
+        }
+        String boundary = parameterOf(contentType, "boundary");
+        return boundary == null || boundary.isEmpty() || boundary.length() > 70 ? null : boundary;
+    }
+
+    /**
+     * 读取下一个part，调用方应在读取下一个part前处理完（或放弃）当前part的内容
+     * @return 下一个part，已读到结束分隔符时返回null
+     */
+    public Part next() throws IOException {
+        if (finished) {
+            return null;
+        }
+        //跳过前导内容或上一个part剩余的内容，直到下一个分隔符之后
+        PartInputStream previous = current == null ? new PartInputStream() : current;
+        previous.transferTo(OutputStream.nullOutputStream());
+
+        int first = readByte();
+        int second = readByte();
+        if (first == '-' && second == '-') {
+            finished = true;
+            return null;
+        }
+        //分隔符行末尾允许有空白
+        while (first == ' ' || first == '\t') {
+            first = second;
+            second = readByte();
+        }
+        if (first == -1 || second == -1) {
+            //分隔符之后就结束了，缺少结束分隔符
+            throw new EOFException("multipart请求体不完整");
+        }
+        if (first != '\r' || second != '\n') {
+            throw new IOException("multipart分隔符格式错误");
+        }
+
+        Map<String, String> headers = readHeaders();
+        current = new PartInputStream();
+        return new Part(headers, current);
+    }
+
+    private Map<String, String> readHeaders() throws IOException {
+        Map<String, String> headers = new LinkedHashMap<>();
+        StringBuilder line = new StringBuilder();
+        int size = 0;
+        while (true) {
+            int b = readByte();
+            if (b == -1) {
+                throw new EOFException("multipart请求体不完整");
+            }
+            if (++size > MAX_HEADER_SIZE) {
+                throw new IOException("multipart头部过长");
+            }
+            if (b != '\n') {
+                line.append((char) b);
+                continue;
+            }
+            if (line.length() > 0 && line.charAt(line.length() - 1) == '\r') {
+                line.setLength(line.length() - 1);
+            }
+            if (line.length() == 0) {
+                return headers;
+            }
+            int colon = line.indexOf(":");
+            if (colon > 0) {
+                //头部按UTF-8解码，兼容浏览器直接发送的中文文件名
+                String name = line.substring(0, colon).trim().toLowerCase(Locale.ROOT);
+                byte[] value = line.substring(colon + 1).trim().getBytes(StandardCharsets.ISO_8859_1);
+                headers.put(name, new String(value, StandardCharsets.UTF_8));
+            }
+            line.setLength(0);
+        }
+    }
+
+    private int readByte() throws IOException {
+        if (head == tail && fill() == -1) {
+            return -1;
+        }
+        return buffer[head++] & 0xff;
+    }
+
+    /**
+     * 把未消费的数据移到缓冲区开头，再从请求体读入一段
+     * @return 读入的字节数，请求体已结束时返回-1
+     */
+    private int fill() throws IOException {
+        if (head > 0) {
+            System.arraycopy(buffer, head, buffer, 0, tail - head);
+            tail -= head;
+            head = 0;
+        }
+        int read = in.read(buffer, tail, buffer.length - tail);
+        if (read > 0) {
+            tail += read;
+        }
+        return read;
+    }
+
+    private int indexOfDelimiter() {
+        int last = tail - delimiter.length;
+        outer:
+        for (int i = head; i <= last; i++) {
+            for (int j = 0; j < delimiter.length; j++) {
+                if (buffer[i + j] != delimiter[j]) {
+                    continue outer;
+                }
+            }
+            return i;
+        }
+        return -1;
+    }
+
+    /**
+     * 取头部中的参数值，如 form-data; name="file"; filename="a;b.jpg" 中的filename
+     * 引号内的分号和等号属于参数值；引号内只把 \" 和 \\ 当作转义，其余反斜杠原样保留（旧版IE会发送带反斜杠的完整路径）
+     */
+    static String parameterOf(String header, String name) {
+        int length = header.length();
+        //第一个分号前是头部的主值（form-data、multipart/form-data），不含参数
+        int pos = header.indexOf(';');
+        while (pos >= 0 && pos < length) {
+            pos++;
+            int nameStart = pos;
+            while (pos < length && header.charAt(pos) != '=' && header.charAt(pos) != ';') {
+                pos++;
+            }
+            String key = header.substring(nameStart, pos).trim();
+            if (pos >= length || header.charAt(pos) == ';') {
+                //没有值的参数
+                continue;
+            }
+            pos++;
+            while (pos < length && (header.charAt(pos) == ' ' || header.charAt(pos) == '\t')) {
+                pos++;
+            }
+            String value;
+            if (pos < length && header.charAt(pos) == '"') {
+                StringBuilder quoted = new StringBuilder();
+                pos++;
+                while (pos < length && header.charAt(pos) != '"') {
+                    char c = header.charAt(pos++);
+                    if (c == '\\' && pos < length && (header.charAt(pos) == '"' || header.charAt(pos) == '\\')) {
+                        c = header.charAt(pos++);
+                    }
+                    quoted.append(c);
+                }
+                value = quoted.toString();
+                //跳过右引号到下一个分号之间的内容
+                while (pos < length && header.charAt(pos) != ';') {
+                    pos++;
+                }
+            } else {
+                int valueStart = pos;
+                while (pos < length && header.charAt(pos) != ';') {
+                    pos++;
+                }
+                value = header.substring(valueStart, pos).trim();
+            }
+            if (key.equalsIgnoreCase(name)) {
+                return value;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 一个part：头部已解析，内容通过getInputStream按需读取
+     */
+    public static class Part {
+        private final Map<String, String> headers;
+        private final InputStream inputStream;
+
+        private Part(Map<String, String> headers, InputStream inputStream) {
+            this.headers = headers;
+            this.inputStream = inputStream;
+        }
+
+        /**
+         * @param name 头部名称，不区分大小写
+         */
+        public String getHeader(String name) {
+            return headers.get(name.toLowerCase(Locale.ROOT));
+        }
+
+        // 表单字段名
+        public String getName() {
+            String disposition = getHeader("content-disposition");
+            return disposition == null ? null : parameterOf(disposition, "name");
+        }
+
+        // 文件名，普通表单字段为null
+        public String getFileName() {
+            String disposition = getHeader("content-disposition");
+            return disposition == null ? null : parameterOf(disposition, "filename");
+        }
+
+        public String getContentType() {
+            return getHeader("content-type");
+        }
+
+        public boolean isFile() {
+            return getFileName() != null;
+        }
+
+        // part内容，读到分隔符时结束；不需要关闭
+        public InputStream getInputStream() {
+            return inputStream;
+        }
+    }
+
+    /**
+     * 读到下一个分隔符为止的输入流。缓冲区末尾不足一个分隔符长度的数据可能是分隔符的前缀，
+     * 先保留不返回，等读入更多数据后再判断
+     */
+    private class PartInputStream extends InputStream {
+        private boolean done;
+
+        @Override
+        public int read() throws IOException {
+            byte[] one = new byte[1];
+            return read(one, 0, 1) == -1 ? -1 : one[0] & 0xff;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (done) {
+                return -1;
+            }
+            if (len == 0) {
+                return 0;
+            }
+            while (true) {
+                int index = indexOfDelimiter();
+                int available = index >= 0 ? index - head : tail - head - (delimiter.length - 1);
+                if (index == head) {
+                    head += delimiter.length;
+                    done = true;
+                    return -1;
+                }
+                if (available > 0) {
+                    int n = Math.min(len, available);
+                    System.arraycopy(buffer, head, b, off, n);
+                    head += n;
+                    return n;
+                }
+                if (fill() == -1) {
+                    throw new EOFException("multipart请求体不完整");
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package com.bamdow.utils;
+
+import com.bamdow.constant.MessageConstant;
+import com.bamdow.except.BaseException;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 相互独立的查询并发执行
+ * 使用线程数和等待队列都有上限的专用执行器，提交子查询不会阻塞请求线程，队列已满时直接拒绝；
+ * 一次请求内的子查询共享同一个截止时间（排队时间也计入），任一子查询失败或超时时取消其余子查询并抛出异常
+ * 用法：try (QueryFanOut.Scope scope = queryFanOut.open()) { fork...; scope.join(); }
+ */
+@Component
+public class QueryFanOut {
+
+    // 同时执行的子查询上限，应小于数据库连接池大小
+    @Value("${bamdow.query.fan-out-concurrency:8}")
+    private int concurrency;
+
+    // 等待空闲线程的子查询上限，超出时提交被拒绝
+    @Value("${bamdow.query.fan-out-queue-capacity:64}")
+    private int queueCapacity;
+
+    // 一次请求内全部子查询的超时时间
+    @Value("${bamdow.query.fan-out-timeout:3s}")
+    private Duration timeout;
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    private ThreadPoolExecutor executor;
+
+    @PostConstruct
+    public void init() {
+        ThreadFactory threadFactory = virtualThreads
+                ? Thread.ofVirtual().name("query-fan-out-", 1).factory()
+                : new CustomizableThreadFactory("query-fan-out-");
+        // 线程和队列都满时抛出RejectedExecutionException，而不是让提交方等待
+        executor = new ThreadPoolExecutor(concurrency, concurrency, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), threadFactory, new ThreadPoolExecutor.AbortPolicy());
+        executor.allowCoreThreadTimeOut(true);
+    }
+
+    @PreDestroy
+    public void destroy() {
+        executor.shutdownNow();
+    }
+
+    public Scope open() {
+        return new Scope(new ExecutorCompletionService<>(executor), System.nanoTime() + timeout.toNanos());
+    }
+
+    public static class Scope implements AutoCloseable {
+
+        private final CompletionService<Object> completionService;
+
+        private final long deadline;
+
+        private final List<Future<Object>> futures = new ArrayList<>();
+
+        private Scope(CompletionService<Object> completionService, long deadline) {
+            this.completionService = completionService;
+            this.deadline = deadline;
+        }
+
+        /**
+         * 提交一个子查询，结果在join()成功后通过Future.resultNow()获取
+         * 不会阻塞：执行器队列已满时取消本次已提交的子查询并抛出异常
+         */
+        @SuppressWarnings("unchecked")
+        public <T> Future<T> fork(Callable<T> task) {
+            Future<Object> future;
+            try {
+                future = completionService.submit(task::call);
+            } catch (RejectedExecutionException e) {
+                cancelAll();
+                throw new BaseException(MessageConstant.QUERY_BUSY);
+            }
+            futures.add(future);
+            return (Future<T>) (Future<?>) future;
+        }
+
+        /**
+         * 按完成顺序等待全部子查询，第一个失败或到达截止时间时取消其余子查询
+         */
+        public void join() {
+            try {
+                for (int i = 0; i < futures.size(); i++) {
+                    long remaining = deadline - System.nanoTime();
+                    Future<Object> done = remaining > 0 ? completionService.poll(remaining, TimeUnit.NANOSECONDS) : null;
+                    if (done == null) {
+                        cancelAll();
+                        throw new BaseException(MessageConstant.QUERY_TIMEOUT);
+                    }
+                    done.get();
+                }
+            } catch (ExecutionException e) {
+                cancelAll();
+                if (e.getCause() instanceof RuntimeException runtimeException) {
+                    throw runtimeException;
+                }
+                throw new IllegalStateException(e.getCause());
+            } catch (InterruptedException e) {
+                cancelAll();
+                Thread.currentThread().interrupt();
+                throw new BaseException(MessageConstant.QUERY_TIMEOUT);
+            }
+        }
+
+        @Override
+        public void close() {
+            cancelAll();
+        }
+
+        // 已开始执行的JDBC查询无法被中断，由语句超时兜底；尚未开始的子查询不会再执行
+        private void cancelAll() {
+            for (Future<Object> future : futures) {
+                future.cancel(true);
+            }
+        }
+    }
+}
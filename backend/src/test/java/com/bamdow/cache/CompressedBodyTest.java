@@ -0,0 +1,140 @@
+package com.bamdow.cache;
+
+import com.bamdow.pojo.result.Result;
+import com.bamdow.pojo.vo.ProjectDetailVO;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.Random;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CompressedBodyTest {
+
+    private final JsonMapper jsonMapper = JsonMapper.builder().build();
+
+    @Test
+    void detailPayloadShrinksAtLeastByHalf() throws IOException {
+        byte[] json = jsonMapper.writeValueAsBytes(Result.success(sampleDetail(20_000)));
+
+        CompressedBody body = CompressedBody.of(json, 1024);
+
+        assertThat(body.getGzip()).isNotNull();
+        assertThat(body.getGzip().length).isLessThan(json.length / 2);
+        assertThat(gunzip(body.getGzip())).isEqualTo(json);
+    }
+
+    @Test
+    void smallOrDisabledBodiesStayUncompressed() throws IOException {
+        byte[] json = "{\"code\":200}".getBytes();
+
+        assertThat(CompressedBody.of(json, 1024).getGzip()).isNull();
+        assertThat(CompressedBody.of(new byte[4096], -1).getGzip()).isNull();
+        assertThat(CompressedBody.of(json, 0).getGzip()).isNotNull();
+    }
+
+    @Test
+    void writesGzipOnlyWhenAccepted() throws IOException {
+        byte[] json = jsonMapper.writeValueAsBytes(Result.success(sampleDetail(5_000)));
+        CompressedBody body = CompressedBody.of(json, 1024);
+
+        MockHttpServletRequest gzipRequest = new MockHttpServletRequest();
+        gzipRequest.addHeader(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate, br");
+        MockHttpServletResponse gzipResponse = new MockHttpServletResponse();
+        body.write(gzipRequest, gzipResponse);
+
+        assertThat(gzipResponse.getHeader(HttpHeaders.CONTENT_ENCODING)).isEqualTo("gzip");
+        assertThat(gzipResponse.getHeader(HttpHeaders.VARY)).isEqualTo(HttpHeaders.ACCEPT_ENCODING);
+        assertThat(gzipResponse.getContentAsByteArray()).isEqualTo(body.getGzip());
+        assertThat(gzipResponse.getContentLength()).isEqualTo(body.getGzip().length);
+
+        MockHttpServletResponse plainResponse = new MockHttpServletResponse();
+        body.write(new MockHttpServletRequest(), plainResponse);
+
+        assertThat(plainResponse.getHeader(HttpHeaders.CONTENT_ENCODING)).isNull();
+        assertThat(plainResponse.getContentAsByteArray()).isEqualTo(json);
+    }
+
+    @Test
+    void acceptEncodingHonoursQualityValues() {
+        assertThat(CompressedBody.acceptsGzip("gzip")).isTrue();
+        assertThat(CompressedBody.acceptsGzip("deflate, GZIP;q=0.5")).isTrue();
+        assertThat(CompressedBody.acceptsGzip("x-gzip")).isTrue();
+        assertThat(CompressedBody.acceptsGzip("*")).isTrue();
+        assertThat(CompressedBody.acceptsGzip("br, *;q=0.1")).isTrue();
+
+        assertThat(CompressedBody.acceptsGzip(null)).isFalse();
+        assertThat(CompressedBody.acceptsGzip("")).isFalse();
+        assertThat(CompressedBody.acceptsGzip("gzip;q=0")).isFalse();
+        assertThat(CompressedBody.acceptsGzip("gzip; q=0.000, *")).isFalse();
+        assertThat(CompressedBody.acceptsGzip("*, gzip;q=0")).isFalse();
+        assertThat(CompressedBody.acceptsGzip("br, *;q=0")).isFalse();
+        assertThat(CompressedBody.acceptsGzip("notgzip, gzipped")).isFalse();
+        assertThat(CompressedBody.acceptsGzip("gzip;q=abc")).isFalse();
+        assertThat(CompressedBody.acceptsGzip("identity")).isFalse();
+    }
+
+    @Test
+    void refusedGzipIsWrittenPlain() throws IOException {
+        byte[] json = jsonMapper.writeValueAsBytes(Result.success(sampleDetail(5_000)));
+        CompressedBody body = CompressedBody.of(json, 1024);
+
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(HttpHeaders.ACCEPT_ENCODING, "gzip;q=0, br");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        body.write(request, response);
+
+        assertThat(response.getHeader(HttpHeaders.CONTENT_ENCODING)).isNull();
+        assertThat(response.getContentAsByteArray()).isEqualTo(json);
+    }
+
+    @Test
+    void etagDependsOnContentOnly() throws IOException {
+        byte[] json = "{\"code\":200,\"data\":1}".getBytes();
+
+        assertThat(CompressedBody.of(json, 0).getEtag()).isEqualTo(CompressedBody.of(json.clone(), -1).getEtag());
+        assertThat(CompressedBody.of("{\"code\":200,\"data\":2}".getBytes(), 0).getEtag())
+                .isNotEqualTo(CompressedBody.of(json, 0).getEtag());
+    }
+
+    /**
+     * 固定随机种子生成的作品详情，readme约readmeLength个字符，结果可复现
+     */
+    static ProjectDetailVO sampleDetail(int readmeLength) {
+        String[] words = {"项目", "使用", "Spring", "Boot", "MyBatis", "MinIO", "缓存", "接口", "部署", "配置",
+                "the", "service", "returns", "image", "upload", "query", "数据库", "前端", "组件", "测试",
+                "README", "docker", "compose", "install", "run", "build", "页面", "性能", "索引", "分页"};
+        Random random = new Random(42);
+        StringBuilder readme = new StringBuilder();
+        while (readme.length() < readmeLength) {
+            if (random.nextInt(12) == 0) {
+                readme.append("\n## ").append(words[random.nextInt(words.length)]).append(random.nextInt(100)).append("\n");
+            }
+            readme.append(words[random.nextInt(words.length)]).append(random.nextBoolean() ? " " : "，");
+        }
+        ProjectDetailVO detail = new ProjectDetailVO();
+        detail.setId("5f1c2d7e-8a9b-4c3d-9e0f-112233445566");
+        detail.setTitle("个人网站");
+        detail.setDescription("基于Spring Boot和Vue的个人作品展示网站");
+        detail.setCategory("Development");
+        detail.setTags(List.of("Java", "Spring", "Vue"));
+        detail.setImages(List.of("http://localhost:9000/webminio/images/aa/aa11.jpg",
+                "http://localhost:9000/webminio/images/bb/bb22.jpg"));
+        detail.setGithubUrl("https://github.com/Bamdow/Bamdow_website");
+        detail.setReadme(readme.toString());
+        return detail;
+    }
+
+    private static byte[] gunzip(byte[] gzip) throws IOException {
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(gzip))) {
+            return in.readAllBytes();
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.bamdow.cache;
+
+import com.bamdow.pojo.vo.CacheStatsVO;
+import com.bamdow.service.ProjectService;
+import com.github.benmanes.caffeine.cache.Cache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.util.unit.DataSize;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * 作品详情响应体缓存按字节数限制总大小
+ */
+class DetailBodyCacheTest {
+
+    private DetailBodyCache cache;
+
+    @BeforeEach
+    void setUp() {
+        ProjectService projectService = mock(ProjectService.class);
+        when(projectService.getById(anyString())).thenReturn(CompressedBodyTest.sampleDetail(20_000));
+
+        cache = new DetailBodyCache();
+        ReflectionTestUtils.setField(cache, "maxBytes", DataSize.ofKilobytes(256));
+        ReflectionTestUtils.setField(cache, "expireAfterWrite", Duration.ofMinutes(30));
+        ReflectionTestUtils.setField(cache, "gzipMinSize", 1024);
+        ReflectionTestUtils.setField(cache, "projectService", projectService);
+        ReflectionTestUtils.setField(cache, "jsonMapper", JsonMapper.builder().build());
+        cache.init();
+    }
+
+    @Test
+    void totalBytesStayWithinLimit() {
+        long entryBytes = cache.get("p0", new Timestamp(0)).size();
+        // 同一作品的多个版本和多个作品都计入总大小
+        for (int i = 1; i < 100; i++) {
+            cache.get("p" + (i % 10), new Timestamp(i));
+        }
+        // 淘汰在维护任务中异步进行，断言前先执行完
+        ((Cache<?, ?>) ReflectionTestUtils.getField(cache, "cache")).cleanUp();
+
+        CacheStatsVO stats = cache.stats();
+        assertThat(stats.getEvictionCount()).isPositive();
+        assertThat(stats.getSize() * entryBytes).isLessThanOrEqualTo(DataSize.ofKilobytes(256).toBytes());
+    }
+
+    @Test
+    void sameVersionIsServedFromCache() {
+        CompressedBody first = cache.get("p1", new Timestamp(1_000));
+
+        assertThat(cache.get("p1", new Timestamp(1_000))).isSameAs(first);
+        assertThat(cache.get("p1", new Timestamp(2_000))).isNotSameAs(first);
+    }
+}
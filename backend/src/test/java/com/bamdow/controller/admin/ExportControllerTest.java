@@ -0,0 +1,41 @@
+package com.bamdow.controller.admin;
+
+import com.bamdow.service.ExportService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+/**
+ * 导出接口的异步超时只作用于本次请求
+ */
+class ExportControllerTest {
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        ExportController controller = new ExportController();
+        ReflectionTestUtils.setField(controller, "exportService", mock(ExportService.class));
+        ReflectionTestUtils.setField(controller, "timeout", Duration.ofMinutes(30));
+        mockMvc = MockMvcBuilders.standaloneSetup(controller).build();
+    }
+
+    @Test
+    void exportUsesItsOwnAsyncTimeout() throws Exception {
+        MvcResult result = mockMvc.perform(get("/admin/export/projects"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        assertThat(result.getRequest().getAsyncContext().getTimeout()).isEqualTo(Duration.ofMinutes(30).toMillis());
+    }
+}
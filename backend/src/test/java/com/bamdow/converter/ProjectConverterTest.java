@@ -0,0 +1,123 @@
+package com.bamdow.converter;
+
+import com.bamdow.pojo.dto.FieldSelection;
+import com.bamdow.pojo.dto.ProjectUpdateDTO;
+import com.bamdow.pojo.entity.DevelopmentProject;
+import com.bamdow.pojo.entity.Project;
+import com.bamdow.pojo.entity.ProjectImage;
+import com.bamdow.pojo.vo.ProjectDetailQueryVO;
+import com.bamdow.pojo.vo.ProjectDetailVO;
+import com.bamdow.pojo.vo.ProjectListVO;
+import com.bamdow.pojo.vo.ProjectQueryVO;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ProjectConverterTest {
+
+    @Test
+    void updateProjectKeepsStoredValuesForNullFields() {
+        Project project = new Project();
+        project.setTitle("旧标题");
+        project.setDescription("旧描述");
+        project.setTags("a,b");
+        ProjectUpdateDTO dto = new ProjectUpdateDTO();
+        dto.setDescription("新描述");
+
+        ProjectConverter.updateProject(dto, project);
+
+        assertThat(project.getTitle()).isEqualTo("旧标题");
+        assertThat(project.getDescription()).isEqualTo("新描述");
+        assertThat(project.getTags()).isEqualTo("a,b");
+    }
+
+    @Test
+    void updateProjectReplacesTagsWhenGiven() {
+        Project project = new Project();
+        project.setTags("a,b");
+        ProjectUpdateDTO dto = new ProjectUpdateDTO();
+        dto.setTags(List.of("c"));
+
+        ProjectConverter.updateProject(dto, project);
+
+        assertThat(project.getTags()).isEqualTo("c");
+    }
+
+    @Test
+    void updateSubTableKeepsStoredValuesForNullFields() {
+        DevelopmentProject current = new DevelopmentProject();
+        current.setGithubUrl("https://github.com/a/b");
+        current.setReadme("old");
+        ProjectUpdateDTO dto = new ProjectUpdateDTO();
+        dto.setId("1");
+        dto.setReadme("new");
+
+        DevelopmentProject merged = ProjectConverter.updateDevelopmentProject(dto, current);
+
+        assertThat(merged.getId()).isEqualTo("1");
+        assertThat(merged.getGithubUrl()).isEqualTo("https://github.com/a/b");
+        assertThat(merged.getReadme()).isEqualTo("new");
+    }
+
+    @Test
+    void listVOContainsOnlySelectedFields() {
+        ProjectQueryVO queryVO = new ProjectQueryVO();
+        queryVO.setId("1");
+        queryVO.setTitle("标题");
+        queryVO.setDescription("描述");
+        queryVO.setCategory("Other");
+        queryVO.setTags("x,y");
+
+        ProjectListVO all = ProjectConverter.toListVO(queryVO, List.of("u1"), FieldSelection.ALL);
+        ProjectListVO sparse = ProjectConverter.toListVO(queryVO, null,
+                FieldSelection.parse("title", null, FieldSelection.LIST_FIELDS));
+
+        assertThat(all.getTags()).containsExactly("x", "y");
+        assertThat(all.getBilingualTitle().getZh()).isEqualTo("标题");
+        assertThat(all.getImages()).containsExactly("u1");
+        assertThat(sparse.getTitle()).isEqualTo("标题");
+        assertThat(sparse.getDescription()).isNull();
+        assertThat(sparse.getTags()).isNull();
+        assertThat(sparse.getBilingualTitle()).isNull();
+    }
+
+    @Test
+    void detailVOKeepsImageOrderAndCoverTakesFirst() {
+        ProjectDetailQueryVO detail = ProjectConverter.toDetailQueryVO(project(),
+                List.of(image("u1", 0), image(null, 1), image("u2", 2)), null, null, null);
+
+        ProjectDetailVO all = ProjectConverter.toDetailVO(detail, FieldSelection.ALL);
+        ProjectDetailVO cover = ProjectConverter.toDetailVO(detail,
+                FieldSelection.parse("cover", null, FieldSelection.DETAIL_FIELDS));
+
+        assertThat(all.getImages()).containsExactly("u1", "u2");
+        assertThat(all.getTags()).containsExactly("t");
+        assertThat(cover.getImages()).containsExactly("u1");
+    }
+
+    @Test
+    void tagsRoundTrip() {
+        assertThat(ProjectConverter.joinTags(List.of())).isNull();
+        assertThat(ProjectConverter.splitTags("")).isNull();
+        assertThat(ProjectConverter.splitTags(ProjectConverter.joinTags(List.of("a", "b")))).containsExactly("a", "b");
+    }
+
+    private static Project project() {
+        Project project = new Project();
+        project.setId("1");
+        project.setTitle("标题");
+        project.setDescription("描述");
+        project.setCategory("Photography");
+        project.setTags("t");
+        return project;
+    }
+
+    private static ProjectImage image(String url, int sortOrder) {
+        ProjectImage image = new ProjectImage();
+        image.setImageUrl(url);
+        image.setSortOrder(sortOrder);
+        return image;
+    }
+}
@@ -0,0 +1,41 @@
+package com.bamdow.pojo.dto;
+
+import com.bamdow.except.BaseException;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class FieldSelectionTest {
+
+    @Test
+    void noParametersSelectsEverything() {
+        assertThat(FieldSelection.parse(null, null, FieldSelection.LIST_FIELDS).isAll()).isTrue();
+        assertThat(FieldSelection.parse(" ", "", FieldSelection.LIST_FIELDS).isAll()).isTrue();
+    }
+
+    @Test
+    void fieldsAndIncludeAreMergedWithId() {
+        FieldSelection selection = FieldSelection.parse("title, cover", "readme", FieldSelection.DETAIL_FIELDS);
+
+        assertThat(selection.isAll()).isFalse();
+        assertThat(selection.toString()).isEqualTo("cover,id,readme,title");
+        assertThat(selection.has("introduction")).isFalse();
+        assertThat(selection.needsImages()).isTrue();
+        assertThat(selection.coverOnly()).isTrue();
+    }
+
+    @Test
+    void imagesWinOverCover() {
+        FieldSelection selection = FieldSelection.parse("images,cover", null, FieldSelection.LIST_FIELDS);
+
+        assertThat(selection.coverOnly()).isFalse();
+    }
+
+    @Test
+    void rejectsUnknownFields() {
+        assertThatThrownBy(() -> FieldSelection.parse("readme", null, FieldSelection.LIST_FIELDS))
+                .isInstanceOf(BaseException.class)
+                .hasMessageContaining("readme");
+    }
+}
@@ -0,0 +1,27 @@
+package com.bamdow.pojo.vo;
+
+import org.junit.jupiter.api.Test;
+import tools.jackson.databind.json.JsonMapper;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ProjectVOSerializationTest {
+
+    private final JsonMapper jsonMapper = JsonMapper.builder().build();
+
+    @Test
+    void listVOKeepsNullFields() {
+        ProjectListVO vo = new ProjectListVO();
+        vo.setId("1");
+
+        assertThat(jsonMapper.writeValueAsString(vo)).contains("\"tags\":null", "\"images\":null");
+    }
+
+    @Test
+    void detailVOKeepsNullFields() {
+        ProjectDetailVO vo = new ProjectDetailVO();
+        vo.setId("1");
+
+        assertThat(jsonMapper.writeValueAsString(vo)).contains("\"readme\":null", "\"githubUrl\":null");
+    }
+}
@@ -0,0 +1,74 @@
+package com.bamdow.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class Bm25IndexTest {
+
+    @Test
+    void ranksTitleMatchesAboveBodyMatches() {
+        Bm25Index index = new Bm25Index();
+        index.put("body", "Notes", "a short note about minio storage", Map.of());
+        index.put("title", "MinIO", "object storage setup", Map.of());
+
+        List<Bm25Index.Hit> hits = index.search("minio", 10);
+
+        assertThat(hits).extracting(hit -> hit.getDocument().getId()).containsExactly("title", "body");
+    }
+
+    @Test
+    void rarerTermsWeighMore() {
+        Bm25Index index = new Bm25Index();
+        index.put("1", "", "spring spring", Map.of());
+        index.put("2", "", "spring kafka", Map.of());
+        index.put("3", "", "spring", Map.of());
+
+        List<Bm25Index.Hit> hits = index.search("spring kafka", 10);
+
+        assertThat(hits.get(0).getDocument().getId()).isEqualTo("2");
+    }
+
+    @Test
+    void putReplacesAndRemoveDeletes() {
+        Bm25Index index = new Bm25Index();
+        index.put("1", "old title", "", Map.of("k", "v"));
+        index.put("1", "new title", "", Map.of("k", "v2"));
+
+        assertThat(index.size()).isEqualTo(1);
+        assertThat(index.search("old", 10)).isEmpty();
+        assertThat(index.search("new", 10)).singleElement()
+                .satisfies(hit -> assertThat(hit.getDocument().getStored()).containsEntry("k", "v2"));
+
+        index.remove("1");
+        assertThat(index.size()).isZero();
+        assertThat(index.search("new", 10)).isEmpty();
+    }
+
+    @Test
+    void limitsResults() {
+        Bm25Index index = new Bm25Index();
+        for (int i = 0; i < 5; i++) {
+            index.put(String.valueOf(i), "", "java", Map.of());
+        }
+        assertThat(index.search("java", 3)).hasSize(3);
+        assertThat(index.search("   ", 3)).isEmpty();
+    }
+
+    @Test
+    void idsReturnsSnapshot() {
+        Bm25Index index = new Bm25Index();
+        index.put("1", "a", "", Map.of());
+        index.put("2", "b", "", Map.of());
+
+        Set<String> ids = index.ids();
+        index.remove("1");
+
+        assertThat(ids).containsExactlyInAnyOrder("1", "2");
+        assertThat(index.ids()).containsExactly("2");
+    }
+}
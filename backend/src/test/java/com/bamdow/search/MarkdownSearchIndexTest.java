@@ -0,0 +1,87 @@
+package com.bamdow.search;
+
+import com.bamdow.mapper.MarkdownMapper;
+import com.bamdow.pojo.entity.MarkdownFile;
+import com.bamdow.pojo.vo.ReindexResultVO;
+import com.bamdow.pojo.vo.SearchHitVO;
+import com.bamdow.utils.AliyunOssUtil;
+import com.bamdow.utils.MinioUtil;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * 重建索引与删除并发：下载期间被删除的文档不会被写回索引
+ */
+class MarkdownSearchIndexTest {
+
+    private MarkdownSearchIndex searchIndex;
+    private MarkdownMapper markdownMapper;
+    private MinioUtil minioUtil;
+
+    @BeforeEach
+    void setUp() {
+        markdownMapper = mock(MarkdownMapper.class);
+        minioUtil = mock(MinioUtil.class);
+        when(minioUtil.getObjectName(anyString())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        searchIndex = new MarkdownSearchIndex();
+        ReflectionTestUtils.setField(searchIndex, "reindexParallelism", 2);
+        ReflectionTestUtils.setField(searchIndex, "markdownMapper", markdownMapper);
+        ReflectionTestUtils.setField(searchIndex, "minioUtil", minioUtil);
+        ReflectionTestUtils.setField(searchIndex, "aliyunOssUtil", mock(AliyunOssUtil.class));
+    }
+
+    @Test
+    void documentDeletedDuringDownloadIsNotIndexed() throws Exception {
+        when(markdownMapper.listAll()).thenReturn(List.of(file("kept"), file("deleted")));
+        when(minioUtil.getObject("kept")).thenAnswer(invocation -> body("alpha kept"));
+        // 模拟下载过程中删除事务提交，afterCommit回调移除索引
+        when(minioUtil.getObject("deleted")).thenAnswer(invocation -> {
+            searchIndex.remove("deleted");
+            return body("alpha deleted");
+        });
+
+        ReindexResultVO result = searchIndex.reindex();
+
+        assertThat(ids(searchIndex.search("alpha", 10))).containsExactly("kept");
+        assertThat(result.getIndexed()).isEqualTo(1);
+        assertThat(result.getRemoved()).isEqualTo(1);
+    }
+
+    @Test
+    void removalsAreOnlyTrackedWhileReindexing() throws Exception {
+        searchIndex.remove("doc");
+        when(markdownMapper.listAll()).thenReturn(List.of(file("doc")));
+        when(minioUtil.getObject("doc")).thenAnswer(invocation -> body("alpha"));
+
+        searchIndex.reindex();
+
+        assertThat(ids(searchIndex.search("alpha", 10))).containsExactly("doc");
+    }
+
+    private static MarkdownFile file(String id) {
+        MarkdownFile file = new MarkdownFile();
+        file.setId(id);
+        file.setFileName(id + ".md");
+        file.setOssUrl(id);
+        return file;
+    }
+
+    private static ByteArrayInputStream body(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static List<String> ids(List<SearchHitVO> hits) {
+        return hits.stream().map(SearchHitVO::getId).toList();
+    }
+}
@@ -0,0 +1,46 @@
+package com.bamdow.search;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+
+class SearchHighlighterTest {
+
+    @Test
+    void wrapsMatchesCaseInsensitively() {
+        assertThat(SearchHighlighter.snippet("Hello World", "world")).isEqualTo("Hello <em>World</em>");
+    }
+
+    @Test
+    void escapesHtmlOutsideAndInsideMatches() {
+        assertThat(SearchHighlighter.snippet("<b>java</b>", "java"))
+                .isEqualTo("&lt;b&gt;<em>java</em>&lt;/b&gt;");
+    }
+
+    @Test
+    void highlightsChineseBigrams() {
+        assertThat(SearchHighlighter.snippet("我的摄影作品集", "摄影")).isEqualTo("我的<em>摄影</em>作品集");
+    }
+
+    @Test
+    void lengthChangingLowercaseDoesNotShiftOffsets() {
+        // "İ"转小写后变成两个字符，命中位置必须按原文计算
+        String text = "İİİİ java İstanbul";
+        assertThatCode(() -> SearchHighlighter.snippet(text, "java")).doesNotThrowAnyException();
+        assertThat(SearchHighlighter.snippet(text, "java")).isEqualTo("İİİİ <em>java</em> İstanbul");
+    }
+
+    @Test
+    void truncatesAroundFirstMatch() {
+        String text = "a".repeat(200) + " target " + "b".repeat(200);
+        String snippet = SearchHighlighter.snippet(text, "target");
+        assertThat(snippet).startsWith("...").endsWith("...").contains("<em>target</em>");
+    }
+
+    @Test
+    void returnsLeadingTextWhenNothingMatches() {
+        assertThat(SearchHighlighter.snippet("short text", "missing")).isEqualTo("short text");
+        assertThat(SearchHighlighter.snippet(null, "x")).isEmpty();
+    }
+}
@@ -0,0 +1,39 @@
+package com.bamdow.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Locale;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SearchTokenizerTest {
+
+    @Test
+    void splitsLatinRunsAndLowercases() {
+        assertThat(SearchTokenizer.queryTokens("Spring-Boot 4.0"))
+                .containsExactly("spring", "boot", "4", "0");
+    }
+
+    @Test
+    void indexesCjkUnigramsAndBigrams() {
+        assertThat(SearchTokenizer.indexTokens("摄影作品"))
+                .containsExactly("摄", "摄影", "影", "影作", "作", "作品", "品");
+    }
+
+    @Test
+    void queriesCjkWithBigramsOnly() {
+        assertThat(SearchTokenizer.queryTokens("摄影作品")).containsExactly("摄影", "影作", "作品");
+        assertThat(SearchTokenizer.queryTokens("影")).containsExactly("影");
+    }
+
+    @Test
+    void lowercasingIgnoresDefaultLocale() {
+        Locale original = Locale.getDefault();
+        Locale.setDefault(Locale.forLanguageTag("tr"));
+        try {
+            assertThat(SearchTokenizer.queryTokens("TITLE")).containsExactly("title");
+        } finally {
+            Locale.setDefault(original);
+        }
+    }
+}
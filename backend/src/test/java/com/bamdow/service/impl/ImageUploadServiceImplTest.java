@@ -0,0 +1,98 @@
+package com.bamdow.service.impl;
+
+import com.bamdow.constant.MessageConstant;
+import com.bamdow.except.BaseException;
+import com.bamdow.pojo.vo.ImageUploadResultVO;
+import com.bamdow.storage.ContentStore;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ImageUploadServiceImplTest {
+
+    private final ContentStore contentStore = mock(ContentStore.class);
+
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    private ImageUploadServiceImpl service;
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        service.destroy();
+    }
+
+    @Test
+    void resultsFollowFileOrder() throws Exception {
+        service = service(4, 16, Duration.ofSeconds(5));
+        when(contentStore.putMinio(any(MultipartFile.class)))
+                .thenAnswer(invocation -> "url/" + invocation.getArgument(0, MultipartFile.class).getOriginalFilename());
+
+        List<ImageUploadResultVO> results = service.uploadAll(new MultipartFile[]{
+                image("a.jpg"), new MockMultipartFile("files", "empty.jpg", "image/jpeg", new byte[0]), image("b.jpg")});
+
+        assertThat(results).extracting(ImageUploadResultVO::getUrl).containsExactly("url/a.jpg", null, "url/b.jpg");
+        assertThat(results.get(1).getError()).isEqualTo("空文件");
+    }
+
+    @Test
+    void fullQueueRejectsInsteadOfBlocking() throws Exception {
+        service = service(1, 1, Duration.ofSeconds(5));
+        when(contentStore.putMinio(any(MultipartFile.class))).thenAnswer(invocation -> {
+            release.await();
+            return "url";
+        });
+
+        // 1张执行中、1张排队，第3张提交时被拒绝
+        long start = System.nanoTime();
+        assertThatThrownBy(() -> service.uploadAll(new MultipartFile[]{image("a.jpg"), image("b.jpg"), image("c.jpg")}))
+                .isInstanceOf(BaseException.class)
+                .hasMessage(MessageConstant.UPLOAD_BUSY);
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(1));
+    }
+
+    @Test
+    void unfinishedImagesFailAtTheDeadline() throws Exception {
+        service = service(2, 16, Duration.ofMillis(200));
+        when(contentStore.putMinio(any(MultipartFile.class))).thenAnswer(invocation -> {
+            if ("slow.jpg".equals(invocation.getArgument(0, MultipartFile.class).getOriginalFilename())) {
+                release.await();
+            }
+            return "url";
+        });
+
+        long start = System.nanoTime();
+        List<ImageUploadResultVO> results = service.uploadAll(new MultipartFile[]{image("fast.jpg"), image("slow.jpg")});
+
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(2));
+        assertThat(results.get(0).getUrl()).isEqualTo("url");
+        assertThat(results.get(1).getUrl()).isNull();
+        assertThat(results.get(1).getError()).isEqualTo(MessageConstant.UPLOAD_TIMEOUT);
+    }
+
+    private ImageUploadServiceImpl service(int parallelism, int queueCapacity, Duration timeout) {
+        ImageUploadServiceImpl service = new ImageUploadServiceImpl();
+        ReflectionTestUtils.setField(service, "parallelism", parallelism);
+        ReflectionTestUtils.setField(service, "queueCapacity", queueCapacity);
+        ReflectionTestUtils.setField(service, "timeout", timeout);
+        ReflectionTestUtils.setField(service, "contentStore", contentStore);
+        service.init();
+        return service;
+    }
+
+    private static MockMultipartFile image(String name) {
+        return new MockMultipartFile("files", name, "image/jpeg", name.getBytes());
+    }
+}
@@ -0,0 +1,213 @@
+package com.bamdow.service.impl;
+
+import com.bamdow.cache.CountCache;
+import com.bamdow.cache.ProjectCache;
+import com.bamdow.mapper.OtherProjectMapper;
+import com.bamdow.mapper.ProjectImageMapper;
+import com.bamdow.mapper.ProjectMapper;
+import com.bamdow.pojo.dto.ProjectUpdateDTO;
+import com.bamdow.pojo.entity.OtherProject;
+import com.bamdow.pojo.entity.Project;
+import com.bamdow.pojo.entity.ProjectImage;
+import com.bamdow.storage.ContentStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 更新作品时图片列表的对比更新：只删除、插入、调整顺序有变化的行
+ */
+class ProjectServiceImplTest {
+
+    private static final String ID = "p1";
+
+    private ProjectServiceImpl service;
+    private ProjectImageMapper projectImageMapper;
+    private ContentStore contentStore;
+
+    @BeforeEach
+    void setUp() {
+        service = new ProjectServiceImpl();
+        ProjectMapper projectMapper = mock(ProjectMapper.class);
+        OtherProjectMapper otherProjectMapper = mock(OtherProjectMapper.class);
+        projectImageMapper = mock(ProjectImageMapper.class);
+        contentStore = mock(ContentStore.class);
+
+        Project project = new Project();
+        project.setId(ID);
+        project.setCategory("Other");
+        when(projectMapper.getById(ID)).thenReturn(project);
+        when(otherProjectMapper.getById(ID)).thenReturn(new OtherProject());
+
+        ReflectionTestUtils.setField(service, "projectMapper", projectMapper);
+        ReflectionTestUtils.setField(service, "otherProjectMapper", otherProjectMapper);
+        ReflectionTestUtils.setField(service, "projectImageMapper", projectImageMapper);
+        ReflectionTestUtils.setField(service, "contentStore", contentStore);
+        ReflectionTestUtils.setField(service, "projectCache", mock(ProjectCache.class));
+        ReflectionTestUtils.setField(service, "countCache", mock(CountCache.class));
+        ReflectionTestUtils.setField(service, "eventPublisher", mock(ApplicationEventPublisher.class));
+        ReflectionTestUtils.setField(service, "insertChunkSize", 200);
+    }
+
+    @Test
+    void unchangedImagesWriteNothing() {
+        stored(image("i1", "a", 0), image("i2", "b", 1));
+
+        List<String> dropped = service.update(dto("a, b"));
+
+        assertThat(dropped).isEmpty();
+        verify(projectImageMapper, never()).deleteByIds(anyList());
+        verify(projectImageMapper, never()).updateSortOrders(anyList());
+        verify(projectImageMapper, never()).insertBatch(anyList());
+        verify(contentStore, never()).retain(any());
+        verify(contentStore, never()).release(any());
+    }
+
+    @Test
+    void reorderKeepsRowIds() {
+        stored(image("i1", "a", 0), image("i2", "b", 1), image("i3", "c", 2));
+
+        List<String> dropped = service.update(dto("c,a,b"));
+
+        assertThat(dropped).isEmpty();
+        assertThat(sortOrders(captureReordered())).containsExactlyInAnyOrder("i3@0", "i1@1", "i2@2");
+        verify(projectImageMapper, never()).deleteByIds(anyList());
+        verify(projectImageMapper, never()).insertBatch(anyList());
+        verify(contentStore, never()).retain(any());
+        verify(contentStore, never()).release(any());
+    }
+
+    @Test
+    void addsRemovesAndReordersOnlyChangedRows() {
+        stored(image("i1", "a", 0), image("i2", "b", 1), image("i3", "c", 2));
+
+        List<String> dropped = service.update(dto("c,a,d"));
+
+        assertThat(dropped).containsExactly("b");
+        assertThat(captureDeletedIds()).containsExactly("i2");
+        assertThat(sortOrders(captureReordered())).containsExactlyInAnyOrder("i3@0", "i1@1");
+
+        List<ProjectImage> inserted = captureInserted();
+        assertThat(inserted).hasSize(1);
+        assertThat(inserted.get(0).getImageUrl()).isEqualTo("d");
+        assertThat(inserted.get(0).getProjectId()).isEqualTo(ID);
+        assertThat(inserted.get(0).getSortOrder()).isEqualTo(2);
+        assertThat(inserted.get(0).getId()).isNotNull().isNotIn("i1", "i2", "i3");
+
+        verify(contentStore).retain(List.of("d"));
+        verify(contentStore).release(List.of("b"));
+    }
+
+    @Test
+    void duplicateUrlsMatchOneRowEach() {
+        stored(image("i1", "a", 0), image("i2", "a", 1), image("i3", "b", 2));
+
+        // 少了一个a：删掉多出的那行，但a仍在列表中，不作为被丢弃的图片返回
+        List<String> dropped = service.update(dto("a,b,b"));
+
+        assertThat(dropped).isEmpty();
+        assertThat(captureDeletedIds()).containsExactly("i2");
+        assertThat(sortOrders(captureReordered())).containsExactly("i3@1");
+        List<ProjectImage> inserted = captureInserted();
+        assertThat(inserted).extracting(ProjectImage::getImageUrl).containsExactly("b");
+        assertThat(inserted).extracting(ProjectImage::getSortOrder).containsExactly(2);
+        verify(contentStore).retain(List.of("b"));
+        verify(contentStore).release(List.of("a"));
+    }
+
+    @Test
+    void emptyImageClearsAllRows() {
+        stored(image("i1", "a", 0), image("i2", "b", 1));
+
+        List<String> dropped = service.update(dto(" , "));
+
+        assertThat(dropped).containsExactlyInAnyOrder("a", "b");
+        assertThat(captureDeletedIds()).containsExactlyInAnyOrder("i1", "i2");
+        verify(projectImageMapper, never()).insertBatch(anyList());
+    }
+
+    @Test
+    void missingImageLeavesImagesUntouched() {
+        List<String> dropped = service.update(dto(null));
+
+        assertThat(dropped).isEmpty();
+        verify(projectImageMapper, never()).getByProjectId(anyString());
+        verify(contentStore, never()).retain(any());
+        verify(contentStore, never()).release(any());
+    }
+
+    @Test
+    void writesAreChunked() {
+        ReflectionTestUtils.setField(service, "insertChunkSize", 2);
+        stored();
+
+        service.update(dto("a,b,c,d,e"));
+
+        verify(projectImageMapper, times(3)).insertBatch(anyList());
+    }
+
+    private void stored(ProjectImage... images) {
+        when(projectImageMapper.getByProjectId(ID)).thenReturn(new ArrayList<>(Arrays.asList(images)));
+    }
+
+    private List<String> captureDeletedIds() {
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<String>> captor = ArgumentCaptor.forClass(List.class);
+        verify(projectImageMapper).deleteByIds(captor.capture());
+        return captor.getValue();
+    }
+
+    private List<ProjectImage> captureReordered() {
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<ProjectImage>> captor = ArgumentCaptor.forClass(List.class);
+        verify(projectImageMapper).updateSortOrders(captor.capture());
+        return captor.getValue();
+    }
+
+    private List<ProjectImage> captureInserted() {
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<ProjectImage>> captor = ArgumentCaptor.forClass(List.class);
+        verify(projectImageMapper).insertBatch(captor.capture());
+        return captor.getValue();
+    }
+
+    private static List<String> sortOrders(Collection<ProjectImage> images) {
+        return images.stream()
+                .map(image -> image.getId() + "@" + image.getSortOrder())
+                .collect(Collectors.toList());
+    }
+
+    private static ProjectUpdateDTO dto(String image) {
+        ProjectUpdateDTO dto = new ProjectUpdateDTO();
+        dto.setId(ID);
+        dto.setImage(image);
+        return dto;
+    }
+
+    private static ProjectImage image(String id, String url, int sortOrder) {
+        ProjectImage image = new ProjectImage();
+        image.setId(id);
+        image.setProjectId(ID);
+        image.setImageUrl(url);
+        image.setSortOrder(sortOrder);
+        return image;
+    }
+}
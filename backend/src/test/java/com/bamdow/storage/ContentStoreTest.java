@@ -0,0 +1,153 @@
+package com.bamdow.storage;
+
+import com.bamdow.mapper.ObjectHashMapper;
+import com.bamdow.pojo.entity.ObjectHash;
+import com.bamdow.utils.AliyunOssUtil;
+import com.bamdow.utils.MinioUtil;
+import com.bamdow.utils.MultipartStreamParser;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ContentStoreTest {
+
+    private static final String BOUNDARY = "boundary";
+
+    private final MinioUtil minioUtil = mock(MinioUtil.class);
+
+    private final ObjectHashMapper objectHashMapper = mock(ObjectHashMapper.class);
+
+    private ContentStore contentStore;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        contentStore = new ContentStore();
+        ReflectionTestUtils.setField(contentStore, "minioUtil", minioUtil);
+        ReflectionTestUtils.setField(contentStore, "objectHashMapper", objectHashMapper);
+        ReflectionTestUtils.setField(contentStore, "aliyunOssUtil", mock(AliyunOssUtil.class));
+        // 模拟分片上传：把流读完
+        when(minioUtil.uploadStream(any(), anyString(), any(), anyLong())).thenAnswer(invocation -> {
+            invocation.getArgument(0, InputStream.class).transferTo(OutputStream.nullOutputStream());
+            return invocation.getArgument(1);
+        });
+        when(minioUtil.getFileUrl(anyString())).thenAnswer(invocation -> "http://minio/" + invocation.getArgument(0));
+    }
+
+    @Test
+    void streamWithinLimitIsStoredByHash() throws Exception {
+        byte[] content = "image".getBytes(StandardCharsets.UTF_8);
+
+        String url = contentStore.putMinio(new ByteArrayInputStream(content), "a.JPG", "image/jpeg", 1024, content.length);
+
+        String objectName = ContentStore.objectName(ContentStore.sha256(content), ".JPG");
+        assertThat(url).isEqualTo("http://minio/" + objectName);
+        verify(minioUtil).copyObject(startsWith("tmp/"), eq(objectName), eq("image/jpeg"), anyString());
+        verify(minioUtil).deleteFile(startsWith("tmp/"));
+    }
+
+    @Test
+    void streamOverLimitIsAbortedAndTempObjectRemoved() throws Exception {
+        byte[] content = new byte[101];
+
+        assertThatThrownBy(() -> contentStore.putMinio(new ByteArrayInputStream(content), "a.jpg", "image/jpeg", 1024, 100))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("100");
+        verify(minioUtil).deleteFile(startsWith("tmp/"));
+        verify(minioUtil, never()).copyObject(anyString(), anyString(), any(), anyString());
+    }
+
+    @Test
+    void indexMissAlwaysUploads() throws Exception {
+        MockMultipartFile file = new MockMultipartFile("file", "a.png", "image/png", "image".getBytes(StandardCharsets.UTF_8));
+        String objectName = ContentStore.objectName(ContentStore.sha256(file.getBytes()), ".png");
+
+        contentStore.putMinio(file);
+
+        // 对象可能已存在但正在被回收，未命中索引时不能只凭对象存在就跳过上传
+        verify(minioUtil).uploadFile(file, objectName, ContentStore.IMMUTABLE_CACHE_CONTROL);
+        verify(objectHashMapper).insert(any());
+    }
+
+    @Test
+    void indexHitSkipsUpload() throws Exception {
+        MockMultipartFile file = new MockMultipartFile("file", "a.png", "image/png", "image".getBytes(StandardCharsets.UTF_8));
+        String hash = ContentStore.sha256(file.getBytes());
+        ObjectHash existing = new ObjectHash();
+        existing.setObjectName(ContentStore.objectName(hash, ".png"));
+        when(objectHashMapper.getByHash(ContentStore.MINIO, hash)).thenReturn(existing);
+
+        assertThat(contentStore.putMinio(file)).isEqualTo("http://minio/" + existing.getObjectName());
+        verify(objectHashMapper).touch(ContentStore.MINIO, hash);
+        verify(minioUtil, never()).uploadFile(any(), anyString(), anyString());
+    }
+
+    @Test
+    void uploadWaitsWhileCollectorDeletesABatch() throws Exception {
+        MockMultipartFile file = new MockMultipartFile("file", "a.png", "image/png", "image".getBytes(StandardCharsets.UTF_8));
+        Lock gcLock = contentStore.gcLock();
+        gcLock.lock();
+        CompletableFuture<String> upload;
+        try {
+            upload = CompletableFuture.supplyAsync(() -> {
+                try {
+                    return contentStore.putMinio(file);
+                } catch (Exception e) {
+                    throw new IllegalStateException(e);
+                }
+            });
+            Thread.sleep(100);
+            assertThat(upload).isNotDone();
+            verify(objectHashMapper, never()).getByHash(anyString(), anyString());
+        } finally {
+            gcLock.unlock();
+        }
+        assertThat(upload.get(5, TimeUnit.SECONDS)).startsWith("http://minio/images/");
+    }
+
+    @Test
+    void oversizedPartDoesNotBreakTheNextPart() throws Exception {
+        String body = "--" + BOUNDARY + "\r\n"
+                + "Content-Disposition: form-data; name=\"file\"; filename=\"big.jpg\"\r\n"
+                + "\r\n"
+                + "x".repeat(500) + "\r\n"
+                + "--" + BOUNDARY + "\r\n"
+                + "Content-Disposition: form-data; name=\"file\"; filename=\"small.jpg\"\r\n"
+                + "\r\n"
+                + "ok\r\n"
+                + "--" + BOUNDARY + "--";
+        MultipartStreamParser parser = new MultipartStreamParser(
+                new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)), BOUNDARY, 64);
+
+        MultipartStreamParser.Part big = parser.next();
+        assertThatThrownBy(() -> contentStore.putMinio(big.getInputStream(), big.getFileName(), null, 1024, 100))
+                .isInstanceOf(IOException.class);
+
+        MultipartStreamParser.Part small = parser.next();
+        assertThat(small.getFileName()).isEqualTo("small.jpg");
+        assertThat(contentStore.putMinio(small.getInputStream(), small.getFileName(), null, 1024, 100))
+                .endsWith(ContentStore.objectName(ContentStore.sha256("ok".getBytes(StandardCharsets.UTF_8)), ".jpg"));
+        assertThat(parser.next()).isNull();
+    }
+}
@@ -0,0 +1,71 @@
+package com.bamdow.storage;
+
+import com.bamdow.utils.AliyunOssUtil;
+import com.bamdow.utils.MinioUtil;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class OrphanObjectCollectorTest {
+
+    private static final String MINIO_PREFIX = "http://localhost:9000/webminio/";
+
+    private static final String OSS_PREFIX = "https://bucket.oss-cn-hangzhou.aliyuncs.com/";
+
+    private final OrphanObjectCollector collector = new OrphanObjectCollector();
+
+    @BeforeEach
+    void setUp() {
+        MinioUtil minioUtil = mock(MinioUtil.class);
+        AliyunOssUtil aliyunOssUtil = mock(AliyunOssUtil.class);
+        when(minioUtil.getObjectName(any())).thenAnswer(invocation -> strip(invocation.getArgument(0), MINIO_PREFIX));
+        when(aliyunOssUtil.getObjectName(any())).thenAnswer(invocation -> strip(invocation.getArgument(0), OSS_PREFIX));
+        ReflectionTestUtils.setField(collector, "minioUtil", minioUtil);
+        ReflectionTestUtils.setField(collector, "aliyunOssUtil", aliyunOssUtil);
+    }
+
+    @Test
+    void collectsUrlsEmbeddedInMarkdownAndHtml() {
+        Set<String> referenced = referencesIn("""
+                # 截图
+                ![界面](http://localhost:9000/webminio/images/aa/aa11.png)
+                <img src="https://bucket.oss-cn-hangzhou.aliyuncs.com/images/bb/bb22.jpg" width="300">
+                外部图片 https://example.com/x.png 不计入
+                """);
+
+        assertThat(referenced).contains("minio:images/aa/aa11.png", "oss:images/bb/bb22.jpg");
+        assertThat(referenced).noneMatch(key -> key.contains("example.com"));
+    }
+
+    @Test
+    void keepsUrlsFollowedByPunctuationOrText() {
+        Set<String> referenced = referencesIn("见http://localhost:9000/webminio/images/cc/cc33.png，然后看"
+                + " http://localhost:9000/webminio/images/dd/dd44.gif. 结束");
+
+        assertThat(referenced).contains("minio:images/cc/cc33.png", "minio:images/dd/dd44.gif");
+    }
+
+    @Test
+    void ignoresTextWithoutUrls() {
+        assertThat(referencesIn("没有链接")).isEmpty();
+        assertThat(referencesIn(null)).isEmpty();
+    }
+
+    private Set<String> referencesIn(String text) {
+        Set<String> referenced = new HashSet<>();
+        collector.addEmbeddedReferences(referenced, text);
+        return referenced;
+    }
+
+    private static String strip(String url, String prefix) {
+        return url != null && url.startsWith(prefix) ? url.substring(prefix.length()) : null;
+    }
+}
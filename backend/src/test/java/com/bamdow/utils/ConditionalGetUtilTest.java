@@ -0,0 +1,61 @@
+package com.bamdow.utils;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.sql.Timestamp;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ConditionalGetUtilTest {
+
+    private static final String KEY = "project:5f1c2d7e-8a9b-4c3d-9e0f-112233445566";
+
+    @Test
+    void updatesWithinOneSecondChangeEtag() {
+        MockHttpServletResponse first = check(null, Timestamp.valueOf("2025-03-01 12:34:56.100"));
+        MockHttpServletResponse second = check(null, Timestamp.valueOf("2025-03-01 12:34:56.900"));
+
+        assertThat(first.getHeader(HttpHeaders.ETAG)).isNotEqualTo(second.getHeader(HttpHeaders.ETAG));
+        assertThat(first.getHeader(HttpHeaders.LAST_MODIFIED)).isEqualTo(second.getHeader(HttpHeaders.LAST_MODIFIED));
+    }
+
+    @Test
+    void staleEtagIsNotAnsweredWith304EvenIfSecondMatches() {
+        Timestamp before = Timestamp.valueOf("2025-03-01 12:34:56.100");
+        MockHttpServletResponse cached = check(null, before);
+
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/user/projects/1");
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, cached.getHeader(HttpHeaders.ETAG));
+        request.addHeader(HttpHeaders.IF_MODIFIED_SINCE, cached.getHeader(HttpHeaders.LAST_MODIFIED));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        boolean notModified = ConditionalGetUtil.checkNotModified(new ServletWebRequest(request, response), KEY,
+                Timestamp.valueOf("2025-03-01 12:34:56.900"));
+
+        assertThat(notModified).isFalse();
+        assertThat(response.getStatus()).isEqualTo(200);
+    }
+
+    @Test
+    void unchangedVersionIsAnsweredWith304() {
+        Timestamp updatedAt = Timestamp.valueOf("2025-03-01 12:34:56.100");
+        MockHttpServletResponse cached = check(null, updatedAt);
+
+        MockHttpServletResponse response = check(cached.getHeader(HttpHeaders.ETAG), updatedAt);
+
+        assertThat(response.getStatus()).isEqualTo(304);
+    }
+
+    private static MockHttpServletResponse check(String ifNoneMatch, Timestamp updatedAt) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/user/projects/1");
+        if (ifNoneMatch != null) {
+            request.addHeader(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        ConditionalGetUtil.checkNotModified(new ServletWebRequest(request, response), KEY, updatedAt);
+        return response;
+    }
+}
@@ -0,0 +1,51 @@
+package com.bamdow.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CsvUtilTest {
+
+    @Test
+    void plainFieldsAreNotQuoted() throws IOException {
+        assertThat(row("1", "风景", "Photography", 42)).isEqualTo("1,风景,Photography,42\r\n");
+    }
+
+    @Test
+    void quotesFieldsWithSeparatorsQuotesAndLineBreaks() throws IOException {
+        assertThat(row("a,b", "say \"hi\"", "line1\nline2", "cr\rlf"))
+                .isEqualTo("\"a,b\",\"say \"\"hi\"\"\",\"line1\nline2\",\"cr\rlf\"\r\n");
+    }
+
+    @Test
+    void nullAndEmptyFieldsAreEmpty() throws IOException {
+        assertThat(row(null, "", "x", null)).isEqualTo(",,x,\r\n");
+    }
+
+    @Test
+    void leadingAndTrailingSpacesArePreserved() throws IOException {
+        assertThat(row(" padded ", "tab\there")).isEqualTo(" padded ,tab\there\r\n");
+    }
+
+    @Test
+    void onlyQuoteCharactersNeedNoOtherEscaping() throws IOException {
+        assertThat(row("\"")).isEqualTo("\"\"\"\"\r\n");
+        assertThat(row("|a|b|")).isEqualTo("|a|b|\r\n");
+    }
+
+    @Test
+    void emptyRow() throws IOException {
+        assertThat(row()).isEqualTo("\r\n");
+    }
+
+    private static String row(Object... values) throws IOException {
+        StringWriter writer = new StringWriter();
+        CsvUtil.writeRow(writer, values.length == 0 ? List.of() : Arrays.asList(values));
+        return writer.toString();
+    }
+}
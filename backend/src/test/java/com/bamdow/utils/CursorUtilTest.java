@@ -0,0 +1,71 @@
+package com.bamdow.utils;
+
+import com.bamdow.constant.MessageConstant;
+import com.bamdow.except.BaseException;
+import com.bamdow.pojo.dto.CursorQuery;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CursorUtilTest {
+
+    @Test
+    void roundTrip() {
+        Timestamp createdAt = Timestamp.valueOf("2025-03-01 12:34:56.789");
+        String cursor = CursorUtil.encode(createdAt, "5f1c2d7e-8a9b-4c3d-9e0f-112233445566");
+
+        CursorQuery query = CursorUtil.decode(cursor, "Photography", 10);
+
+        assertThat(query.getCreatedAt()).isEqualTo(createdAt);
+        assertThat(query.getLastId()).isEqualTo("5f1c2d7e-8a9b-4c3d-9e0f-112233445566");
+        assertThat(query.getCategory()).isEqualTo("Photography");
+        assertThat(query.getLimit()).isEqualTo(11);
+    }
+
+    @Test
+    void cursorIsUrlSafeWithoutPadding() {
+        String cursor = CursorUtil.encode(new Timestamp(1_700_000_000_123L), "id?with/odd+chars>");
+
+        assertThat(cursor).matches("[A-Za-z0-9_-]+");
+        assertThat(CursorUtil.decode(cursor, null, 5).getLastId()).isEqualTo("id?with/odd+chars>");
+    }
+
+    @Test
+    void idMayContainSeparator() {
+        String cursor = CursorUtil.encode(new Timestamp(1L), "a:b:c");
+
+        assertThat(CursorUtil.decode(cursor, null, 5).getLastId()).isEqualTo("a:b:c");
+    }
+
+    @Test
+    void emptyCursorStartsFromFirstPage() {
+        for (String cursor : new String[]{null, ""}) {
+            CursorQuery query = CursorUtil.decode(cursor, "Other", 20);
+
+            assertThat(query.getCreatedAt()).isNull();
+            assertThat(query.getLastId()).isNull();
+            assertThat(query.getLimit()).isEqualTo(21);
+        }
+    }
+
+    @Test
+    void rejectsMalformedCursors() {
+        String noSeparator = encodeRaw("1700000000000");
+        String notANumber = encodeRaw("yesterday:abc");
+        for (String cursor : new String[]{"not base64!", noSeparator, notANumber, "%%%"}) {
+            assertThatThrownBy(() -> CursorUtil.decode(cursor, null, 10))
+                    .as(cursor)
+                    .isInstanceOf(BaseException.class)
+                    .hasMessage(MessageConstant.INVALID_CURSOR);
+        }
+    }
+
+    private static String encodeRaw(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,73 @@
+package com.bamdow.utils;
+
+import com.bamdow.storage.ContentStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * md中Base64图片的解析：格式正确的上传，格式错误的跳过且不影响其余图片
+ */
+class MarkdownProcessorTest {
+
+    private static final String PNG = "data:image/png;base64,aGVsbG8=";
+
+    private MarkdownProcessor processor;
+    private ContentStore contentStore;
+
+    @BeforeEach
+    void setUp() {
+        contentStore = mock(ContentStore.class);
+        when(contentStore.putOss(any(), anyString(), anyString())).thenReturn("https://oss.example.com/images/aa.png");
+        processor = new MarkdownProcessor();
+        ReflectionTestUtils.setField(processor, "contentStore", contentStore);
+    }
+
+    @Test
+    void uploadsWellFormedDataUri() {
+        Map<String, String> images = processor.extractAndUploadImages("![a](" + PNG + ")", null);
+
+        assertThat(images).containsEntry(PNG, "https://oss.example.com/images/aa.png");
+        verify(contentStore).putOss(eq("hello".getBytes(StandardCharsets.UTF_8)), eq(".png"), eq("image/png"));
+    }
+
+    @Test
+    void mediaTypeParametersAndStructuredSuffixesAreAccepted() {
+        String svg = "data:image/svg+xml;charset=utf-8;base64,PHN2Zy8+";
+
+        processor.extractAndUploadImages("![a](" + svg + ")", null);
+
+        verify(contentStore).putOss(eq("<svg/>".getBytes(StandardCharsets.UTF_8)), eq(".svg"), eq("image/svg+xml"));
+    }
+
+    @Test
+    void malformedDataUrisAreSkipped() {
+        String content = "![a](data:image/png) ![b](data:image/;base64,aGVsbG8=) ![c](data:image/png,aGVsbG8=) "
+                + "![d](data:image/png;base64,a) ![e](data:image/png;base64,)";
+
+        Map<String, String> images = processor.extractAndUploadImages(content, null);
+
+        assertThat(images).isEmpty();
+        verify(contentStore, never()).putOss(any(), anyString(), anyString());
+    }
+
+    @Test
+    void malformedImageDoesNotStopTheRest() {
+        Map<String, String> images = processor.extractAndUploadImages(
+                "![bad](data:image/png) ![good](" + PNG + ")", null);
+
+        assertThat(images).containsOnlyKeys(PNG);
+    }
+}
@@ -0,0 +1,274 @@
+package com.bamdow.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.EOFException;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class MultipartStreamParserTest {
+
+    private static final String BOUNDARY = "----WebKitFormBoundary7MA4YWxkTrZu0gW";
+
+    @Test
+    void parsesFieldsAndFiles() throws IOException {
+        String body = "--" + BOUNDARY + "\r\n"
+                + "Content-Disposition: form-data; name=\"title\"\r\n"
+                + "\r\n"
+                + "风景\r\n"
+                + "--" + BOUNDARY + "\r\n"
+                + "Content-Disposition: form-data; name=\"file\"; filename=\"山.jpg\"\r\n"
+                + "Content-Type: image/jpeg\r\n"
+                + "\r\n"
+                + "jpeg-bytes\r\n"
+                + "--" + BOUNDARY + "--\r\n";
+        MultipartStreamParser parser = parser(body, 128, Integer.MAX_VALUE);
+
+        MultipartStreamParser.Part field = parser.next();
+        assertThat(field.getName()).isEqualTo("title");
+        assertThat(field.isFile()).isFalse();
+        assertThat(read(field)).isEqualTo("风景");
+
+        MultipartStreamParser.Part file = parser.next();
+        assertThat(file.getName()).isEqualTo("file");
+        assertThat(file.getFileName()).isEqualTo("山.jpg");
+        assertThat(file.getContentType()).isEqualTo("image/jpeg");
+        assertThat(read(file)).isEqualTo("jpeg-bytes");
+
+        assertThat(parser.next()).isNull();
+        assertThat(parser.next()).isNull();
+    }
+
+    @Test
+    void delimiterSplitAcrossReads() throws IOException {
+        //内容里有分隔符的前缀，并且每次只读入少量字节，让分隔符落在两次fill()之间的各个位置
+        String content = "a\r\n--" + BOUNDARY.substring(0, 10) + "b\r\n-";
+        String body = "--" + BOUNDARY + "\r\n"
+                + "Content-Disposition: form-data; name=\"file\"; filename=\"a.bin\"\r\n"
+                + "\r\n"
+                + content + "\r\n"
+                + "--" + BOUNDARY + "\r\n"
+                + "Content-Disposition: form-data; name=\"note\"\r\n"
+                + "\r\n"
+                + "x\r\n"
+                + "--" + BOUNDARY + "--";
+        int minBuffer = ("\r\n--" + BOUNDARY).length() * 2;
+        for (int chunk = 1; chunk <= 17; chunk++) {
+            for (int bufferSize = minBuffer; bufferSize < minBuffer + 5; bufferSize++) {
+                MultipartStreamParser parser = parser(body, bufferSize, chunk);
+
+                assertThat(read(parser.next())).as("chunk=%d buffer=%d", chunk, bufferSize).isEqualTo(content);
+                assertThat(read(parser.next())).isEqualTo("x");
+                assertThat(parser.next()).isNull();
+            }
+        }
+    }
+
+    @Test
+    void ignoresPreambleAndEpilogue() throws IOException {
+        String body = "This is the preamble.\r\nIt should be ignored.\r\n"
+                + "--" + BOUNDARY + "  \r\n"
+                + "Content-Disposition: form-data; name=\"a\"\r\n"
+                + "\r\n"
+                + "1\r\n"
+                + "--" + BOUNDARY + "--\r\n"
+                + "This is the epilogue, also ignored.\r\n--" + BOUNDARY + "\r\n";
+
+        assertThat(names(parser(body, 128, Integer.MAX_VALUE))).containsExactly("a=1");
+    }
+
+    @Test
+    void emptyParts() throws IOException {
+        String body = "--" + BOUNDARY + "\r\n"
+                + "Content-Disposition: form-data; name=\"empty\"\r\n"
+                + "\r\n"
+                + "\r\n"
+                + "--" + BOUNDARY + "\r\n"
+                + "\r\n"
+                + "no headers\r\n"
+                + "--" + BOUNDARY + "\r\n"
+                + "Content-Disposition: form-data; name=\"file\"; filename=\"\"\r\n"
+                + "\r\n"
+                + "\r\n"
+                + "--" + BOUNDARY + "--";
+        MultipartStreamParser parser = parser(body, 128, 3);
+
+        MultipartStreamParser.Part empty = parser.next();
+        assertThat(empty.getName()).isEqualTo("empty");
+        assertThat(read(empty)).isEmpty();
+
+        MultipartStreamParser.Part noHeaders = parser.next();
+        assertThat(noHeaders.getName()).isNull();
+        assertThat(read(noHeaders)).isEqualTo("no headers");
+
+        MultipartStreamParser.Part noFile = parser.next();
+        assertThat(noFile.getFileName()).isEmpty();
+        assertThat(read(noFile)).isEmpty();
+
+        assertThat(parser.next()).isNull();
+    }
+
+    @Test
+    void skipsUnreadContent() throws IOException {
+        String body = "--" + BOUNDARY + "\r\n"
+                + "Content-Disposition: form-data; name=\"a\"\r\n"
+                + "\r\n"
+                + "x".repeat(1000) + "\r\n"
+                + "--" + BOUNDARY + "\r\n"
+                + "Content-Disposition: form-data; name=\"b\"\r\n"
+                + "\r\n"
+                + "2\r\n"
+                + "--" + BOUNDARY + "--";
+        MultipartStreamParser parser = parser(body, 128, 7);
+
+        MultipartStreamParser.Part a = parser.next();
+        assertThat(a.getInputStream().read()).isEqualTo('x');
+        MultipartStreamParser.Part b = parser.next();
+
+        assertThat(b.getName()).isEqualTo("b");
+        assertThat(read(b)).isEqualTo("2");
+        assertThat(a.getInputStream().read()).isEqualTo(-1);
+    }
+
+    @Test
+    void truncatedContentThrowsEof() throws IOException {
+        String body = "--" + BOUNDARY + "\r\n"
+                + "Content-Disposition: form-data; name=\"file\"; filename=\"a.jpg\"\r\n"
+                + "\r\n"
+                + "partial content";
+        MultipartStreamParser parser = parser(body, 128, Integer.MAX_VALUE);
+        MultipartStreamParser.Part part = parser.next();
+
+        assertThatThrownBy(() -> read(part)).isInstanceOf(EOFException.class);
+    }
+
+    @Test
+    void truncatedHeadersThrowEof() {
+        String body = "--" + BOUNDARY + "\r\n"
+                + "Content-Disposition: form-data; na";
+
+        assertThatThrownBy(() -> parser(body, 128, Integer.MAX_VALUE).next()).isInstanceOf(EOFException.class);
+    }
+
+    @Test
+    void missingClosingDelimiterThrowsEof() {
+        String body = "--" + BOUNDARY + "\r\n"
+                + "Content-Disposition: form-data; name=\"a\"\r\n"
+                + "\r\n"
+                + "1\r\n"
+                + "--" + BOUNDARY;
+        MultipartStreamParser parser = parser(body, 128, Integer.MAX_VALUE);
+
+        assertThatThrownBy(() -> {
+            read(parser.next());
+            parser.next();
+        }).isInstanceOf(EOFException.class);
+    }
+
+    @Test
+    void emptyBodyThrowsEof() {
+        assertThatThrownBy(() -> parser("", 128, Integer.MAX_VALUE).next()).isInstanceOf(EOFException.class);
+    }
+
+    @Test
+    void rejectsOversizedHeaders() {
+        String body = "--" + BOUNDARY + "\r\n"
+                + "Content-Disposition: form-data; name=\"a\"\r\n"
+                + "X-Padding: " + "p".repeat(9000) + "\r\n"
+                + "\r\n"
+                + "1\r\n"
+                + "--" + BOUNDARY + "--";
+
+        assertThatThrownBy(() -> parser(body, 128, Integer.MAX_VALUE).next())
+                .isInstanceOf(IOException.class)
+                .isNotInstanceOf(EOFException.class)
+                .hasMessage("multipart头部过长");
+    }
+
+    @Test
+    void rejectsMalformedDelimiterLine() {
+        String body = "--" + BOUNDARY + "garbage\r\n\r\n1\r\n--" + BOUNDARY + "--";
+
+        assertThatThrownBy(() -> parser(body, 128, Integer.MAX_VALUE).next())
+                .isInstanceOf(IOException.class)
+                .hasMessage("multipart分隔符格式错误");
+    }
+
+    @Test
+    void rejectsTooSmallBuffer() {
+        assertThatThrownBy(() -> new MultipartStreamParser(InputStream.nullInputStream(), BOUNDARY, 10))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void quotedParameterValues() {
+        String disposition = "form-data; name=\"file\"; filename=\"a;b=c.jpg\"";
+        assertThat(MultipartStreamParser.parameterOf(disposition, "filename")).isEqualTo("a;b=c.jpg");
+        assertThat(MultipartStreamParser.parameterOf(disposition, "name")).isEqualTo("file");
+
+        assertThat(MultipartStreamParser.parameterOf("form-data; name=\"a\"; filename=\"say \\\"hi\\\".png\"", "filename"))
+                .isEqualTo("say \"hi\".png");
+        assertThat(MultipartStreamParser.parameterOf("form-data; name=\"f\"; filename=\"C:\\fakepath\\a.jpg\"", "filename"))
+                .isEqualTo("C:\\fakepath\\a.jpg");
+        //参数名出现在另一个参数的引号内时不应被匹配
+        assertThat(MultipartStreamParser.parameterOf("form-data; name=\"x; filename=evil.sh\"", "filename")).isNull();
+        assertThat(MultipartStreamParser.parameterOf("form-data; name=plain ; flag; filename = \"b.jpg\"", "filename"))
+                .isEqualTo("b.jpg");
+        assertThat(MultipartStreamParser.parameterOf("form-data; name=plain ; flag", "name")).isEqualTo("plain");
+        assertThat(MultipartStreamParser.parameterOf("form-data", "name")).isNull();
+    }
+
+    @Test
+    void boundaryOfContentType() {
+        assertThat(MultipartStreamParser.boundaryOf("multipart/form-data; boundary=" + BOUNDARY)).isEqualTo(BOUNDARY);
+        assertThat(MultipartStreamParser.boundaryOf("Multipart/Form-Data; charset=utf-8; boundary=\"a;b\"")).isEqualTo("a;b");
+        assertThat(MultipartStreamParser.boundaryOf("application/json")).isNull();
+        assertThat(MultipartStreamParser.boundaryOf("multipart/form-data")).isNull();
+        assertThat(MultipartStreamParser.boundaryOf("multipart/form-data; boundary=")).isNull();
+        assertThat(MultipartStreamParser.boundaryOf("multipart/form-data; boundary=" + "b".repeat(71))).isNull();
+        assertThat(MultipartStreamParser.boundaryOf(null)).isNull();
+    }
+
+    private static MultipartStreamParser parser(String body, int bufferSize, int maxRead) {
+        InputStream in = new ChunkedInputStream(body.getBytes(StandardCharsets.UTF_8), maxRead);
+        return new MultipartStreamParser(in, BOUNDARY, bufferSize);
+    }
+
+    private static String read(MultipartStreamParser.Part part) throws IOException {
+        return new String(part.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
+    }
+
+    private static List<String> names(MultipartStreamParser parser) throws IOException {
+        List<String> names = new ArrayList<>();
+        MultipartStreamParser.Part part;
+        while ((part = parser.next()) != null) {
+            names.add(part.getName() + "=" + read(part));
+        }
+        return names;
+    }
+
+    /**
+     * 每次read最多返回maxRead个字节，模拟网络上分段到达的请求体
+     */
+    private static class ChunkedInputStream extends FilterInputStream {
+        private final int maxRead;
+
+        ChunkedInputStream(byte[] bytes, int maxRead) {
+            super(new ByteArrayInputStream(bytes));
+            this.maxRead = maxRead;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            return super.read(b, off, Math.min(len, maxRead));
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package com.bamdow.utils;
+
+import com.bamdow.constant.MessageConstant;
+import com.bamdow.except.BaseException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class QueryFanOutTest {
+
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    private QueryFanOut queryFanOut;
+
+    @BeforeEach
+    void setUp() {
+        queryFanOut = new QueryFanOut();
+        ReflectionTestUtils.setField(queryFanOut, "concurrency", 2);
+        ReflectionTestUtils.setField(queryFanOut, "queueCapacity", 1);
+        ReflectionTestUtils.setField(queryFanOut, "timeout", Duration.ofMillis(300));
+        queryFanOut.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        queryFanOut.destroy();
+    }
+
+    @Test
+    void joinsAllResults() {
+        try (QueryFanOut.Scope scope = queryFanOut.open()) {
+            Future<String> first = scope.fork(() -> "a");
+            Future<Integer> second = scope.fork(() -> 1);
+            scope.join();
+
+            assertThat(first.resultNow()).isEqualTo("a");
+            assertThat(second.resultNow()).isEqualTo(1);
+        }
+    }
+
+    @Test
+    void firstFailureCancelsTheRest() {
+        try (QueryFanOut.Scope scope = queryFanOut.open()) {
+            Future<Object> slow = scope.fork(this::blockUntilReleased);
+            scope.fork(() -> {
+                throw new IllegalArgumentException("boom");
+            });
+
+            assertThatThrownBy(scope::join).isInstanceOf(IllegalArgumentException.class).hasMessage("boom");
+            assertThat(slow.isCancelled()).isTrue();
+        }
+    }
+
+    @Test
+    void timesOutAtTheDeadline() {
+        try (QueryFanOut.Scope scope = queryFanOut.open()) {
+            Future<Object> slow = scope.fork(this::blockUntilReleased);
+            long start = System.nanoTime();
+
+            assertThatThrownBy(scope::join).isInstanceOf(BaseException.class).hasMessage(MessageConstant.QUERY_TIMEOUT);
+            assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(2));
+            assertThat(slow.isCancelled()).isTrue();
+        }
+    }
+
+    @Test
+    void queuedTimeCountsAgainstTheDeadline() {
+        try (QueryFanOut.Scope busy = queryFanOut.open(); QueryFanOut.Scope scope = queryFanOut.open()) {
+            //两个线程都被占满，新的子查询只能排队
+            busy.fork(this::blockUntilReleased);
+            busy.fork(this::blockUntilReleased);
+            Future<String> queued = scope.fork(() -> "late");
+
+            assertThatThrownBy(scope::join).isInstanceOf(BaseException.class).hasMessage(MessageConstant.QUERY_TIMEOUT);
+            assertThat(queued.isCancelled()).isTrue();
+        }
+    }
+
+    @Test
+    void saturatedExecutorRejectsWithoutBlocking() {
+        try (QueryFanOut.Scope busy = queryFanOut.open(); QueryFanOut.Scope scope = queryFanOut.open()) {
+            busy.fork(this::blockUntilReleased);
+            busy.fork(this::blockUntilReleased);
+            Future<Object> queued = scope.fork(this::blockUntilReleased);
+            long start = System.nanoTime();
+
+            assertThatThrownBy(() -> scope.fork(() -> "rejected"))
+                    .isInstanceOf(BaseException.class).hasMessage(MessageConstant.QUERY_BUSY);
+            assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofMillis(100));
+            assertThat(queued.isCancelled()).isTrue();
+        }
+    }
+
+    private Object blockUntilReleased() throws InterruptedException {
+        release.await(10, TimeUnit.SECONDS);
+        return null;
+    }
+}
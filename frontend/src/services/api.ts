@@ -384,8 +384,12 @@ export class ApiService {
       const data = await response.json();
       console.log('Received upload response:', data);
       
-      // 正确处理后端响应格式：data 字段是一个数组，包含图片URL
-      return data.data[0];
+      // 正确处理后端响应格式：data 字段是逐张上传结果数组，失败时 error 给出原因
+      const result = data.data[0];
+      if (!result || result.error) {
+        throw new Error(result?.error || 'Image upload failed');
+      }
+      return result.url;
     } catch (error) {
       console.error('Error uploading image:', error);
       
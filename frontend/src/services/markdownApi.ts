@@ -36,8 +36,10 @@ async function uploadImages(files: File[]): Promise<string[]> {
       });
 
       const data = await response.json();
-      if (data.code === 200) {
-        return data.data[0];
+      if (data.code === 200 && data.data[0] && !data.data[0].error) {
+        return data.data[0].url;
+      } else if (data.code === 200) {
+        throw new Error(data.data[0]?.error || 'Image upload failed');
       } else {
         throw new Error(data.message || 'Image upload failed');
       }